@@ -0,0 +1,20 @@
+#!/usr/bin/env bash
+# Extracts the executable jar into a CDS-friendly layout and performs a training run that refreshes the
+# application context, exits before any listener or web server starts, and dumps the loaded classes into an
+# AppCDS archive. Usage: cds-training.sh <boot-jar> <output-dir>
+set -euo pipefail
+
+jar="$1"
+out="$2"
+
+rm -rf "$out"
+java -Djarmode=tools -jar "$jar" extract --destination "$out"
+
+# Admin topic creation would try to reach the broker during the refresh; the run must work offline.
+java -XX:ArchiveClassesAtExit="$out/application.jsa" -Xlog:cds=error \
+  -Dspring.aot.enabled=true \
+  -Dspring.context.exit=onRefresh \
+  -Dspring.kafka.admin.auto-create=false \
+  -jar "$out/$(basename "$jar")"
+
+echo "AppCDS archive written to $out/application.jsa"
@@ -0,0 +1,69 @@
+#!/usr/bin/env bash
+# Starts the application several times in each launch mode and records the startup time reported by Spring Boot
+# and the resident set size once the application is ready. Usage: startup-report.sh <target-dir> <final-name>
+# Environment: STARTUP_RUNS (default 3), KAFKA_BOOTSTRAP (default localhost:9092), STARTUP_TIMEOUT (seconds, default 120)
+set -euo pipefail
+
+target="$1"
+name="$2"
+runs="${STARTUP_RUNS:-3}"
+bootstrap="${KAFKA_BOOTSTRAP:-localhost:9092}"
+timeout="${STARTUP_TIMEOUT:-120}"
+out="$target/startup"
+report="$out/startup-report.txt"
+app_args=(--server.port=0 --spring.kafka.bootstrap-servers="$bootstrap" --spring.kafka.admin.auto-create=false)
+
+mkdir -p "$out"
+
+# Prints "<startup-seconds> <rss-kb>" for one launch of the given command.
+measure() {
+  local log="$1"
+  shift
+  "$@" "${app_args[@]}" > "$log" 2>&1 &
+  local pid=$!
+  local deadline=$((SECONDS + timeout))
+  until grep -q "Started SpaceshipApplication" "$log"; do
+    if ! kill -0 "$pid" 2> /dev/null || ((SECONDS > deadline)); then
+      kill "$pid" 2> /dev/null || true
+      echo "Application did not start, see $log" >&2
+      return 1
+    fi
+    sleep 0.2
+  done
+  local rss
+  rss=$(awk '/^VmRSS:/ { print $2 }' "/proc/$pid/status" 2> /dev/null || ps -o rss= -p "$pid")
+  kill "$pid"
+  wait "$pid" 2> /dev/null || true
+  local started
+  started=$(sed -n 's/.*Started SpaceshipApplication in \([0-9.]*\) seconds.*/\1/p' "$log")
+  echo "$started $rss"
+}
+
+report_mode() {
+  local mode="$1"
+  shift
+  local total_seconds=0 total_rss=0
+  for run in $(seq 1 "$runs"); do
+    local result seconds rss
+    result=$(measure "$out/$mode-$run.log" "$@")
+    read -r seconds rss <<< "$result"
+    printf '%-10s %4d %10.3f %10d\n' "$mode" "$run" "$seconds" $((rss / 1024)) >> "$report"
+    total_seconds=$(awk -v a="$total_seconds" -v b="$seconds" 'BEGIN { print a + b }')
+    total_rss=$((total_rss + rss))
+  done
+  printf '%-10s %4s %10.3f %10d\n' "$mode" "avg" \
+    "$(awk -v t="$total_seconds" -v n="$runs" 'BEGIN { print t / n }')" $((total_rss / runs / 1024)) >> "$report"
+}
+
+printf '%-10s %4s %10s %10s\n' "mode" "run" "startup-s" "rss-mb" > "$report"
+report_mode jar java -jar "$target/$name.jar"
+report_mode jar-aot java -Dspring.aot.enabled=true -jar "$target/$name.jar"
+if [[ -f "$target/cds/application.jsa" ]]; then
+  report_mode cds-aot java -XX:SharedArchiveFile="$target/cds/application.jsa" -Dspring.aot.enabled=true \
+    -jar "$target/cds/$name.jar"
+fi
+if [[ -x "$target/spaceship" ]]; then
+  report_mode native "$target/spaceship"
+fi
+
+cat "$report"
@@ -1,9 +1,14 @@
 package com.example.spaceship;
 
+import com.example.spaceship.application.config.ShipRuntimeHints;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.context.annotation.ImportRuntimeHints;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 @SpringBootApplication
+@EnableScheduling
+@ImportRuntimeHints(ShipRuntimeHints.class)
 public class SpaceshipApplication {
 
 	public static void main(String[] args) {
@@ -0,0 +1,57 @@
+package com.example.spaceship.application.cache;
+
+import com.example.spaceship.application.service.ShipService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.lang.reflect.InvocationTargetException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Repeats the hottest reads through the caching proxy, so entries dropped by a write are loaded again before
+ * clients ask for them. Reads still cached are answered from memory and cost nothing. Calls made here are neither
+ * tracked nor counted as cache hits.
+ */
+@Component
+@Slf4j
+@ConditionalOnProperty(prefix = "ship.cache.hot-keys", name = "enabled", havingValue = "true")
+public class HotKeyCacheWarmer {
+
+    private static final ThreadLocal<Boolean> WARMING = ThreadLocal.withInitial(() -> false);
+
+    @Autowired
+    private ShipService shipService;
+
+    @Autowired
+    private ShipReadTracker shipReadTracker;
+
+    static boolean isWarming() {
+        return WARMING.get();
+    }
+
+    @Scheduled(fixedDelayString = "${ship.cache.hot-keys.warm-interval}", initialDelayString = "${ship.cache.hot-keys.warm-interval}")
+    public void warm() {
+        long start = System.nanoTime();
+        int reads = 0;
+        WARMING.set(true);
+        try {
+            for (HotKeyTracker.HotKey<HotRead> hotKey : shipReadTracker.hotReads()) {
+                HotRead read = hotKey.key();
+                try {
+                    read.method().invoke(shipService, read.arguments().toArray());
+                    reads++;
+                } catch (InvocationTargetException e) {
+                    log.debug("Warming {} failed", read, e.getCause());
+                } catch (IllegalAccessException e) {
+                    log.debug("Warming {} failed", read, e);
+                }
+            }
+        } finally {
+            WARMING.remove();
+        }
+        log.debug("Warmed {} hot reads in {} ms", reads, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+    }
+}
@@ -0,0 +1,16 @@
+package com.example.spaceship.application.cache;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@ConfigurationProperties(prefix = "ship.cache.hot-keys")
+public record HotKeyProperties(
+        boolean enabled,
+        int topK,
+        int sketchWidth,
+        int sketchDepth,
+        Duration warmInterval,
+        Duration decayInterval
+) {
+}
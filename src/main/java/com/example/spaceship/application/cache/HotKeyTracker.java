@@ -0,0 +1,85 @@
+package com.example.spaceship.application.cache;
+
+import com.example.spaceship.application.util.CountMinSketch;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+
+/**
+ * Approximate top-K of the keys seen most often. Every key is counted in a {@link CountMinSketch}, so memory stays
+ * fixed however many distinct keys pass through; only the current top K are held in a min-heap. A key whose
+ * estimate cannot displace the smallest heap entry is rejected without taking the lock.
+ */
+public class HotKeyTracker<K> {
+
+    private final CountMinSketch sketch;
+
+    private final int capacity;
+
+    private final Map<K, HotKey<K>> entries = new HashMap<>();
+
+    private final PriorityQueue<HotKey<K>> heap = new PriorityQueue<>(Comparator.comparingLong(HotKey::count));
+
+    private volatile long threshold;
+
+    public HotKeyTracker(int capacity, int sketchWidth, int sketchDepth) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("capacity must be positive");
+        }
+        this.capacity = capacity;
+        this.sketch = new CountMinSketch(sketchWidth, sketchDepth);
+    }
+
+    public void record(K key) {
+        long estimate = sketch.add(key.hashCode());
+        if (estimate <= threshold) {
+            return;
+        }
+        synchronized (this) {
+            HotKey<K> current = entries.get(key);
+            if (current != null) {
+                heap.remove(current);
+            } else if (heap.size() >= capacity) {
+                if (estimate <= heap.peek().count()) {
+                    return;
+                }
+                entries.remove(heap.poll().key());
+            }
+            HotKey<K> updated = new HotKey<>(key, estimate);
+            entries.put(key, updated);
+            heap.add(updated);
+            threshold = heap.size() >= capacity ? heap.peek().count() : 0;
+        }
+    }
+
+    /**
+     * The tracked keys, most frequent first.
+     */
+    public synchronized List<HotKey<K>> top() {
+        List<HotKey<K>> top = new ArrayList<>(heap);
+        top.sort(Comparator.comparingLong(HotKey<K>::count).reversed());
+        return top;
+    }
+
+    /**
+     * Halves all counts, so keys that stopped being requested make room for new ones.
+     */
+    public synchronized void decay() {
+        sketch.halve();
+        List<HotKey<K>> halved = heap.stream().map(key -> new HotKey<>(key.key(), key.count() >>> 1)).toList();
+        heap.clear();
+        entries.clear();
+        halved.forEach(key -> {
+            heap.add(key);
+            entries.put(key.key(), key);
+        });
+        threshold = heap.size() >= capacity ? heap.peek().count() : 0;
+    }
+
+    public record HotKey<K>(K key, long count) {
+    }
+}
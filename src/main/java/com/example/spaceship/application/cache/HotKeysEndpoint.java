@@ -0,0 +1,53 @@
+package com.example.spaceship.application.cache;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * {@code GET /actuator/hotkeys} lists the most requested ship reads with their estimated request counts, and the
+ * hits, misses and hit ratio of every cache.
+ */
+@Component
+@Endpoint(id = "hotkeys")
+public class HotKeysEndpoint {
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    @Autowired
+    private ObjectProvider<ShipReadTracker> shipReadTracker;
+
+    @ReadOperation
+    public HotKeysReport hotKeys() {
+        Map<String, CacheStatistics> caches = new LinkedHashMap<>();
+        for (String name : cacheManager.getCacheNames()) {
+            Cache cache = cacheManager.getCache(name);
+            if (cache instanceof HitCountingCache counting) {
+                caches.put(name, new CacheStatistics(counting.hits(), counting.misses(), counting.hitRatio()));
+            }
+        }
+        ShipReadTracker tracker = shipReadTracker.getIfAvailable();
+        List<HotKey> keys = tracker == null ? List.of() : tracker.hotReads().stream()
+                .map(hotKey -> new HotKey(hotKey.key().toString(), hotKey.count()))
+                .toList();
+        return new HotKeysReport(keys, caches);
+    }
+
+    public record HotKeysReport(List<HotKey> keys, Map<String, CacheStatistics> caches) {
+    }
+
+    public record HotKey(String key, long estimatedCount) {
+    }
+
+    public record CacheStatistics(long hits, long misses, double hitRatio) {
+    }
+}
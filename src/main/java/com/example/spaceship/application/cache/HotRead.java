@@ -0,0 +1,23 @@
+package com.example.spaceship.application.cache;
+
+import java.lang.reflect.Method;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * One cacheable {@code ShipService} read: the method and its arguments, enough to repeat the call when warming.
+ */
+public record HotRead(Method method, List<Object> arguments) {
+
+    HotRead(Method method, Object[] arguments) {
+        this(method, Arrays.asList(arguments.clone()));
+    }
+
+    @Override
+    public String toString() {
+        return method.getName() + arguments.stream()
+                .map(argument -> argument instanceof Class<?> type ? type.getSimpleName() : String.valueOf(argument))
+                .collect(Collectors.joining(", ", "(", ")"));
+    }
+}
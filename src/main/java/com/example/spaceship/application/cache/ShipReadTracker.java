@@ -0,0 +1,56 @@
+package com.example.spaceship.application.cache;
+
+import jakarta.annotation.PostConstruct;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Counts every cacheable {@code ShipService} read, cache hits included, in a {@link HotKeyTracker}. Runs outside
+ * the caching advice, so it sees the calls the cache answers as well as the ones that reach the database.
+ */
+@Aspect
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+@ConditionalOnProperty(prefix = "ship.cache.hot-keys", name = "enabled", havingValue = "true")
+public class ShipReadTracker {
+
+    @Autowired
+    private HotKeyProperties properties;
+
+    private HotKeyTracker<HotRead> tracker;
+
+    @PostConstruct
+    void init() {
+        tracker = new HotKeyTracker<>(properties.topK(), properties.sketchWidth(), properties.sketchDepth());
+    }
+
+    @Around("execution(* com.example.spaceship.application.service.ShipService.getAllShips(..))"
+            + " || execution(* com.example.spaceship.application.service.ShipService.findShipsByName(..))"
+            + " || execution(* com.example.spaceship.application.service.ShipService.findShipsByCriteria(..))"
+            + " || execution(* com.example.spaceship.application.service.ShipService.findShipById(..))")
+    public Object track(ProceedingJoinPoint joinPoint) throws Throwable {
+        if (!HotKeyCacheWarmer.isWarming()) {
+            tracker.record(new HotRead(((MethodSignature) joinPoint.getSignature()).getMethod(), joinPoint.getArgs()));
+        }
+        return joinPoint.proceed();
+    }
+
+    public List<HotKeyTracker.HotKey<HotRead>> hotReads() {
+        return tracker.top();
+    }
+
+    @Scheduled(fixedDelayString = "${ship.cache.hot-keys.decay-interval}", initialDelayString = "${ship.cache.hot-keys.decay-interval}")
+    public void decay() {
+        tracker.decay();
+    }
+}
@@ -0,0 +1,252 @@
+package com.example.spaceship.application.compression;
+
+import com.github.luben.zstd.ZstdOutputStream;
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.WriteListener;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.servlet.http.HttpServletResponseWrapper;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.PrintWriter;
+import java.util.zip.Deflater;
+import java.util.zip.GZIPOutputStream;
+
+class CompressingResponseWrapper extends HttpServletResponseWrapper {
+
+    private final String encoding;
+
+    private final CompressionProperties properties;
+
+    private CompressingOutputStream outputStream;
+
+    private PrintWriter writer;
+
+    CompressingResponseWrapper(HttpServletResponse response, String encoding, CompressionProperties properties) {
+        super(response);
+        this.encoding = encoding;
+        this.properties = properties;
+    }
+
+    @Override
+    public ServletOutputStream getOutputStream() throws IOException {
+        if (writer != null) {
+            throw new IllegalStateException("getWriter() has already been called on this response");
+        }
+        return stream();
+    }
+
+    @Override
+    public PrintWriter getWriter() throws IOException {
+        if (writer == null) {
+            if (outputStream != null) {
+                throw new IllegalStateException("getOutputStream() has already been called on this response");
+            }
+            writer = new PrintWriter(new OutputStreamWriter(stream(), getCharacterEncoding()));
+        }
+        return writer;
+    }
+
+    @Override
+    public void setContentLength(int len) {
+        // The final length is only known once the body has been written.
+    }
+
+    @Override
+    public void setContentLengthLong(long len) {
+        // The final length is only known once the body has been written.
+    }
+
+    @Override
+    public void setHeader(String name, String value) {
+        if (!HttpHeaders.CONTENT_LENGTH.equalsIgnoreCase(name)) {
+            super.setHeader(name, value);
+        }
+    }
+
+    @Override
+    public void addHeader(String name, String value) {
+        if (!HttpHeaders.CONTENT_LENGTH.equalsIgnoreCase(name)) {
+            super.addHeader(name, value);
+        }
+    }
+
+    @Override
+    public void flushBuffer() throws IOException {
+        if (writer != null) {
+            writer.flush();
+        } else if (outputStream != null) {
+            outputStream.flush();
+        }
+    }
+
+    @Override
+    public void resetBuffer() {
+        if (outputStream != null) {
+            outputStream.resetBuffer();
+        }
+        super.resetBuffer();
+    }
+
+    void finish() throws IOException {
+        if (writer != null) {
+            writer.flush();
+        }
+        if (outputStream != null) {
+            outputStream.finish();
+        }
+    }
+
+    private CompressingOutputStream stream() throws IOException {
+        if (outputStream == null) {
+            outputStream = new CompressingOutputStream(getResponse().getOutputStream());
+        }
+        return outputStream;
+    }
+
+    private boolean isCompressible() {
+        HttpServletResponse response = (HttpServletResponse) getResponse();
+        if (response.getHeader(HttpHeaders.CONTENT_ENCODING) != null || getContentType() == null) {
+            return false;
+        }
+        MediaType contentType = MediaType.parseMediaType(getContentType());
+        return properties.mimeTypes().stream()
+                .map(MediaType::parseMediaType)
+                .anyMatch(mimeType -> mimeType.includes(contentType));
+    }
+
+    private OutputStream compressor(OutputStream target) throws IOException {
+        return switch (encoding) {
+            case "zstd" -> new ZstdOutputStream(target, properties.zstdLevel());
+            case "gzip" -> new GZIPOutputStream(target, 8192, true) {
+                {
+                    def.setLevel(properties.gzipLevel() > 0 ? properties.gzipLevel() : Deflater.DEFAULT_COMPRESSION);
+                }
+            };
+            default -> throw new IllegalStateException("Unsupported encoding: " + encoding);
+        };
+    }
+
+    private class CompressingOutputStream extends ServletOutputStream {
+
+        private final ServletOutputStream target;
+
+        private ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+
+        private OutputStream delegate;
+
+        private boolean finished;
+
+        CompressingOutputStream(ServletOutputStream target) {
+            this.target = target;
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            if (delegate != null) {
+                delegate.write(b);
+                return;
+            }
+            buffer.write(b);
+            switchIfThresholdReached();
+        }
+
+        @Override
+        public void write(byte[] bytes, int offset, int length) throws IOException {
+            if (delegate != null) {
+                delegate.write(bytes, offset, length);
+                return;
+            }
+            buffer.write(bytes, offset, length);
+            switchIfThresholdReached();
+        }
+
+        @Override
+        public void flush() throws IOException {
+            // Below the threshold the body stays buffered so small responses are still sent uncompressed.
+            if (delegate != null) {
+                delegate.flush();
+            }
+        }
+
+        @Override
+        public boolean isReady() {
+            return target.isReady();
+        }
+
+        @Override
+        public void setWriteListener(WriteListener writeListener) {
+            target.setWriteListener(writeListener);
+        }
+
+        void resetBuffer() {
+            if (delegate == null) {
+                buffer.reset();
+            }
+        }
+
+        void finish() throws IOException {
+            if (finished) {
+                return;
+            }
+            finished = true;
+            if (delegate == null) {
+                getResponse().setContentLength(buffer.size());
+                buffer.writeTo(target);
+            } else if (delegate != target) {
+                delegate.close();
+            }
+        }
+
+        private void switchIfThresholdReached() throws IOException {
+            if (buffer.size() >= properties.minResponseSize().toBytes()) {
+                startStreaming();
+            }
+        }
+
+        private void startStreaming() throws IOException {
+            if (isCompressible()) {
+                HttpServletResponse response = (HttpServletResponse) getResponse();
+                response.setHeader(HttpHeaders.CONTENT_ENCODING, encoding);
+                delegate = compressor(new NonClosingOutputStream(target));
+            } else {
+                delegate = target;
+            }
+            buffer.writeTo(delegate);
+            buffer = null;
+        }
+    }
+
+    private static class NonClosingOutputStream extends OutputStream {
+
+        private final OutputStream target;
+
+        NonClosingOutputStream(OutputStream target) {
+            this.target = target;
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            target.write(b);
+        }
+
+        @Override
+        public void write(byte[] bytes, int offset, int length) throws IOException {
+            target.write(bytes, offset, length);
+        }
+
+        @Override
+        public void flush() throws IOException {
+            target.flush();
+        }
+
+        @Override
+        public void close() throws IOException {
+            target.flush();
+        }
+    }
+}
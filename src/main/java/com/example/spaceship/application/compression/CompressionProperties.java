@@ -0,0 +1,17 @@
+package com.example.spaceship.application.compression;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.util.unit.DataSize;
+
+import java.util.List;
+
+@ConfigurationProperties(prefix = "ship.compression")
+public record CompressionProperties(
+        boolean enabled,
+        DataSize minResponseSize,
+        List<String> encodings,
+        List<String> mimeTypes,
+        int gzipLevel,
+        int zstdLevel
+) {
+}
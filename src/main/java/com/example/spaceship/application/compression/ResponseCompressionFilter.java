@@ -0,0 +1,94 @@
+package com.example.spaceship.application.compression;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.WebUtils;
+
+import java.io.IOException;
+import java.util.Locale;
+
+/**
+ * Compresses responses with the first configured encoding the client accepts. Output is buffered only up to
+ * the size threshold, after which it is streamed through the compressor, so large and streamed pages never
+ * have to be held in memory.
+ * <p>
+ * A response completed asynchronously, such as a {@code StreamingResponseBody} or a deferred result, is still being
+ * written when the first dispatch returns. The filter then leaves the compressor open and finishes it at the end of
+ * the async dispatch that completes the request.
+ */
+public class ResponseCompressionFilter extends OncePerRequestFilter {
+
+    private final CompressionProperties properties;
+
+    public ResponseCompressionFilter(CompressionProperties properties) {
+        this.properties = properties;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !properties.enabled() || HttpMethod.HEAD.matches(request.getMethod());
+    }
+
+    @Override
+    protected boolean shouldNotFilterAsyncDispatch() {
+        return false;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        if (isAsyncDispatch(request)) {
+            CompressingResponseWrapper started = WebUtils.getNativeResponse(response, CompressingResponseWrapper.class);
+            try {
+                filterChain.doFilter(request, response);
+            } finally {
+                if (started != null && !request.isAsyncStarted()) {
+                    started.finish();
+                }
+            }
+            return;
+        }
+        String encoding = negotiate(request.getHeader(HttpHeaders.ACCEPT_ENCODING));
+        if (encoding == null) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+        response.addHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+        CompressingResponseWrapper wrapper = new CompressingResponseWrapper(response, encoding, properties);
+        try {
+            filterChain.doFilter(request, wrapper);
+        } finally {
+            if (!request.isAsyncStarted()) {
+                wrapper.finish();
+            }
+        }
+    }
+
+    String negotiate(String acceptEncoding) {
+        if (acceptEncoding == null || acceptEncoding.isBlank()) {
+            return null;
+        }
+        String accepted = acceptEncoding.toLowerCase(Locale.ROOT);
+        for (String encoding : properties.encodings()) {
+            if (isAccepted(accepted, encoding)) {
+                return encoding;
+            }
+        }
+        return null;
+    }
+
+    private boolean isAccepted(String acceptEncoding, String encoding) {
+        for (String candidate : acceptEncoding.split(",")) {
+            String[] parts = candidate.trim().split(";");
+            if (parts[0].trim().equals(encoding)) {
+                return parts.length == 1 || !parts[1].trim().matches("q=0(\\.0*)?");
+            }
+        }
+        return false;
+    }
+}
@@ -1,5 +1,12 @@
 package com.example.spaceship.application.config;
 
+import com.example.spaceship.application.cache.HitCountingCache;
+import com.example.spaceship.application.cache.HotKeyProperties;
+import com.example.spaceship.application.service.CacheWarmupProperties;
+import com.example.spaceship.application.service.ShipIdFilterProperties;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.cache.CacheManager;
 import org.springframework.cache.annotation.EnableCaching;
 import org.springframework.cache.concurrent.ConcurrentMapCache;
@@ -8,18 +15,26 @@ import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
 import java.util.List;
+import java.util.stream.Stream;
 
 @Configuration
 @EnableCaching
+@EnableConfigurationProperties({CacheWarmupProperties.class, ShipIdFilterProperties.class, HotKeyProperties.class})
 public class CacheConfig {
 
     @Bean
-    public CacheManager cacheManager() {
+    public CacheManager cacheManager(MeterRegistry meterRegistry) {
+        List<HitCountingCache> caches = Stream.of("spaceships", "spaceship")
+                .map(name -> new HitCountingCache(new ConcurrentMapCache(name)))
+                .toList();
+        caches.forEach(cache -> {
+            FunctionCounter.builder("spaceship.cache.gets", cache, HitCountingCache::hits)
+                    .tags("cache", cache.getName(), "result", "hit").register(meterRegistry);
+            FunctionCounter.builder("spaceship.cache.gets", cache, HitCountingCache::misses)
+                    .tags("cache", cache.getName(), "result", "miss").register(meterRegistry);
+        });
         SimpleCacheManager cacheManager = new SimpleCacheManager();
-        cacheManager.setCaches(List.of(
-                new ConcurrentMapCache("spaceships"),
-                new ConcurrentMapCache("spaceship")
-        ));
+        cacheManager.setCaches(caches);
         return cacheManager;
     }
 }
\ No newline at end of file
@@ -1,6 +1,10 @@
 package com.example.spaceship.application.config;
 
+import com.example.spaceship.application.service.ShipWriteBehindProperties;
+import com.example.spaceship.infrastructure.database.ParallelSearchProperties;
+import com.example.spaceship.infrastructure.database.ShardingProperties;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.boot.jdbc.DataSourceBuilder;
 import org.springframework.context.annotation.Bean;
 
@@ -9,6 +13,7 @@ import org.springframework.context.annotation.Configuration;
 import javax.sql.DataSource;
 
 @Configuration
+@EnableConfigurationProperties({ShipWriteBehindProperties.class, ShardingProperties.class, ParallelSearchProperties.class})
 public class DatabaseConfig {
 
     @Value("${spring.datasource.url}")
@@ -0,0 +1,41 @@
+package com.example.spaceship.application.config;
+
+import com.example.spaceship.application.idempotency.IdempotencyFilter;
+import com.example.spaceship.application.idempotency.IdempotencyProperties;
+import com.example.spaceship.application.idempotency.IdempotencyStore;
+import com.example.spaceship.application.idempotency.InMemoryIdempotencyStore;
+import com.example.spaceship.application.idempotency.JdbcIdempotencyStore;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import javax.sql.DataSource;
+
+@Configuration
+@EnableConfigurationProperties(IdempotencyProperties.class)
+public class IdempotencyConfig {
+
+    @Bean
+    public IdempotencyStore idempotencyStore(IdempotencyProperties properties, DataSource dataSource) {
+        if (properties.store() == IdempotencyProperties.Store.JDBC) {
+            return new JdbcIdempotencyStore(new JdbcTemplate(dataSource));
+        }
+        return new InMemoryIdempotencyStore(properties.maxEntries());
+    }
+
+    @Bean
+    public IdempotencyFilter idempotencyFilter(IdempotencyProperties properties, IdempotencyStore idempotencyStore,
+                                               MeterRegistry meterRegistry) {
+        return new IdempotencyFilter(properties, idempotencyStore, meterRegistry);
+    }
+
+    @Bean
+    public FilterRegistrationBean<IdempotencyFilter> idempotencyFilterRegistration(IdempotencyFilter idempotencyFilter) {
+        FilterRegistrationBean<IdempotencyFilter> registration = new FilterRegistrationBean<>(idempotencyFilter);
+        registration.setEnabled(false);
+        return registration;
+    }
+}
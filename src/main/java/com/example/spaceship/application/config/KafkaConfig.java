@@ -1,11 +1,16 @@
 package com.example.spaceship.application.config;
 
+import com.example.spaceship.infrastructure.kakfa.ProducerMode;
 import org.apache.kafka.clients.admin.NewTopic;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.kafka.DefaultKafkaProducerFactoryCustomizer;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.kafka.config.TopicBuilder;
 
+import java.util.HashMap;
+import java.util.Map;
+
 @Configuration
 public class KafkaConfig {
 
@@ -18,11 +23,27 @@ public class KafkaConfig {
     @Value("${kafka.topic.replication-factor}")
     private short replicationFactor;
 
+    @Value("${kafka.producer.mode}")
+    private ProducerMode producerMode;
+
     @Bean
     public NewTopic spaceshipTopic() {
         return TopicBuilder.name(topicName)
                 .partitions(partitions)
                 .replicas(replicationFactor)
+                .compact()
                 .build();
     }
-}
\ No newline at end of file
+
+    /**
+     * Applies the preset of {@code kafka.producer.mode} for every setting not configured explicitly.
+     */
+    @Bean
+    public DefaultKafkaProducerFactoryCustomizer producerModeCustomizer() {
+        return factory -> {
+            Map<String, Object> preset = new HashMap<>(producerMode.settings());
+            preset.keySet().removeAll(factory.getConfigurationProperties().keySet());
+            factory.updateConfigs(preset);
+        };
+    }
+}
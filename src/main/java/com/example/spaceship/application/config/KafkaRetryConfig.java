@@ -0,0 +1,138 @@
+package com.example.spaceship.application.config;
+
+import com.example.spaceship.infrastructure.kakfa.KafkaConsumer;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.common.header.internals.RecordHeaders;
+import org.apache.kafka.common.serialization.ByteArraySerializer;
+import org.apache.kafka.common.serialization.Serializer;
+import org.apache.kafka.common.serialization.StringSerializer;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.kafka.core.DefaultKafkaProducerFactory;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.core.ProducerFactory;
+import org.springframework.kafka.listener.ListenerExecutionFailedException;
+import org.springframework.kafka.listener.RetryListener;
+import org.springframework.kafka.retrytopic.DeadLetterPublishingRecovererFactory;
+import org.springframework.kafka.retrytopic.RetryTopicConfiguration;
+import org.springframework.kafka.retrytopic.RetryTopicConfigurationBuilder;
+import org.springframework.kafka.retrytopic.RetryTopicConfigurationSupport;
+import org.springframework.kafka.support.serializer.DelegatingByTypeSerializer;
+import org.springframework.kafka.support.serializer.JsonSerializer;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.Consumer;
+
+/**
+ * Non-blocking retries for the ship listener: a failed event is forwarded to the next retry topic and
+ * consumed again once its back-off has elapsed, while the main partition keeps flowing. After the last attempt,
+ * or immediately for failures that cannot succeed on retry such as undeserializable payloads, the event is
+ * parked on the {@code -dlt} topic. Forwarded records are tagged with the consumer group of the instance that
+ * failed them, because every instance reads these topics in its own group.
+ */
+@Configuration
+public class KafkaRetryConfig extends RetryTopicConfigurationSupport {
+
+    private static final String FAILURES_METRIC = "spaceship.kafka.consumer.failures";
+
+    private static final String DEAD_LETTERS_METRIC = "spaceship.kafka.dead-letters";
+
+    private static final String DLT_SUFFIX = "-dlt";
+
+    @Value("${kafka.topic.name}")
+    private String topicName;
+
+    @Value("${kafka.topic.partitions}")
+    private int partitions;
+
+    @Value("${kafka.topic.replication-factor}")
+    private short replicationFactor;
+
+    @Value("${kafka.retry.attempts}")
+    private int attempts;
+
+    @Value("${kafka.retry.initial-delay}")
+    private Duration initialDelay;
+
+    @Value("${kafka.retry.multiplier}")
+    private double multiplier;
+
+    @Value("${kafka.retry.max-delay}")
+    private Duration maxDelay;
+
+    private final ObjectProvider<MeterRegistry> meterRegistry;
+
+    private final ObjectProvider<KafkaConsumer> kafkaConsumer;
+
+    public KafkaRetryConfig(ObjectProvider<MeterRegistry> meterRegistry, ObjectProvider<KafkaConsumer> kafkaConsumer) {
+        this.meterRegistry = meterRegistry;
+        this.kafkaConsumer = kafkaConsumer;
+    }
+
+    @Bean
+    public RetryTopicConfiguration shipRetryTopicConfiguration(ProducerFactory<?, ?> producerFactory) {
+        return RetryTopicConfigurationBuilder.newInstance()
+                .includeTopic(topicName)
+                .maxAttempts(attempts)
+                .exponentialBackoff(initialDelay.toMillis(), multiplier, maxDelay.toMillis())
+                .suffixTopicsWithIndexValues()
+                .dltSuffix(DLT_SUFFIX)
+                .autoCreateTopicsWith(partitions, replicationFactor)
+                .dltHandlerMethod("kafkaConsumer", "handleDeadLetter")
+                .doNotRetryOnDltFailure()
+                .create(deadLetterTemplate(producerFactory));
+    }
+
+    @Override
+    protected Consumer<DeadLetterPublishingRecovererFactory> configureDeadLetterPublishingContainerFactory() {
+        return factory -> factory.setHeadersFunction((record, ex) -> new RecordHeaders().add(KafkaConsumer.ORIGIN_GROUP_HEADER,
+                kafkaConsumer.getObject().groupId().getBytes(StandardCharsets.UTF_8)));
+    }
+
+    @Override
+    protected void configureCustomizers(CustomizersConfigurer customizersConfigurer) {
+        customizersConfigurer.customizeErrorHandler(errorHandler -> errorHandler.setRetryListeners(new RetryListener() {
+            @Override
+            public void failedDelivery(ConsumerRecord<?, ?> record, Exception ex, int deliveryAttempt) {
+                String exception = rootCause(ex).getClass().getSimpleName();
+                if (record.topic().endsWith(DLT_SUFFIX)) {
+                    // payloads that cannot be deserialized never reach the dead-letter handler, count them here
+                    if (!kafkaConsumer.getObject().isOwn(record)) {
+                        return;
+                    }
+                    meterRegistry.getObject().counter(DEAD_LETTERS_METRIC, "exception", exception).increment();
+                    return;
+                }
+                meterRegistry.getObject().counter(FAILURES_METRIC, "topic", record.topic(), "exception", exception).increment();
+            }
+        }));
+    }
+
+    /**
+     * Forwards ships as JSON, but republishes undeserializable payloads as the raw bytes that were received.
+     */
+    private KafkaTemplate<Object, Object> deadLetterTemplate(ProducerFactory<?, ?> producerFactory) {
+        Map<Class<?>, Serializer<?>> keySerializers = new LinkedHashMap<>();
+        keySerializers.put(byte[].class, new ByteArraySerializer());
+        keySerializers.put(String.class, new StringSerializer());
+        Map<Class<?>, Serializer<?>> valueSerializers = new LinkedHashMap<>();
+        valueSerializers.put(byte[].class, new ByteArraySerializer());
+        valueSerializers.put(Object.class, new JsonSerializer<>());
+        return new KafkaTemplate<>(new DefaultKafkaProducerFactory<>(producerFactory.getConfigurationProperties(),
+                new DelegatingByTypeSerializer(keySerializers, true), new DelegatingByTypeSerializer(valueSerializers, true)));
+    }
+
+    private static Throwable rootCause(Throwable ex) {
+        Throwable cause = ex;
+        while (cause instanceof ListenerExecutionFailedException && cause.getCause() != null) {
+            cause = cause.getCause();
+        }
+        return cause;
+    }
+}
@@ -0,0 +1,50 @@
+package com.example.spaceship.application.config;
+
+import com.example.spaceship.application.ratelimit.AdaptiveConcurrencyLimiter;
+import com.example.spaceship.application.ratelimit.RateLimitFilter;
+import com.example.spaceship.application.ratelimit.RateLimitProperties;
+import com.example.spaceship.application.ratelimit.TokenBucketRateLimiter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.util.function.SingletonSupplier;
+import org.springframework.web.servlet.mvc.method.annotation.RequestMappingHandlerMapping;
+
+@Configuration
+@EnableConfigurationProperties(RateLimitProperties.class)
+public class RateLimitConfig {
+
+    @Bean
+    public TokenBucketRateLimiter tokenBucketRateLimiter() {
+        return new TokenBucketRateLimiter();
+    }
+
+    @Bean
+    public RateLimitFilter rateLimitFilter(RateLimitProperties properties, TokenBucketRateLimiter rateLimiter,
+                                           MeterRegistry meterRegistry,
+                                           @Qualifier("requestMappingHandlerMapping") ObjectProvider<RequestMappingHandlerMapping> handlerMapping) {
+        AdaptiveConcurrencyLimiter concurrencyLimiter = null;
+        if (properties.concurrency().enabled()) {
+            concurrencyLimiter = new AdaptiveConcurrencyLimiter(properties.concurrency());
+            Gauge.builder("spaceship.http.concurrency.limit", concurrencyLimiter, AdaptiveConcurrencyLimiter::getLimit)
+                    .register(meterRegistry);
+            Gauge.builder("spaceship.http.concurrency.in-flight", concurrencyLimiter, AdaptiveConcurrencyLimiter::getInFlight)
+                    .register(meterRegistry);
+        }
+        // resolved on first use: the handler mapping is only complete once every controller is registered
+        return new RateLimitFilter(properties, rateLimiter, concurrencyLimiter, meterRegistry,
+                SingletonSupplier.of(() -> RateLimitFilter.endpointKeys(handlerMapping.getObject())));
+    }
+
+    @Bean
+    public FilterRegistrationBean<RateLimitFilter> rateLimitFilterRegistration(RateLimitFilter rateLimitFilter) {
+        FilterRegistrationBean<RateLimitFilter> registration = new FilterRegistrationBean<>(rateLimitFilter);
+        registration.setEnabled(false);
+        return registration;
+    }
+}
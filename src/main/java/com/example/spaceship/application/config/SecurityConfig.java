@@ -1,7 +1,17 @@
 package com.example.spaceship.application.config;
 
+import com.example.spaceship.application.idempotency.IdempotencyFilter;
+import com.example.spaceship.application.ratelimit.RateLimitFilter;
+import com.example.spaceship.application.security.BearerTokenAuthenticationFilter;
+import com.example.spaceship.application.security.CachingAuthenticationProvider;
+import com.example.spaceship.application.security.ShipSecurityProperties;
+import com.example.spaceship.application.security.StatelessTokenService;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.http.HttpMethod;
 import org.springframework.security.config.Customizer;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
@@ -13,21 +23,33 @@ import org.springframework.security.crypto.factory.PasswordEncoderFactories;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.provisioning.InMemoryUserDetailsManager;
 import org.springframework.security.web.SecurityFilterChain;
+import org.springframework.security.web.authentication.www.BasicAuthenticationFilter;
 import org.springframework.security.authentication.AuthenticationProvider;
 import org.springframework.security.authentication.dao.DaoAuthenticationProvider;
 
 @Configuration
 @EnableWebSecurity
+@EnableConfigurationProperties(ShipSecurityProperties.class)
 public class SecurityConfig {
 
     @Bean
-    public SecurityFilterChain securityFilterChain(HttpSecurity http) throws Exception {
+    public SecurityFilterChain securityFilterChain(HttpSecurity http, RateLimitFilter rateLimitFilter,
+                                                   IdempotencyFilter idempotencyFilter,
+                                                   ObjectProvider<StatelessTokenService> tokenService) throws Exception {
+        StatelessTokenService statelessTokenService = tokenService.getIfAvailable();
+        if (statelessTokenService != null) {
+            http.addFilterBefore(new BearerTokenAuthenticationFilter(statelessTokenService), BasicAuthenticationFilter.class);
+        }
         return http
                 .authorizeHttpRequests(authz -> authz
                         .requestMatchers("/api/**").authenticated()
+                        .requestMatchers(HttpMethod.POST, "/actuator/**").authenticated()
+                        .requestMatchers("/actuator/hotkeys").authenticated()
                         .anyRequest().permitAll()
                 )
                 .httpBasic(Customizer.withDefaults())
+                .addFilterAfter(rateLimitFilter, BasicAuthenticationFilter.class)
+                .addFilterAfter(idempotencyFilter, RateLimitFilter.class)
                 .csrf(AbstractHttpConfigurer::disable)
                 .build();
     }
@@ -46,10 +68,20 @@ public class SecurityConfig {
     }
 
     @Bean
-    public AuthenticationProvider authenticationProvider(UserDetailsService userDetailsService, PasswordEncoder passwordEncoder) {
+    public AuthenticationProvider authenticationProvider(UserDetailsService userDetailsService, PasswordEncoder passwordEncoder,
+                                                         ShipSecurityProperties properties) {
         DaoAuthenticationProvider provider = new DaoAuthenticationProvider();
         provider.setUserDetailsService(userDetailsService);
         provider.setPasswordEncoder(passwordEncoder);
-        return provider;
+        if (!properties.credentialCache().enabled()) {
+            return provider;
+        }
+        return new CachingAuthenticationProvider(provider, userDetailsService, properties.credentialCache());
     }
-}
\ No newline at end of file
+
+    @Bean
+    @ConditionalOnProperty(prefix = "ship.security.token", name = "enabled", havingValue = "true")
+    public StatelessTokenService statelessTokenService(UserDetailsService userDetailsService, ShipSecurityProperties properties) {
+        return new StatelessTokenService(userDetailsService, properties.token());
+    }
+}
@@ -0,0 +1,73 @@
+package com.example.spaceship.application.config;
+
+import com.example.spaceship.application.security.StatelessTokenService;
+import com.example.spaceship.application.service.ShipChangeBatch;
+import com.example.spaceship.application.service.ShipImportStatus;
+import com.example.spaceship.application.service.ShipWriteStatus;
+import com.example.spaceship.domain.entities.Ship;
+import com.example.spaceship.domain.entities.ShipChange;
+import com.example.spaceship.domain.views.ShipIdView;
+import com.example.spaceship.domain.views.ShipNameView;
+import com.example.spaceship.domain.views.ShipTypeView;
+import com.example.spaceship.domain.views.ShipView;
+import com.example.spaceship.infrastructure.importer.ImportCheckpoint;
+import org.apache.kafka.common.serialization.StringDeserializer;
+import org.apache.kafka.common.serialization.StringSerializer;
+import org.springframework.aot.hint.BindingReflectionHintsRegistrar;
+import org.springframework.aot.hint.MemberCategory;
+import org.springframework.aot.hint.RuntimeHints;
+import org.springframework.aot.hint.RuntimeHintsRegistrar;
+import org.springframework.aot.hint.annotation.RegisterReflectionForBinding;
+import org.springframework.kafka.support.serializer.ErrorHandlingDeserializer;
+import org.springframework.kafka.support.serializer.JsonDeserializer;
+import org.springframework.kafka.support.serializer.JsonSerializer;
+
+import java.util.List;
+
+/**
+ * Reflection hints the AOT engine cannot infer on its own, needed by the native image build. Jackson binds
+ * {@link Ship} from Kafka payloads and several controllers return bodies typed as {@code ResponseEntity<?>}, so their
+ * types are registered for binding the way {@link RegisterReflectionForBinding} would. Hibernate instantiates the
+ * record views through their canonical constructor, and Kafka creates the serializers named in
+ * {@code application-kafka.yaml} by class name.
+ */
+public class ShipRuntimeHints implements RuntimeHintsRegistrar {
+
+    private static final List<Class<?>> BOUND_TYPES = List.of(
+            Ship.class,
+            ShipChange.class,
+            ShipView.class,
+            ShipIdView.class,
+            ShipNameView.class,
+            ShipTypeView.class,
+            ShipChangeBatch.class,
+            ShipImportStatus.class,
+            ShipWriteStatus.class,
+            StatelessTokenService.IssuedToken.class,
+            ImportCheckpoint.class);
+
+    private static final List<Class<?>> PROJECTIONS = List.of(
+            ShipView.class,
+            ShipIdView.class,
+            ShipNameView.class,
+            ShipTypeView.class);
+
+    private static final List<Class<?>> KAFKA_SERDES = List.of(
+            StringSerializer.class,
+            StringDeserializer.class,
+            JsonSerializer.class,
+            JsonDeserializer.class,
+            ErrorHandlingDeserializer.class);
+
+    private final BindingReflectionHintsRegistrar bindingRegistrar = new BindingReflectionHintsRegistrar();
+
+    @Override
+    public void registerHints(RuntimeHints hints, ClassLoader classLoader) {
+        bindingRegistrar.registerReflectionHints(hints.reflection(), BOUND_TYPES.toArray(Class<?>[]::new));
+        PROJECTIONS.forEach(view -> hints.reflection().registerType(view,
+                MemberCategory.INVOKE_DECLARED_CONSTRUCTORS, MemberCategory.DECLARED_FIELDS,
+                MemberCategory.INVOKE_PUBLIC_METHODS));
+        KAFKA_SERDES.forEach(serde -> hints.reflection().registerType(serde,
+                MemberCategory.INVOKE_PUBLIC_CONSTRUCTORS));
+    }
+}
@@ -0,0 +1,42 @@
+package com.example.spaceship.application.config;
+
+import com.example.spaceship.domain.views.ShipView;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.io.SerializedString;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+import org.springframework.boot.jackson.JsonComponent;
+
+import java.io.IOException;
+
+/**
+ * Writes {@link ShipView} field by field with pre-encoded property names instead of going through the reflective
+ * bean serializer. Registered with the JSON and Smile object mappers through {@link JsonComponent}.
+ */
+@JsonComponent
+public class ShipViewSerializer extends StdSerializer<ShipView> {
+
+    private static final SerializedString ID = new SerializedString("id");
+    private static final SerializedString NAME = new SerializedString("name");
+    private static final SerializedString TYPE = new SerializedString("type");
+
+    public ShipViewSerializer() {
+        super(ShipView.class);
+    }
+
+    @Override
+    public void serialize(ShipView ship, JsonGenerator generator, SerializerProvider provider) throws IOException {
+        generator.writeStartObject(ship);
+        generator.writeFieldName(ID);
+        if (ship.id() == null) {
+            generator.writeNull();
+        } else {
+            generator.writeNumber(ship.id());
+        }
+        generator.writeFieldName(NAME);
+        generator.writeString(ship.name());
+        generator.writeFieldName(TYPE);
+        generator.writeString(ship.type());
+        generator.writeEndObject();
+    }
+}
@@ -0,0 +1,52 @@
+package com.example.spaceship.application.config;
+
+import com.example.spaceship.application.shutdown.DrainingFilter;
+import com.example.spaceship.application.shutdown.GracefulShutdownCoordinator;
+import com.example.spaceship.application.shutdown.ShutdownProperties;
+import com.example.spaceship.infrastructure.kakfa.KafkaProducer;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+import org.springframework.kafka.config.KafkaListenerEndpointRegistry;
+
+import java.time.Duration;
+
+@Configuration
+@EnableConfigurationProperties(ShutdownProperties.class)
+@ConditionalOnProperty(prefix = "ship.shutdown", name = "enabled", havingValue = "true")
+public class ShutdownConfig {
+
+    @Bean
+    public DrainingFilter drainingFilter(MeterRegistry meterRegistry) {
+        DrainingFilter filter = new DrainingFilter();
+        Gauge.builder("spaceship.http.in-flight", filter, DrainingFilter::getInFlight).register(meterRegistry);
+        return filter;
+    }
+
+    @Bean
+    public FilterRegistrationBean<DrainingFilter> drainingFilterRegistration(DrainingFilter drainingFilter) {
+        FilterRegistrationBean<DrainingFilter> registration = new FilterRegistrationBean<>(drainingFilter);
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE);
+        return registration;
+    }
+
+    @Bean
+    public GracefulShutdownCoordinator gracefulShutdownCoordinator(ShutdownProperties properties, DrainingFilter drainingFilter,
+                                                                   ObjectProvider<KafkaProducer> kafkaProducer,
+                                                                   ObjectProvider<KafkaListenerEndpointRegistry> listenerRegistry,
+                                                                   MeterRegistry meterRegistry,
+                                                                   ApplicationEventPublisher eventPublisher,
+                                                                   @Value("${spring.lifecycle.timeout-per-shutdown-phase:30s}")
+                                                                   Duration phaseTimeout) {
+        return new GracefulShutdownCoordinator(properties, drainingFilter, kafkaProducer.getIfAvailable(),
+                listenerRegistry.getIfAvailable(), meterRegistry, eventPublisher, phaseTimeout);
+    }
+}
@@ -0,0 +1,34 @@
+package com.example.spaceship.application.controller;
+
+import com.example.spaceship.application.security.StatelessTokenService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.Authentication;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequestMapping("/api/auth")
+@Tag(name = "Auth", description = "Authentication APIs")
+@ConditionalOnProperty(prefix = "ship.security.token", name = "enabled", havingValue = "true")
+public class AuthController {
+
+    @Autowired
+    private StatelessTokenService tokenService;
+
+    @PostMapping("/token")
+    @Operation(summary = "Issue a bearer token", description = "Exchanges the current credentials for a signed, short-lived bearer token")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Token issued"),
+            @ApiResponse(responseCode = "401", description = "Invalid credentials")
+    })
+    public ResponseEntity<StatelessTokenService.IssuedToken> issueToken(Authentication authentication) {
+        return ResponseEntity.ok(tokenService.issue(authentication.getName()));
+    }
+}
@@ -1,10 +1,15 @@
 package com.example.spaceship.application.controller;
 
-import com.example.spaceship.application.exceptions.ShipAlreadyExistsException;
-import com.example.spaceship.application.exceptions.ShipNotFoundException;
+import com.example.spaceship.application.service.ShipChangeBatch;
+import com.example.spaceship.application.service.ShipChangeService;
 import com.example.spaceship.application.service.ShipService;
+import com.example.spaceship.application.service.ShipWriteBehindService;
+import com.example.spaceship.application.service.ShipWriteStatus;
 import com.example.spaceship.application.util.UriBuilder;
 import com.example.spaceship.domain.entities.Ship;
+import com.example.spaceship.domain.ports.ShipCriteria;
+import com.example.spaceship.domain.views.ShipFieldSet;
+import com.example.spaceship.domain.views.ShipView;
 import com.example.spaceship.infrastructure.kakfa.KafkaConsumer;
 import com.example.spaceship.infrastructure.kakfa.KafkaProducer;
 import io.swagger.v3.oas.annotations.media.Content;
@@ -35,7 +40,6 @@ import org.springframework.web.bind.annotation.PutMapping;
 
 import java.net.URI;
 import java.util.List;
-import java.util.function.Supplier;
 
 @RestController
 @RequestMapping("/api/spaceships")
@@ -46,6 +50,9 @@ public class ShipController {
     @Autowired
     private ShipService shipService;
 
+    @Autowired
+    private ShipChangeService shipChangeService;
+
     @Autowired
     private UriBuilder uriBuilder;
 
@@ -55,6 +62,9 @@ public class ShipController {
     @Autowired
     private KafkaConsumer kafkaConsumer;
 
+    @Autowired(required = false)
+    private ShipWriteBehindService shipWriteBehindService;
+
     @GetMapping
     @Operation(summary = "Get all ships", description = "Retrieves a paginated list of all ships with sorting options")
     @ApiResponses(value = {
@@ -62,7 +72,7 @@ public class ShipController {
             @ApiResponse(responseCode = "400", description = "Invalid pagination or sorting parameters"),
             @ApiResponse(responseCode = "500", description = "Internal server error")
     })
-    public ResponseEntity<Page<Ship>> getAllShips(
+    public ResponseEntity<Page<?>> getAllShips(
             @Parameter(description = "Page number (0-based)", example = "0")
             @RequestParam(value = "page", defaultValue = "0") int page,
             @Parameter(description = "Number of items per page", example = "10")
@@ -70,23 +80,81 @@ public class ShipController {
             @Parameter(description = "Field to sort by", example = "name")
             @RequestParam(value = "sort", defaultValue = "name") String sort,
             @Parameter(description = "Sort direction (asc or desc)", example = "asc")
-            @RequestParam(value = "direction", defaultValue = "asc") String direction
+            @RequestParam(value = "direction", defaultValue = "asc") String direction,
+            @Parameter(description = "Fields to include besides the id (name, type); all fields when omitted", example = "name")
+            @RequestParam(required = false) String fields
     ) {
-        return executeWithExceptionHandling(() -> {
-            Pageable pageable = createPageable(page, size, sort, direction);
-            return ResponseEntity.ok(shipService.getAllShips(pageable));
-        });
+        Pageable pageable = createPageable(page, size, sort, direction);
+        ShipFieldSet fieldSet = ShipFieldSet.parse(fields);
+        return ResponseEntity.ok(shipService.getAllShips(pageable, fieldSet.view()));
     }
 
     @GetMapping("/kafka")
-    @Operation(summary = "Get all ships from Kafka", description = "Retrieves all ships received from the Kafka topic")
+    @Operation(summary = "Get ships from Kafka", description = "Retrieves the latest state of every ship received from the Kafka topic, ordered by id and optionally restricted to one type")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Successfully retrieved the list of ships"),
+            @ApiResponse(responseCode = "400", description = "Invalid pagination parameters"),
+            @ApiResponse(responseCode = "500", description = "Internal server error")
+    })
+    public ResponseEntity<Page<ShipView>> getAllShipsFromKafka(
+            @Parameter(description = "Page number (0-based)", example = "0")
+            @RequestParam(defaultValue = "0") int page,
+            @Parameter(description = "Number of items per page", example = "10")
+            @RequestParam(defaultValue = "10") int size,
+            @Parameter(description = "Only ships of this type (case-insensitive)", example = "Cruiser")
+            @RequestParam(required = false) String type) {
+        Pageable pageable = PageRequest.of(page, size);
+        if (StringUtils.hasText(type)) {
+            return ResponseEntity.ok(kafkaConsumer.findByType(type, pageable));
+        }
+        return ResponseEntity.ok(kafkaConsumer.findAll(pageable));
+    }
+
+    @GetMapping("/kafka/{id}")
+    @Operation(summary = "Get a ship from Kafka", description = "Retrieves the latest state of a ship received from the Kafka topic")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Successfully retrieved the ship"),
+            @ApiResponse(responseCode = "404", description = "Ship not present in the Kafka view")
+    })
+    public ResponseEntity<ShipView> getShipFromKafka(@PathVariable Long id) {
+        return kafkaConsumer.findById(id)
+                .map(ResponseEntity::ok)
+                .orElseGet(() -> ResponseEntity.notFound().build());
+    }
+
+    @GetMapping("/kafka/search")
+    @Operation(summary = "Search ships from Kafka", description = "Searches the Kafka view for ships whose name contains the given text (case-insensitive)")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Successfully retrieved the matching ships"),
+            @ApiResponse(responseCode = "400", description = "Invalid name or pagination parameters")
+    })
+    public ResponseEntity<Page<ShipView>> searchShipsFromKafka(
+            @Parameter(description = "Text the ship name must contain", required = true, example = "Enterprise")
+            @RequestParam String name,
+            @Parameter(description = "Page number (0-based)", example = "0")
+            @RequestParam(defaultValue = "0") int page,
+            @Parameter(description = "Number of items per page", example = "10")
+            @RequestParam(defaultValue = "10") int size) {
+        if (!StringUtils.hasText(name)) {
+            throw new IllegalArgumentException("Name parameter cannot be empty");
+        }
+        return ResponseEntity.ok(kafkaConsumer.findByNameContaining(name, PageRequest.of(page, size)));
+    }
+
+    @GetMapping("/changes")
+    @Operation(summary = "Get ship changes", description = "Retrieves the changes (including deletions) made after the given change sequence, in sequence order")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Successfully retrieved the changes"),
+            @ApiResponse(responseCode = "400", description = "Invalid sequence or limit"),
             @ApiResponse(responseCode = "500", description = "Internal server error")
     })
-    public ResponseEntity<List<Ship>> getAllShipsFromKafka() {
-        List<Ship> ships = kafkaConsumer.getAllShips();
-        return executeWithExceptionHandling(() -> ResponseEntity.ok(ships));
+    public ResponseEntity<ShipChangeBatch> getChanges(
+            @Parameter(description = "Last change sequence already seen by the client", example = "0")
+            @RequestParam(defaultValue = "0") long since,
+            @Parameter(description = "Maximum number of changes to return", example = "500")
+            @RequestParam(defaultValue = "500") int limit
+    ) {
+        return ResponseEntity.ok(shipChangeService.getChangesSince(since, limit));
     }
 
     @GetMapping("/{id}")
@@ -97,8 +165,10 @@ public class ShipController {
             @ApiResponse(responseCode = "400", description = "Invalid ID supplied"),
             @ApiResponse(responseCode = "500", description = "Internal server error")
     })
-    public ResponseEntity<Ship> getShipById(@PathVariable Long id) {
-        return executeWithExceptionHandling(() -> ResponseEntity.ok(shipService.getShipById(id)));
+    public ResponseEntity<ShipView> getShipById(@PathVariable Long id) {
+        return shipService.findShipById(id)
+                .map(ResponseEntity::ok)
+                .orElseGet(() -> ResponseEntity.notFound().build());
     }
 
     @GetMapping("/search")
@@ -108,7 +178,7 @@ public class ShipController {
             @ApiResponse(responseCode = "400", description = "Invalid search term or pagination parameters"),
             @ApiResponse(responseCode = "500", description = "Internal server error")
     })
-    public ResponseEntity<Page<Ship>> findShipsByName(
+    public ResponseEntity<Page<?>> findShipsByName(
             @Parameter(description = "Name to search for", required = true, example = "Enterprise")
             @RequestParam String name,
             @Parameter(description = "Page number (0-based)", example = "0")
@@ -118,50 +188,97 @@ public class ShipController {
             @Parameter(description = "Field to sort by", example = "name")
             @RequestParam(defaultValue = "name") String sort,
             @Parameter(description = "Sort direction (asc or desc)", example = "asc")
-            @RequestParam(defaultValue = "asc") String direction
+            @RequestParam(defaultValue = "asc") String direction,
+            @Parameter(description = "Fields to include besides the id (name, type); all fields when omitted", example = "name")
+            @RequestParam(required = false) String fields
     ) {
         if (!StringUtils.hasText(name)) {
             return ResponseEntity.badRequest().build();
         }
-        return executeWithExceptionHandling(() -> {
-            Pageable pageable = createPageable(page, size, sort, direction);
-            return ResponseEntity.ok(shipService.findShipsByName(name, pageable));
-        });
+        Pageable pageable = createPageable(page, size, sort, direction);
+        ShipFieldSet fieldSet = ShipFieldSet.parse(fields);
+        return ResponseEntity.ok(shipService.findShipsByName(name, pageable, fieldSet.view()));
+    }
+
+    @GetMapping("/filter")
+    @Operation(summary = "Filter ships", description = "Retrieves a paginated list of ships matching all given criteria: case-insensitive name prefix or substring, any of the given types and an id range")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Successfully retrieved the list of ships"),
+            @ApiResponse(responseCode = "400", description = "Invalid criteria or pagination parameters"),
+            @ApiResponse(responseCode = "500", description = "Internal server error")
+    })
+    public ResponseEntity<Page<?>> findShipsByCriteria(
+            @Parameter(description = "Name to match, case-insensitive", example = "enter")
+            @RequestParam(required = false) String name,
+            @Parameter(description = "How the name is matched (prefix or contains)", example = "prefix")
+            @RequestParam(defaultValue = "prefix") String match,
+            @Parameter(description = "Types to include; repeat the parameter or separate with commas", example = "Cruiser")
+            @RequestParam(value = "type", required = false) List<String> types,
+            @Parameter(description = "Lowest id to include", example = "1")
+            @RequestParam(required = false) Long minId,
+            @Parameter(description = "Highest id to include", example = "1000")
+            @RequestParam(required = false) Long maxId,
+            @Parameter(description = "Page number (0-based)", example = "0")
+            @RequestParam(defaultValue = "0") int page,
+            @Parameter(description = "Number of items per page", example = "10")
+            @RequestParam(defaultValue = "10") int size,
+            @Parameter(description = "Field to sort by", example = "name")
+            @RequestParam(defaultValue = "name") String sort,
+            @Parameter(description = "Sort direction (asc or desc)", example = "asc")
+            @RequestParam(defaultValue = "asc") String direction,
+            @Parameter(description = "Fields to include besides the id (name, type); all fields when omitted", example = "name")
+            @RequestParam(required = false) String fields
+    ) {
+        ShipCriteria.NameMatch nameMatch = ShipCriteria.NameMatch.from(match);
+        ShipCriteria criteria = ShipCriteria.of(name, nameMatch, types, minId, maxId);
+        Pageable pageable = createPageable(page, size, sort, direction);
+        ShipFieldSet fieldSet = ShipFieldSet.parse(fields);
+        return ResponseEntity.ok(shipService.findShipsByCriteria(criteria, pageable, fieldSet.view()));
     }
 
     @PostMapping
-    @Operation(summary = "Create a new ship", description = "Creates a new ship with the provided details")
+    @Operation(summary = "Create a new ship", description = "Creates a new ship with the provided details; with write-behind enabled the ship is queued and a write status is returned")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "201", description = "Ship created successfully", content = @Content(schema = @Schema(implementation = Ship.class))),
+            @ApiResponse(responseCode = "202", description = "Ship queued for creation", content = @Content(schema = @Schema(implementation = ShipWriteStatus.class))),
             @ApiResponse(responseCode = "400", description = "Invalid input"),
             @ApiResponse(responseCode = "409", description = "Ship already exists"),
-            @ApiResponse(responseCode = "500", description = "Internal server error")
+            @ApiResponse(responseCode = "500", description = "Internal server error"),
+            @ApiResponse(responseCode = "503", description = "Write queue is full")
     })
-    public ResponseEntity<Ship> createShip(
+    public ResponseEntity<?> createShip(
             @Parameter(description = "Ship to be created", required = true, schema = @Schema(implementation = Ship.class))
             @Valid @RequestBody Ship ship) {
-        return executeWithExceptionHandling(() -> {
-            Ship createdShip = shipService.createShip(ship);
-            URI location = uriBuilder.buildUri("/{id}", createdShip.getId());
-            kafkaProducer.sendMessage(createdShip);
-            return ResponseEntity.created(location).body(createdShip);
-        });
+        if (shipWriteBehindService != null) {
+            return accepted(shipWriteBehindService.submitCreate(ship));
+        }
+        Ship createdShip = shipService.createShip(ship);
+        URI location = uriBuilder.buildUri("/{id}", createdShip.getId());
+        kafkaProducer.sendMessage(createdShip);
+        return ResponseEntity.created(location).body(createdShip);
     }
 
     @PutMapping("/{id}")
-    @Operation(summary = "Update a ship", description = "Updates an existing ship with the provided details")
+    @Operation(summary = "Update a ship", description = "Updates an existing ship with the provided details; with write-behind enabled the update is queued and a write status is returned")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Ship updated successfully", content = @Content(schema = @Schema(implementation = Ship.class))),
+            @ApiResponse(responseCode = "202", description = "Update queued", content = @Content(schema = @Schema(implementation = ShipWriteStatus.class))),
             @ApiResponse(responseCode = "400", description = "Invalid input"),
             @ApiResponse(responseCode = "404", description = "Ship not found"),
-            @ApiResponse(responseCode = "500", description = "Internal server error")
+            @ApiResponse(responseCode = "500", description = "Internal server error"),
+            @ApiResponse(responseCode = "503", description = "Write queue is full")
     })
-    public ResponseEntity<Ship> updateShip(
+    public ResponseEntity<?> updateShip(
             @Parameter(description = "ID of the ship to be updated", required = true)
             @PathVariable Long id,
             @Parameter(description = "Updated ship details", required = true, schema = @Schema(implementation = Ship.class))
             @Valid @RequestBody Ship updatedShip) {
-        return executeWithExceptionHandling(() -> ResponseEntity.ok(shipService.updateShip(id, updatedShip)));
+        if (shipWriteBehindService != null) {
+            return accepted(shipWriteBehindService.submitUpdate(id, updatedShip));
+        }
+        Ship savedShip = shipService.updateShip(id, updatedShip);
+        kafkaProducer.sendMessage(savedShip);
+        return ResponseEntity.ok(savedShip);
     }
 
     @DeleteMapping("/{id}")
@@ -175,10 +292,9 @@ public class ShipController {
     public ResponseEntity<Void> deleteShipById(
             @Parameter(description = "ID of the ship to be deleted", required = true)
             @PathVariable Long id) {
-        return executeWithExceptionHandling(() -> {
-            shipService.deleteShip(id);
-            return ResponseEntity.noContent().build();
-        });
+        shipService.deleteShip(id);
+        kafkaProducer.sendDeletion(id);
+        return ResponseEntity.noContent().build();
     }
 
     @DeleteMapping
@@ -190,10 +306,8 @@ public class ShipController {
     })
     public ResponseEntity<Void> deleteAll() {
         log.warn("Received request to delete all ships");
-        return executeWithExceptionHandling(() -> {
-            shipService.deleteAll();
-            return ResponseEntity.noContent().build();
-        });
+        kafkaProducer.sendDeletions(shipService.deleteAll());
+        return ResponseEntity.noContent().build();
     }
 
     private Pageable createPageable(int page, int size, String sort, String direction) {
@@ -201,16 +315,8 @@ public class ShipController {
         return PageRequest.of(page, size, Sort.by(sortDirection, sort));
     }
 
-    private <T> ResponseEntity<T> executeWithExceptionHandling(Supplier<ResponseEntity<T>> action) {
-        try {
-            return action.get();
-        } catch (ShipNotFoundException e) {
-            return ResponseEntity.notFound().build();
-        } catch (IllegalArgumentException | ShipAlreadyExistsException e) {
-            return ResponseEntity.badRequest().body((T) e.getMessage());
-        } catch (Exception e) {
-            log.error("Unexpected error occurred", e);
-            return ResponseEntity.internalServerError().build();
-        }
+    private ResponseEntity<ShipWriteStatus> accepted(ShipWriteStatus status) {
+        URI location = uriBuilder.buildContextUri("/api/spaceships/writes/{writeId}", status.id());
+        return ResponseEntity.accepted().location(location).body(status);
     }
 }
\ No newline at end of file
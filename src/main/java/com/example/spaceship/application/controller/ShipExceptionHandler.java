@@ -0,0 +1,56 @@
+package com.example.spaceship.application.controller;
+
+import com.example.spaceship.application.exceptions.ImportJobNotFoundException;
+import com.example.spaceship.application.exceptions.ShipAlreadyExistsException;
+import com.example.spaceship.application.exceptions.ShipNotFoundException;
+import com.example.spaceship.application.exceptions.ShipWriteNotFoundException;
+import com.example.spaceship.application.exceptions.ShipWriteRejectedException;
+import com.example.spaceship.application.util.LogThrottle;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.RestControllerAdvice;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseEntityExceptionHandler;
+
+import java.time.Duration;
+
+/**
+ * Maps the outcomes of the ship controllers to responses in one place. Expected outcomes (unknown ids, invalid
+ * input, a full write queue) are answered without logging; unexpected failures are logged with their stack trace at
+ * most once per interval. Spring MVC's own request errors keep their status through
+ * {@link ResponseEntityExceptionHandler}.
+ */
+@RestControllerAdvice(assignableTypes = {ShipController.class, ShipImportController.class, ShipWriteController.class})
+@Slf4j
+public class ShipExceptionHandler extends ResponseEntityExceptionHandler {
+
+    private final LogThrottle errorLogThrottle = new LogThrottle(Duration.ofSeconds(10));
+
+    @ExceptionHandler({ShipNotFoundException.class, ShipWriteNotFoundException.class, ImportJobNotFoundException.class})
+    public ResponseEntity<Void> handleNotFound() {
+        return ResponseEntity.notFound().build();
+    }
+
+    @ExceptionHandler({IllegalArgumentException.class, ShipAlreadyExistsException.class})
+    public ResponseEntity<String> handleBadRequest(RuntimeException e) {
+        return ResponseEntity.badRequest().body(e.getMessage());
+    }
+
+    @ExceptionHandler(ShipWriteRejectedException.class)
+    public ResponseEntity<Void> handleWriteRejected(ShipWriteRejectedException e) {
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, Long.toString(Math.max(1, e.getRetryAfter().toSeconds())))
+                .build();
+    }
+
+    @ExceptionHandler(Exception.class)
+    public ResponseEntity<Void> handleUnexpected(Exception e) {
+        long suppressed = errorLogThrottle.tryAcquire();
+        if (suppressed >= 0) {
+            log.error("Unexpected error occurred ({} similar errors suppressed)", suppressed, e);
+        }
+        return ResponseEntity.internalServerError().build();
+    }
+}
@@ -0,0 +1,78 @@
+package com.example.spaceship.application.controller;
+
+import com.example.spaceship.application.service.ShipImportService;
+import com.example.spaceship.application.service.ShipImportStatus;
+import com.example.spaceship.application.util.UriBuilder;
+import com.example.spaceship.infrastructure.importer.ImportFormat;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.net.URI;
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/spaceships/import")
+@Tag(name = "Ship import", description = "Bulk ship import APIs")
+public class ShipImportController {
+
+    @Autowired
+    private ShipImportService shipImportService;
+
+    @Autowired
+    private UriBuilder uriBuilder;
+
+    @PostMapping
+    @Operation(summary = "Start a bulk import", description = "Imports ships from a CSV or NDJSON file in the import directory, resuming from its last checkpoint if present")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "202", description = "Import job started"),
+            @ApiResponse(responseCode = "400", description = "Invalid file or format"),
+            @ApiResponse(responseCode = "500", description = "Internal server error")
+    })
+    public ResponseEntity<ShipImportStatus> startImport(
+            @Parameter(description = "File name relative to the import directory", required = true, example = "fleet.csv")
+            @RequestParam String file,
+            @Parameter(description = "File format (CSV or NDJSON), inferred from the extension when omitted")
+            @RequestParam(required = false) ImportFormat format) {
+        ShipImportStatus status = shipImportService.startImport(file, format);
+        URI location = uriBuilder.buildUri("/{id}", status.id());
+        return ResponseEntity.accepted().location(location).body(status);
+    }
+
+    @GetMapping
+    @Operation(summary = "Get all import jobs", description = "Retrieves the progress of every import job")
+    public ResponseEntity<List<ShipImportStatus>> getImports() {
+        return ResponseEntity.ok(shipImportService.getImports());
+    }
+
+    @GetMapping("/{jobId}")
+    @Operation(summary = "Get an import job", description = "Retrieves progress, throughput and error counters of an import job")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Successfully retrieved the import job"),
+            @ApiResponse(responseCode = "404", description = "Import job not found")
+    })
+    public ResponseEntity<ShipImportStatus> getImport(@PathVariable String jobId) {
+        return ResponseEntity.ok(shipImportService.getImport(jobId));
+    }
+
+    @DeleteMapping("/{jobId}")
+    @Operation(summary = "Interrupt an import job", description = "Stops an import job after its current batch; it can be resumed by starting it again")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "202", description = "Interruption requested"),
+            @ApiResponse(responseCode = "404", description = "Import job not found")
+    })
+    public ResponseEntity<ShipImportStatus> cancelImport(@PathVariable String jobId) {
+        return ResponseEntity.accepted().body(shipImportService.cancelImport(jobId));
+    }
+}
@@ -0,0 +1,35 @@
+package com.example.spaceship.application.controller;
+
+import com.example.spaceship.application.service.ShipWriteBehindService;
+import com.example.spaceship.application.service.ShipWriteStatus;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequestMapping("/api/spaceships/writes")
+@Tag(name = "Ship writes", description = "Status of queued ship writes")
+@ConditionalOnProperty(prefix = "ship.write-behind", name = "enabled", havingValue = "true")
+public class ShipWriteController {
+
+    @Autowired
+    private ShipWriteBehindService shipWriteBehindService;
+
+    @GetMapping("/{writeId}")
+    @Operation(summary = "Get a queued write", description = "Retrieves whether a queued create or update is still pending, was applied or failed")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Successfully retrieved the write status"),
+            @ApiResponse(responseCode = "404", description = "Write not found or no longer tracked")
+    })
+    public ResponseEntity<ShipWriteStatus> getWrite(@PathVariable String writeId) {
+        return ResponseEntity.ok(shipWriteBehindService.getWrite(writeId));
+    }
+}
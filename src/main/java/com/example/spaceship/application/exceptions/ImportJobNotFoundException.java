@@ -0,0 +1,7 @@
+package com.example.spaceship.application.exceptions;
+
+public class ImportJobNotFoundException extends RuntimeException {
+    public ImportJobNotFoundException(String message) {
+        super(message, null, false, false);
+    }
+}
@@ -1,7 +1,11 @@
 package com.example.spaceship.application.exceptions;
 
+/**
+ * Expected outcome of a lookup or write for an unknown id. It is mapped to 404 without ever being logged, so it is
+ * created without a stack trace or suppression list; filling in the stack was most of the cost of a 404.
+ */
 public class ShipNotFoundException extends RuntimeException {
     public ShipNotFoundException(String message) {
-        super(message);
+        super(message, null, false, false);
     }
 }
\ No newline at end of file
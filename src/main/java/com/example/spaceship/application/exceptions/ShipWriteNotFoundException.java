@@ -0,0 +1,7 @@
+package com.example.spaceship.application.exceptions;
+
+public class ShipWriteNotFoundException extends RuntimeException {
+    public ShipWriteNotFoundException(String message) {
+        super(message, null, false, false);
+    }
+}
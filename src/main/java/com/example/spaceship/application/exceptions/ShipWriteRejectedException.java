@@ -0,0 +1,20 @@
+package com.example.spaceship.application.exceptions;
+
+import lombok.Getter;
+
+import java.time.Duration;
+
+/**
+ * Load shedding signal of the write-behind queue, answered with 503 and {@code Retry-After}. Rejections come in
+ * floods when the queue is full, so no stack trace is captured.
+ */
+@Getter
+public class ShipWriteRejectedException extends RuntimeException {
+
+    private final Duration retryAfter;
+
+    public ShipWriteRejectedException(String message, Duration retryAfter) {
+        super(message, null, false, false);
+        this.retryAfter = retryAfter;
+    }
+}
@@ -0,0 +1,234 @@
+package com.example.spaceship.application.idempotency;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ReadListener;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletInputStream;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletRequestWrapper;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Clock;
+import java.time.Instant;
+import java.util.HexFormat;
+import java.util.Optional;
+
+/**
+ * Makes {@code POST} requests to {@code /api/spaceships} that carry an {@code Idempotency-Key} header safe
+ * to retry. The first request with a key runs normally and its response
+ * is stored; a retry with the same key and the same request is answered from the store without reaching the
+ * controller, so it never writes to the database or publishes to Kafka twice.
+ * <p>
+ * Keys are scoped to the authenticated user. A key reused for a different request is rejected with 422, and
+ * a retry that arrives while the first request is still running gets 409 plus {@code Retry-After}. Server
+ * errors are not stored, so a retry after a 5xx executes the request again.
+ */
+public class IdempotencyFilter extends OncePerRequestFilter {
+
+    public static final String IDEMPOTENCY_KEY_HEADER = "Idempotency-Key";
+
+    public static final String REPLAYED_HEADER = "Idempotent-Replayed";
+
+    private static final String REQUESTS_METRIC = "spaceship.idempotency.requests";
+
+    private final IdempotencyProperties properties;
+
+    private final IdempotencyStore store;
+
+    private final MeterRegistry meterRegistry;
+
+    private final Clock clock;
+
+    public IdempotencyFilter(IdempotencyProperties properties, IdempotencyStore store, MeterRegistry meterRegistry) {
+        this(properties, store, meterRegistry, Clock.systemUTC());
+    }
+
+    IdempotencyFilter(IdempotencyProperties properties, IdempotencyStore store, MeterRegistry meterRegistry, Clock clock) {
+        this.properties = properties;
+        this.store = store;
+        this.meterRegistry = meterRegistry;
+        this.clock = clock;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !properties.enabled()
+                || request.getHeader(IDEMPOTENCY_KEY_HEADER) == null
+                || !HttpMethod.POST.matches(request.getMethod())
+                || !request.getRequestURI().startsWith("/api/spaceships");
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        String idempotencyKey = request.getHeader(IDEMPOTENCY_KEY_HEADER).trim();
+        if (idempotencyKey.isEmpty() || idempotencyKey.length() > properties.maxKeyLength()) {
+            reject(response, HttpStatus.BAD_REQUEST, "invalid",
+                    IDEMPOTENCY_KEY_HEADER + " must be between 1 and " + properties.maxKeyLength() + " characters");
+            return;
+        }
+        CachedBodyRequest cachedRequest = new CachedBodyRequest(request);
+        String key = clientKey(request) + ':' + idempotencyKey;
+        String fingerprint = fingerprint(cachedRequest);
+        Instant expiresAt = clock.instant().plus(properties.ttl());
+
+        Optional<IdempotencyRecord> existing = store.reserve(key, IdempotencyRecord.inProgress(fingerprint, expiresAt));
+        if (existing.isPresent()) {
+            answerFromStore(existing.get(), fingerprint, response);
+            return;
+        }
+
+        ContentCachingResponseWrapper cachingResponse = new ContentCachingResponseWrapper(response);
+        try {
+            filterChain.doFilter(cachedRequest, cachingResponse);
+        } catch (IOException | ServletException | RuntimeException e) {
+            store.release(key);
+            throw e;
+        }
+        int status = cachingResponse.getStatus();
+        if (status >= 500) {
+            store.release(key);
+            count("released");
+        } else {
+            store.complete(key, new IdempotencyRecord(fingerprint, expiresAt, status, cachingResponse.getContentType(),
+                    cachingResponse.getHeader(HttpHeaders.LOCATION), cachingResponse.getContentAsByteArray()));
+            count("stored");
+        }
+        cachingResponse.copyBodyToResponse();
+    }
+
+    private void answerFromStore(IdempotencyRecord existing, String fingerprint, HttpServletResponse response) throws IOException {
+        if (!existing.fingerprint().equals(fingerprint)) {
+            reject(response, HttpStatus.UNPROCESSABLE_ENTITY, "mismatch",
+                    IDEMPOTENCY_KEY_HEADER + " was already used for a different request");
+            return;
+        }
+        if (!existing.isCompleted()) {
+            response.setHeader(HttpHeaders.RETRY_AFTER, "1");
+            reject(response, HttpStatus.CONFLICT, "in_progress",
+                    "A request with this " + IDEMPOTENCY_KEY_HEADER + " is still being processed");
+            return;
+        }
+        count("replayed");
+        response.setStatus(existing.status());
+        response.setHeader(REPLAYED_HEADER, "true");
+        if (existing.contentType() != null) {
+            response.setContentType(existing.contentType());
+        }
+        if (existing.location() != null) {
+            response.setHeader(HttpHeaders.LOCATION, existing.location());
+        }
+        if (existing.body() != null && existing.body().length > 0) {
+            response.setContentLength(existing.body().length);
+            response.getOutputStream().write(existing.body());
+        }
+    }
+
+    private void reject(HttpServletResponse response, HttpStatus status, String outcome, String message) throws IOException {
+        count(outcome);
+        response.setStatus(status.value());
+        response.setContentType(MediaType.TEXT_PLAIN_VALUE);
+        response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+        response.getWriter().write(message);
+    }
+
+    private void count(String outcome) {
+        meterRegistry.counter(REQUESTS_METRIC, "outcome", outcome).increment();
+    }
+
+    private String clientKey(HttpServletRequest request) {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication != null && authentication.isAuthenticated()) {
+            return authentication.getName();
+        }
+        return "anonymous:" + request.getRemoteAddr();
+    }
+
+    static String fingerprint(CachedBodyRequest request) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            digest.update((request.getMethod() + ' ' + request.getRequestURI() + '?' + request.getQueryString() + '\n')
+                    .getBytes(StandardCharsets.UTF_8));
+            digest.update(request.body);
+            return HexFormat.of().formatHex(digest.digest());
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+
+    /**
+     * Reads the body once up front so it can be fingerprinted before the controller consumes it.
+     */
+    static class CachedBodyRequest extends HttpServletRequestWrapper {
+
+        private final byte[] body;
+
+        CachedBodyRequest(HttpServletRequest request) throws IOException {
+            super(request);
+            this.body = request.getInputStream().readAllBytes();
+        }
+
+        @Override
+        public ServletInputStream getInputStream() {
+            ByteArrayInputStream input = new ByteArrayInputStream(body);
+            return new ServletInputStream() {
+                @Override
+                public boolean isFinished() {
+                    return input.available() == 0;
+                }
+
+                @Override
+                public boolean isReady() {
+                    return true;
+                }
+
+                /**
+                 * The whole body is already in memory, so the listener is told right away that it can read it all.
+                 */
+                @Override
+                public void setReadListener(ReadListener listener) {
+                    try {
+                        listener.onDataAvailable();
+                        listener.onAllDataRead();
+                    } catch (IOException e) {
+                        listener.onError(e);
+                    }
+                }
+
+                @Override
+                public int read() {
+                    return input.read();
+                }
+
+                @Override
+                public int read(byte[] buffer, int offset, int length) {
+                    return input.read(buffer, offset, length);
+                }
+            };
+        }
+
+        @Override
+        public BufferedReader getReader() {
+            String encoding = getCharacterEncoding();
+            Charset charset = encoding != null ? Charset.forName(encoding) : StandardCharsets.UTF_8;
+            return new BufferedReader(new InputStreamReader(getInputStream(), charset));
+        }
+    }
+}
@@ -0,0 +1,21 @@
+package com.example.spaceship.application.idempotency;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@ConfigurationProperties(prefix = "ship.idempotency")
+public record IdempotencyProperties(
+        boolean enabled,
+        Duration ttl,
+        int maxEntries,
+        int maxKeyLength,
+        Store store,
+        Duration purgeInterval
+) {
+
+    public enum Store {
+        MEMORY,
+        JDBC
+    }
+}
@@ -0,0 +1,30 @@
+package com.example.spaceship.application.idempotency;
+
+import java.time.Instant;
+
+/**
+ * What the store remembers about one idempotency key: the fingerprint of the request that claimed it and,
+ * once that request has finished, the response to replay. A {@code status} of zero marks a request that is
+ * still in progress.
+ */
+public record IdempotencyRecord(
+        String fingerprint,
+        Instant expiresAt,
+        int status,
+        String contentType,
+        String location,
+        byte[] body
+) {
+
+    public static IdempotencyRecord inProgress(String fingerprint, Instant expiresAt) {
+        return new IdempotencyRecord(fingerprint, expiresAt, 0, null, null, null);
+    }
+
+    public boolean isCompleted() {
+        return status > 0;
+    }
+
+    public boolean isExpired(Instant now) {
+        return !now.isBefore(expiresAt);
+    }
+}
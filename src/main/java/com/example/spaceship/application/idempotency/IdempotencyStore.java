@@ -0,0 +1,21 @@
+package com.example.spaceship.application.idempotency;
+
+import java.util.Optional;
+
+public interface IdempotencyStore {
+
+    /**
+     * Claims {@code key} for a new request. Returns empty when the caller now owns the key, otherwise the
+     * live record of the request that claimed it first. Expired records never block a new claim.
+     */
+    Optional<IdempotencyRecord> reserve(String key, IdempotencyRecord reservation);
+
+    void complete(String key, IdempotencyRecord response);
+
+    /**
+     * Drops an in-progress claim so that a retry executes the request again.
+     */
+    void release(String key);
+
+    int purgeExpired();
+}
@@ -0,0 +1,87 @@
+package com.example.spaceship.application.idempotency;
+
+import org.springframework.scheduling.annotation.Scheduled;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.util.Comparator;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Keeps idempotency records on the heap. Expired records are dropped when the store fills up and by the
+ * periodic purge; if the store is still full, the completed record closest to expiry makes room. Claims of
+ * requests that are still running are never evicted.
+ */
+public class InMemoryIdempotencyStore implements IdempotencyStore {
+
+    private final Map<String, IdempotencyRecord> records = new ConcurrentHashMap<>();
+
+    private final int maxEntries;
+
+    private final Clock clock;
+
+    public InMemoryIdempotencyStore(int maxEntries) {
+        this(maxEntries, Clock.systemUTC());
+    }
+
+    InMemoryIdempotencyStore(int maxEntries, Clock clock) {
+        this.maxEntries = maxEntries;
+        this.clock = clock;
+    }
+
+    @Override
+    public Optional<IdempotencyRecord> reserve(String key, IdempotencyRecord reservation) {
+        Instant now = clock.instant();
+        if (records.size() >= maxEntries) {
+            makeRoom(now);
+        }
+        while (true) {
+            IdempotencyRecord existing = records.putIfAbsent(key, reservation);
+            if (existing == null) {
+                return Optional.empty();
+            }
+            if (!existing.isExpired(now)) {
+                return Optional.of(existing);
+            }
+            records.remove(key, existing);
+        }
+    }
+
+    @Override
+    public void complete(String key, IdempotencyRecord response) {
+        records.put(key, response);
+    }
+
+    @Override
+    public void release(String key) {
+        records.computeIfPresent(key, (k, existing) -> existing.isCompleted() ? existing : null);
+    }
+
+    @Override
+    @Scheduled(fixedDelayString = "${ship.idempotency.purge-interval}", initialDelayString = "${ship.idempotency.purge-interval}")
+    public int purgeExpired() {
+        Instant now = clock.instant();
+        int before = records.size();
+        records.values().removeIf(record -> record.isExpired(now));
+        return Math.max(0, before - records.size());
+    }
+
+    int size() {
+        return records.size();
+    }
+
+    private void makeRoom(Instant now) {
+        records.values().removeIf(record -> record.isExpired(now));
+        while (records.size() >= maxEntries) {
+            Optional<Map.Entry<String, IdempotencyRecord>> oldest = records.entrySet().stream()
+                    .filter(entry -> entry.getValue().isCompleted())
+                    .min(Comparator.comparing(entry -> entry.getValue().expiresAt()));
+            if (oldest.isEmpty()) {
+                return;
+            }
+            records.remove(oldest.get().getKey(), oldest.get().getValue());
+        }
+    }
+}
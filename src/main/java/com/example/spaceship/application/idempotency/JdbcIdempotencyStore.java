@@ -0,0 +1,85 @@
+package com.example.spaceship.application.idempotency;
+
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import java.sql.Timestamp;
+import java.time.Clock;
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.util.Optional;
+
+/**
+ * Keeps idempotency records in the {@code idempotency_key} table, so keys survive restarts and are shared
+ * by every instance pointing at the same database. The primary key is the claim: whichever insert wins owns
+ * the request.
+ */
+public class JdbcIdempotencyStore implements IdempotencyStore {
+
+    private static final RowMapper<IdempotencyRecord> ROW_MAPPER = (rs, rowNum) -> new IdempotencyRecord(
+            rs.getString("fingerprint"),
+            rs.getObject("expires_at", OffsetDateTime.class).toInstant(),
+            rs.getInt("status"),
+            rs.getString("content_type"),
+            rs.getString("location"),
+            rs.getBytes("body"));
+
+    private final JdbcTemplate jdbcTemplate;
+
+    private final Clock clock;
+
+    public JdbcIdempotencyStore(JdbcTemplate jdbcTemplate) {
+        this(jdbcTemplate, Clock.systemUTC());
+    }
+
+    JdbcIdempotencyStore(JdbcTemplate jdbcTemplate, Clock clock) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.clock = clock;
+    }
+
+    @Override
+    public Optional<IdempotencyRecord> reserve(String key, IdempotencyRecord reservation) {
+        Instant now = clock.instant();
+        while (true) {
+            try {
+                jdbcTemplate.update("INSERT INTO idempotency_key (idempotency_key, fingerprint, status, expires_at) VALUES (?, ?, 0, ?)",
+                        key, reservation.fingerprint(), Timestamp.from(reservation.expiresAt()));
+                return Optional.empty();
+            } catch (DuplicateKeyException e) {
+                Optional<IdempotencyRecord> existing = find(key);
+                if (existing.isPresent() && !existing.get().isExpired(now)) {
+                    return existing;
+                }
+                jdbcTemplate.update("DELETE FROM idempotency_key WHERE idempotency_key = ? AND expires_at <= ?",
+                        key, Timestamp.from(now));
+            }
+        }
+    }
+
+    @Override
+    public void complete(String key, IdempotencyRecord response) {
+        jdbcTemplate.update("UPDATE idempotency_key SET status = ?, content_type = ?, location = ?, body = ?, expires_at = ? "
+                        + "WHERE idempotency_key = ?",
+                response.status(), response.contentType(), response.location(), response.body(),
+                Timestamp.from(response.expiresAt()), key);
+    }
+
+    @Override
+    public void release(String key) {
+        jdbcTemplate.update("DELETE FROM idempotency_key WHERE idempotency_key = ? AND status = 0", key);
+    }
+
+    @Override
+    @Scheduled(fixedDelayString = "${ship.idempotency.purge-interval}", initialDelayString = "${ship.idempotency.purge-interval}")
+    public int purgeExpired() {
+        return jdbcTemplate.update("DELETE FROM idempotency_key WHERE expires_at <= ?", Timestamp.from(clock.instant()));
+    }
+
+    private Optional<IdempotencyRecord> find(String key) {
+        return jdbcTemplate.query("SELECT fingerprint, expires_at, status, content_type, location, body "
+                        + "FROM idempotency_key WHERE idempotency_key = ?", ROW_MAPPER, key)
+                .stream().findFirst();
+    }
+}
@@ -0,0 +1,74 @@
+package com.example.spaceship.application.ratelimit;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * AIMD concurrency limit: grows by roughly one slot per limit-worth of fast, well-utilised requests
+ * and shrinks multiplicatively as soon as latency exceeds the target, so excess load is shed before
+ * the request threads and the connection pool saturate.
+ */
+public class AdaptiveConcurrencyLimiter {
+
+    private final AtomicInteger inFlight = new AtomicInteger();
+
+    private final AtomicLong limitBits;
+
+    private final int minLimit;
+
+    private final int maxLimit;
+
+    private final long targetLatencyNanos;
+
+    private final double backoffRatio;
+
+    public AdaptiveConcurrencyLimiter(RateLimitProperties.Concurrency properties) {
+        this.limitBits = new AtomicLong(Double.doubleToLongBits(properties.initialLimit()));
+        this.minLimit = properties.minLimit();
+        this.maxLimit = properties.maxLimit();
+        this.targetLatencyNanos = properties.targetLatency().toNanos();
+        this.backoffRatio = properties.backoffRatio();
+    }
+
+    /**
+     * @return the number of requests in flight including this one, or {@code -1} if the request must be shed
+     */
+    public int tryAcquire() {
+        while (true) {
+            int current = inFlight.get();
+            if (current >= getLimit()) {
+                return -1;
+            }
+            if (inFlight.compareAndSet(current, current + 1)) {
+                return current + 1;
+            }
+        }
+    }
+
+    public void release(int inFlightAtStart, long latencyNanos) {
+        inFlight.decrementAndGet();
+        while (true) {
+            long bits = limitBits.get();
+            double limit = Double.longBitsToDouble(bits);
+            double next;
+            if (latencyNanos > targetLatencyNanos) {
+                next = Math.max(minLimit, limit * backoffRatio);
+            } else if (inFlightAtStart * 2 >= limit) {
+                next = Math.min(maxLimit, limit + 1.0 / limit);
+            } else {
+                return;
+            }
+            if (next == limit || limitBits.compareAndSet(bits, Double.doubleToLongBits(next))) {
+                return;
+            }
+        }
+    }
+
+    public int getLimit() {
+        return (int) Double.longBitsToDouble(limitBits.get());
+    }
+
+    public int getInFlight() {
+        return inFlight.get();
+    }
+}
@@ -0,0 +1,145 @@
+package com.example.spaceship.application.ratelimit;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.mvc.method.annotation.RequestMappingHandlerMapping;
+
+import java.io.IOException;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+import java.util.regex.Pattern;
+
+/**
+ * Applies the per user and endpoint token buckets first and the adaptive concurrency limit second to
+ * every {@code /api} request. Rejections are answered with 429 or 503 plus {@code Retry-After}.
+ * <p>
+ * Requests are keyed by method and path with id segments collapsed. Keys that match no mapped endpoint all share
+ * the {@code other} key, so unknown paths can neither create buckets nor metric tags without bound.
+ */
+public class RateLimitFilter extends OncePerRequestFilter {
+
+    private static final String REJECTED_METRIC = "spaceship.http.rejected";
+
+    static final String OTHER_ENDPOINT = "other";
+
+    private static final Pattern PATH_VARIABLE = Pattern.compile("\\{[^}]+}");
+
+    private final RateLimitProperties properties;
+
+    private final TokenBucketRateLimiter rateLimiter;
+
+    private final AdaptiveConcurrencyLimiter concurrencyLimiter;
+
+    private final MeterRegistry meterRegistry;
+
+    private final Supplier<Set<String>> knownEndpoints;
+
+    public RateLimitFilter(RateLimitProperties properties, TokenBucketRateLimiter rateLimiter,
+                           AdaptiveConcurrencyLimiter concurrencyLimiter, MeterRegistry meterRegistry,
+                           Supplier<Set<String>> knownEndpoints) {
+        this.properties = properties;
+        this.rateLimiter = rateLimiter;
+        this.concurrencyLimiter = concurrencyLimiter;
+        this.meterRegistry = meterRegistry;
+        this.knownEndpoints = knownEndpoints;
+    }
+
+    /**
+     * The keys of every mapped handler method, in the form {@link #endpointKey} produces for matching requests.
+     */
+    public static Set<String> endpointKeys(RequestMappingHandlerMapping handlerMapping) {
+        Set<String> keys = new HashSet<>();
+        handlerMapping.getHandlerMethods().keySet().forEach(info -> {
+            for (String pattern : info.getPatternValues()) {
+                String path = PATH_VARIABLE.matcher(pattern).replaceAll("{id}");
+                info.getMethodsCondition().getMethods().forEach(method -> keys.add(method.name() + ' ' + path));
+            }
+        });
+        return Set.copyOf(keys);
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !request.getRequestURI().startsWith("/api/");
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        String endpoint = endpointKey(request);
+        if (!knownEndpoints.get().contains(endpoint)) {
+            endpoint = OTHER_ENDPOINT;
+        }
+        if (properties.enabled()) {
+            long waitNanos = rateLimiter.tryAcquire(clientKey(request) + '|' + endpoint, properties.limitFor(endpoint));
+            if (waitNanos > 0) {
+                reject(response, HttpStatus.TOO_MANY_REQUESTS, toRetryAfterSeconds(waitNanos), "rate_limit", endpoint);
+                return;
+            }
+        }
+        if (concurrencyLimiter == null) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+        int inFlight = concurrencyLimiter.tryAcquire();
+        if (inFlight < 0) {
+            reject(response, HttpStatus.SERVICE_UNAVAILABLE,
+                    properties.concurrency().retryAfter().toSeconds(), "overload", endpoint);
+            return;
+        }
+        long start = System.nanoTime();
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            concurrencyLimiter.release(inFlight, System.nanoTime() - start);
+        }
+    }
+
+    static String endpointKey(HttpServletRequest request) {
+        StringBuilder key = new StringBuilder(request.getMethod()).append(' ');
+        for (String segment : request.getRequestURI().split("/")) {
+            if (segment.isEmpty()) {
+                continue;
+            }
+            key.append('/').append(containsDigit(segment) ? "{id}" : segment);
+        }
+        return key.toString();
+    }
+
+    private static boolean containsDigit(String segment) {
+        for (int i = 0; i < segment.length(); i++) {
+            if (Character.isDigit(segment.charAt(i))) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private String clientKey(HttpServletRequest request) {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication != null && authentication.isAuthenticated()) {
+            return authentication.getName();
+        }
+        return "anonymous:" + request.getRemoteAddr();
+    }
+
+    private long toRetryAfterSeconds(long waitNanos) {
+        return Math.max(1, TimeUnit.NANOSECONDS.toSeconds(waitNanos + TimeUnit.SECONDS.toNanos(1) - 1));
+    }
+
+    private void reject(HttpServletResponse response, HttpStatus status, long retryAfterSeconds, String reason, String endpoint) {
+        meterRegistry.counter(REJECTED_METRIC, "reason", reason, "endpoint", endpoint).increment();
+        response.setStatus(status.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, Long.toString(retryAfterSeconds));
+    }
+}
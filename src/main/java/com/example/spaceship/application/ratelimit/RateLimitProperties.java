@@ -0,0 +1,38 @@
+package com.example.spaceship.application.ratelimit;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.Map;
+
+@ConfigurationProperties(prefix = "ship.rate-limit")
+public record RateLimitProperties(
+        boolean enabled,
+        Limit defaultLimit,
+        Map<String, Limit> endpoints,
+        Duration sweepInterval,
+        Concurrency concurrency
+) {
+
+    public RateLimitProperties {
+        endpoints = endpoints == null ? Map.of() : Map.copyOf(endpoints);
+    }
+
+    public Limit limitFor(String endpoint) {
+        return endpoints.getOrDefault(endpoint, defaultLimit);
+    }
+
+    public record Limit(double permitsPerSecond, int burst) {
+    }
+
+    public record Concurrency(
+            boolean enabled,
+            int initialLimit,
+            int minLimit,
+            int maxLimit,
+            Duration targetLatency,
+            double backoffRatio,
+            Duration retryAfter
+    ) {
+    }
+}
@@ -0,0 +1,63 @@
+package com.example.spaceship.application.ratelimit;
+
+import org.springframework.scheduling.annotation.Scheduled;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+/**
+ * Lock-free token bucket implemented as a generic cell rate algorithm: each key holds only its
+ * theoretical arrival time, updated with a single CAS. Keys are spread over the bins of a
+ * {@link ConcurrentHashMap}, so unrelated users and endpoints never contend on the same word.
+ * <p>
+ * Buckets that have refilled completely hold no state worth keeping. They are dropped every
+ * {@code ship.rate-limit.sweep-interval} by a sweep off the request path, so acquiring a permit never walks the map.
+ */
+public class TokenBucketRateLimiter {
+
+    private final ConcurrentMap<String, AtomicLong> buckets = new ConcurrentHashMap<>();
+
+    private final LongSupplier clock;
+
+    public TokenBucketRateLimiter() {
+        this(System::nanoTime);
+    }
+
+    TokenBucketRateLimiter(LongSupplier nanoClock) {
+        long origin = nanoClock.getAsLong();
+        this.clock = () -> nanoClock.getAsLong() - origin;
+    }
+
+    /**
+     * @return {@code 0} if a permit was acquired, otherwise the nanoseconds until the next permit is available
+     */
+    public long tryAcquire(String key, RateLimitProperties.Limit limit) {
+        long emissionInterval = (long) (1_000_000_000L / limit.permitsPerSecond());
+        long burstTolerance = emissionInterval * limit.burst();
+        long now = clock.getAsLong();
+        AtomicLong bucket = buckets.computeIfAbsent(key, k -> new AtomicLong(now));
+        while (true) {
+            long arrival = bucket.get();
+            long nextArrival = Math.max(arrival, now) + emissionInterval;
+            long wait = nextArrival - now - burstTolerance;
+            if (wait > 0) {
+                return wait;
+            }
+            if (bucket.compareAndSet(arrival, nextArrival)) {
+                return 0;
+            }
+        }
+    }
+
+    int size() {
+        return buckets.size();
+    }
+
+    @Scheduled(fixedDelayString = "${ship.rate-limit.sweep-interval}", initialDelayString = "${ship.rate-limit.sweep-interval}")
+    public void evictIdleBuckets() {
+        long now = clock.getAsLong();
+        buckets.values().removeIf(bucket -> bucket.get() <= now);
+    }
+}
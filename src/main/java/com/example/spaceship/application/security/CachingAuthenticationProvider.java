@@ -0,0 +1,134 @@
+package com.example.spaceship.application.security;
+
+import org.springframework.security.authentication.AuthenticationProvider;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.AuthenticationException;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsService;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
+
+import java.util.Base64;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.LongSupplier;
+
+/**
+ * Remembers successful username/password verifications so the (deliberately slow) password encoder runs
+ * once per credential pair and TTL instead of once per request.
+ * <p>
+ * Entries are keyed by an HMAC of the credentials, so the cache never holds a plain or cheaply brute-forced
+ * password. A hit is only honoured while the user still exists, is usable and has the same stored password
+ * hash, so password changes and account locks take effect immediately.
+ */
+public class CachingAuthenticationProvider implements AuthenticationProvider {
+
+    private final AuthenticationProvider delegate;
+
+    private final UserDetailsService userDetailsService;
+
+    private final HmacSigner signer = new HmacSigner(null);
+
+    private final Map<String, CachedCredential> cache = new ConcurrentHashMap<>();
+
+    private final long ttlNanos;
+
+    private final int maxSize;
+
+    private final LongSupplier clock;
+
+    public CachingAuthenticationProvider(AuthenticationProvider delegate, UserDetailsService userDetailsService,
+                                         ShipSecurityProperties.CredentialCache properties) {
+        this(delegate, userDetailsService, properties, System::nanoTime);
+    }
+
+    CachingAuthenticationProvider(AuthenticationProvider delegate, UserDetailsService userDetailsService,
+                                  ShipSecurityProperties.CredentialCache properties, LongSupplier clock) {
+        this.delegate = delegate;
+        this.userDetailsService = userDetailsService;
+        this.ttlNanos = properties.ttl().toNanos();
+        this.maxSize = properties.maxSize();
+        this.clock = clock;
+    }
+
+    @Override
+    public Authentication authenticate(Authentication authentication) throws AuthenticationException {
+        String username = authentication.getName();
+        Object credentials = authentication.getCredentials();
+        if (credentials == null) {
+            return delegate.authenticate(authentication);
+        }
+        String key = cacheKey(username, credentials.toString());
+        long now = clock.getAsLong();
+
+        CachedCredential cached = cache.get(key);
+        if (cached != null) {
+            Authentication result = fromCache(cached, now);
+            if (result != null) {
+                return result;
+            }
+            cache.remove(key, cached);
+        }
+
+        Authentication result = delegate.authenticate(authentication);
+        if (result != null && result.isAuthenticated() && result.getPrincipal() instanceof UserDetails user) {
+            store(key, new CachedCredential(username, user.getPassword(), now + ttlNanos), now);
+        }
+        return result;
+    }
+
+    @Override
+    public boolean supports(Class<?> authentication) {
+        return UsernamePasswordAuthenticationToken.class.isAssignableFrom(authentication);
+    }
+
+    public void invalidate(String username) {
+        cache.values().removeIf(entry -> entry.username().equals(username));
+    }
+
+    public void invalidateAll() {
+        cache.clear();
+    }
+
+    int size() {
+        return cache.size();
+    }
+
+    private Authentication fromCache(CachedCredential cached, long now) {
+        if (now - cached.expiresAtNanos() >= 0) {
+            return null;
+        }
+        UserDetails user;
+        try {
+            user = userDetailsService.loadUserByUsername(cached.username());
+        } catch (UsernameNotFoundException e) {
+            return null;
+        }
+        if (!isUsable(user) || !Objects.equals(user.getPassword(), cached.passwordHash())) {
+            return null;
+        }
+        return UsernamePasswordAuthenticationToken.authenticated(user, null, user.getAuthorities());
+    }
+
+    private void store(String key, CachedCredential credential, long now) {
+        if (cache.size() >= maxSize) {
+            cache.values().removeIf(entry -> now - entry.expiresAtNanos() >= 0);
+            if (cache.size() >= maxSize) {
+                return;
+            }
+        }
+        cache.put(key, credential);
+    }
+
+    private String cacheKey(String username, String password) {
+        return Base64.getEncoder().encodeToString(signer.sign(username + '\u0000' + password));
+    }
+
+    static boolean isUsable(UserDetails user) {
+        return user.isEnabled() && user.isAccountNonLocked() && user.isAccountNonExpired() && user.isCredentialsNonExpired();
+    }
+
+    private record CachedCredential(String username, String passwordHash, long expiresAtNanos) {
+    }
+}
@@ -0,0 +1,39 @@
+package com.example.spaceship.application.security;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.SecureRandom;
+import java.util.Base64;
+
+/**
+ * HMAC-SHA256 keyed with either a configured base64 secret or a random per-process key.
+ */
+class HmacSigner {
+
+    private static final String ALGORITHM = "HmacSHA256";
+
+    private final SecretKeySpec key;
+
+    HmacSigner(String base64Secret) {
+        byte[] secret;
+        if (base64Secret == null || base64Secret.isBlank()) {
+            secret = new byte[32];
+            new SecureRandom().nextBytes(secret);
+        } else {
+            secret = Base64.getDecoder().decode(base64Secret);
+        }
+        this.key = new SecretKeySpec(secret, ALGORITHM);
+    }
+
+    byte[] sign(String value) {
+        try {
+            Mac mac = Mac.getInstance(ALGORITHM);
+            mac.init(key);
+            return mac.doFinal(value.getBytes(StandardCharsets.UTF_8));
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("HMAC-SHA256 is not available", e);
+        }
+    }
+}
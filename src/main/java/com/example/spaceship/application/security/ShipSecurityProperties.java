@@ -0,0 +1,15 @@
+package com.example.spaceship.application.security;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@ConfigurationProperties(prefix = "ship.security")
+public record ShipSecurityProperties(CredentialCache credentialCache, Token token) {
+
+    public record CredentialCache(boolean enabled, Duration ttl, int maxSize) {
+    }
+
+    public record Token(boolean enabled, Duration ttl, String secret) {
+    }
+}
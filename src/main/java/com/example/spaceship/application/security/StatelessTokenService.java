@@ -0,0 +1,99 @@
+package com.example.spaceship.application.security;
+
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsService;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.Optional;
+
+/**
+ * Issues and verifies HMAC-signed bearer tokens of the form {@code payload.signature}, where the payload
+ * carries the username, the expiry and a fingerprint of the stored password hash. Verification costs one
+ * HMAC instead of a password hash, and changing a password revokes all of its outstanding tokens.
+ */
+public class StatelessTokenService {
+
+    private static final Base64.Encoder ENCODER = Base64.getUrlEncoder().withoutPadding();
+
+    private static final Base64.Decoder DECODER = Base64.getUrlDecoder();
+
+    private final HmacSigner signer;
+
+    private final UserDetailsService userDetailsService;
+
+    private final Duration ttl;
+
+    private final Clock clock;
+
+    public StatelessTokenService(UserDetailsService userDetailsService, ShipSecurityProperties.Token properties) {
+        this(userDetailsService, properties, Clock.systemUTC());
+    }
+
+    StatelessTokenService(UserDetailsService userDetailsService, ShipSecurityProperties.Token properties, Clock clock) {
+        this.signer = new HmacSigner(properties.secret());
+        this.userDetailsService = userDetailsService;
+        this.ttl = properties.ttl();
+        this.clock = clock;
+    }
+
+    public IssuedToken issue(String username) {
+        UserDetails user = userDetailsService.loadUserByUsername(username);
+        Instant expiresAt = clock.instant().plus(ttl);
+        String payload = user.getUsername() + ':' + expiresAt.getEpochSecond() + ':' + fingerprint(user.getPassword());
+        String encodedPayload = ENCODER.encodeToString(payload.getBytes(StandardCharsets.UTF_8));
+        return new IssuedToken(encodedPayload + '.' + ENCODER.encodeToString(signer.sign(encodedPayload)), expiresAt);
+    }
+
+    public Optional<UserDetails> verify(String token) {
+        int separator = token.indexOf('.');
+        if (separator <= 0) {
+            return Optional.empty();
+        }
+        String encodedPayload = token.substring(0, separator);
+        byte[] signature;
+        String payload;
+        try {
+            signature = DECODER.decode(token.substring(separator + 1));
+            payload = new String(DECODER.decode(encodedPayload), StandardCharsets.UTF_8);
+        } catch (IllegalArgumentException e) {
+            return Optional.empty();
+        }
+        if (!MessageDigest.isEqual(signer.sign(encodedPayload), signature)) {
+            return Optional.empty();
+        }
+
+        String[] parts = payload.split(":");
+        if (parts.length != 3 || clock.instant().getEpochSecond() >= Long.parseLong(parts[1])) {
+            return Optional.empty();
+        }
+        try {
+            UserDetails user = userDetailsService.loadUserByUsername(parts[0]);
+            if (!CachingAuthenticationProvider.isUsable(user) || !fingerprint(user.getPassword()).equals(parts[2])) {
+                return Optional.empty();
+            }
+            return Optional.of(user);
+        } catch (UsernameNotFoundException e) {
+            return Optional.empty();
+        }
+    }
+
+    private static String fingerprint(String passwordHash) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(passwordHash.getBytes(StandardCharsets.UTF_8));
+            return ENCODER.encodeToString(Arrays.copyOf(digest, 8));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+
+    public record IssuedToken(String token, Instant expiresAt) {
+    }
+}
@@ -0,0 +1,16 @@
+package com.example.spaceship.application.service;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@ConfigurationProperties(prefix = "ship.cache.warmup")
+public record CacheWarmupProperties(
+        boolean enabled,
+        int pages,
+        int pageSize,
+        String sort,
+        int parallelism,
+        Duration timeout
+) {
+}
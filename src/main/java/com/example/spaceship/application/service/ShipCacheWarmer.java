@@ -0,0 +1,91 @@
+package com.example.spaceship.application.service;
+
+import com.example.spaceship.domain.views.ShipView;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Fills the page and ship caches from the database during startup. Application runners complete before the
+ * readiness state switches to ACCEPTING_TRAFFIC, so the readiness probe only reports UP once the most requested
+ * pages are served from memory.
+ */
+@Component
+@Slf4j
+public class ShipCacheWarmer implements ApplicationRunner {
+
+    private static final String SHIP_CACHE = "spaceship";
+
+    @Autowired
+    private ShipService shipService;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    @Autowired
+    private CacheWarmupProperties properties;
+
+    @Override
+    public void run(ApplicationArguments args) throws InterruptedException {
+        if (!properties.enabled() || properties.pages() <= 0) {
+            return;
+        }
+        long start = System.nanoTime();
+        Cache shipCache = cacheManager.getCache(SHIP_CACHE);
+        AtomicInteger ships = new AtomicInteger();
+
+        Page<ShipView> firstPage;
+        try {
+            firstPage = warmPage(0, shipCache, ships);
+        } catch (RuntimeException e) {
+            log.warn("Cache warm-up skipped, first page could not be loaded", e);
+            return;
+        }
+        int pages = Math.min(properties.pages(), firstPage.getTotalPages());
+
+        ExecutorService executor = Executors.newFixedThreadPool(Math.max(1, properties.parallelism()));
+        try {
+            for (int page = 1; page < pages; page++) {
+                int pageNumber = page;
+                executor.execute(() -> {
+                    try {
+                        warmPage(pageNumber, shipCache, ships);
+                    } catch (RuntimeException e) {
+                        log.warn("Cache warm-up failed for page {}", pageNumber, e);
+                    }
+                });
+            }
+            executor.shutdown();
+            if (!executor.awaitTermination(properties.timeout().toMillis(), TimeUnit.MILLISECONDS)) {
+                log.warn("Cache warm-up did not finish within {}, continuing with a partially warm cache", properties.timeout());
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        log.info("Cache warm-up loaded {} pages and {} ships in {} ms", Math.max(pages, 1), ships.get(),
+                TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+    }
+
+    private Page<ShipView> warmPage(int page, Cache shipCache, AtomicInteger ships) {
+        Pageable pageable = PageRequest.of(page, properties.pageSize(), Sort.by(Sort.Direction.ASC, properties.sort()));
+        Page<ShipView> shipsPage = shipService.getAllShips(pageable, ShipView.class);
+        if (shipCache != null) {
+            shipsPage.forEach(ship -> shipCache.put(ship.id(), ship));
+        }
+        ships.addAndGet(shipsPage.getNumberOfElements());
+        return shipsPage;
+    }
+}
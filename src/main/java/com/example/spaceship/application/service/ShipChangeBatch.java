@@ -0,0 +1,8 @@
+package com.example.spaceship.application.service;
+
+import com.example.spaceship.domain.entities.ShipChange;
+
+import java.util.List;
+
+public record ShipChangeBatch(List<ShipChange> changes, long nextSince, boolean hasMore) {
+}
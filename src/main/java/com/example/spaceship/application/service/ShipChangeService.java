@@ -0,0 +1,14 @@
+package com.example.spaceship.application.service;
+
+import com.example.spaceship.domain.entities.Ship;
+
+import java.util.List;
+
+public interface ShipChangeService {
+    void recordCreated(List<Ship> ships);
+    void recordUpdated(Ship ship);
+    void recordDeleted(Long id);
+    void recordCleared();
+    ShipChangeBatch getChangesSince(long since, int limit);
+    void compact();
+}
@@ -0,0 +1,181 @@
+package com.example.spaceship.application.service;
+
+import com.example.spaceship.domain.entities.Ship;
+import com.example.spaceship.domain.entities.ShipChange;
+import com.example.spaceship.domain.ports.ShipChangeRepository;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Maintains the ship change log. Every write appends its changes in the caller's transaction, and the
+ * log is compacted down to the latest change per ship (plus the last clear-all marker).
+ * <p>
+ * Changes are written without a feed sequence and numbered only after the recording transaction commits, by a short
+ * transaction that locks the single {@code ship_change_head} row. A client therefore never sees a change whose
+ * sequence is below one it already polled past, across instances, without holding a lock for the whole write.
+ * Changes left unnumbered because an instance stopped right after committing are picked up every
+ * {@code ship.changes.publish-interval}.
+ * <p>
+ * Pending changes are numbered in commit order rather than id order: ids come from a pooled sequence when a change is
+ * persisted, so a transaction can hold a lower id and still commit after another one writing the same ship. Just
+ * before committing, each transaction flushes, which locks the ship rows it wrote, and then stamps its changes with
+ * one ticket from {@code ship_change_commit_seq}. A later writer of the same ships can only draw its ticket once that
+ * transaction has committed.
+ */
+@Service
+@Slf4j
+public class ShipChangeServiceImpl implements ShipChangeService {
+
+    @Autowired
+    private ShipChangeRepository shipChangeRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Value("${ship.changes.max-batch-size}")
+    private int maxBatchSize;
+
+    private TransactionTemplate publishTransaction;
+
+    @PostConstruct
+    void init() {
+        publishTransaction = new TransactionTemplate(transactionManager);
+        publishTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    @Override
+    public void recordCreated(List<Ship> ships) {
+        record(ships.stream()
+                .map(ship -> new ShipChange(ShipChange.ChangeType.CREATED, ship.getId(), ship.getName(), ship.getType()))
+                .toList());
+    }
+
+    @Override
+    public void recordUpdated(Ship ship) {
+        record(List.of(new ShipChange(ShipChange.ChangeType.UPDATED, ship.getId(), ship.getName(), ship.getType())));
+    }
+
+    @Override
+    public void recordDeleted(Long id) {
+        record(List.of(new ShipChange(ShipChange.ChangeType.DELETED, id, null, null)));
+    }
+
+    @Override
+    public void recordCleared() {
+        record(List.of(new ShipChange(ShipChange.ChangeType.CLEARED, null, null, null)));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public ShipChangeBatch getChangesSince(long since, int limit) {
+        if (since < 0) {
+            throw new IllegalArgumentException("since cannot be negative");
+        }
+        int batchSize = Math.max(1, Math.min(limit, maxBatchSize));
+        List<ShipChange> changes = shipChangeRepository.findBySequenceGreaterThanOrderBySequenceAsc(since, Limit.of(batchSize + 1));
+        boolean hasMore = changes.size() > batchSize;
+        if (hasMore) {
+            changes = changes.subList(0, batchSize);
+        }
+        long nextSince = changes.isEmpty() ? since : changes.get(changes.size() - 1).getSequence();
+        return new ShipChangeBatch(changes, nextSince, hasMore);
+    }
+
+    @Override
+    @Transactional
+    @Scheduled(fixedDelayString = "${ship.changes.compaction-interval}", initialDelayString = "${ship.changes.compaction-interval}")
+    public void compact() {
+        int cleared = shipChangeRepository.deleteChangesBeforeLastClear();
+        int superseded = shipChangeRepository.deleteSupersededChanges();
+        if (cleared + superseded > 0) {
+            log.info("Compacted change log: removed {} changes", cleared + superseded);
+        }
+    }
+
+    /**
+     * Numbers committed changes that have no feed sequence yet, in commit order.
+     */
+    @Scheduled(fixedDelayString = "${ship.changes.publish-interval}", initialDelayString = "${ship.changes.publish-interval}")
+    public void publishPending() {
+        Integer published;
+        do {
+            published = publishTransaction.execute(status -> publishBatch());
+        } while (published != null && published == maxBatchSize);
+    }
+
+    private int publishBatch() {
+        long sequence = shipChangeRepository.lockLastSequence();
+        List<ShipChange> pending = shipChangeRepository.findBySequenceIsNullOrderByCommitOrderAscIdAsc(Limit.of(maxBatchSize));
+        if (pending.isEmpty()) {
+            return 0;
+        }
+        for (ShipChange change : pending) {
+            change.setSequence(++sequence);
+        }
+        shipChangeRepository.saveAll(pending);
+        shipChangeRepository.updateLastSequence(sequence);
+        return pending.size();
+    }
+
+    private void record(List<ShipChange> changes) {
+        if (!TransactionSynchronizationManager.isActualTransactionActive()) {
+            long commitOrder = shipChangeRepository.nextCommitOrder();
+            changes.forEach(change -> change.setCommitOrder(commitOrder));
+            shipChangeRepository.saveAll(changes);
+            publishPending();
+            return;
+        }
+        List<ShipChange> saved = shipChangeRepository.saveAll(changes);
+        CommitOrder commitOrder = TransactionSynchronizationManager.getSynchronizations().stream()
+                .filter(CommitOrder.class::isInstance)
+                .map(CommitOrder.class::cast)
+                .findFirst()
+                .orElseGet(() -> {
+                    CommitOrder registered = new CommitOrder();
+                    TransactionSynchronizationManager.registerSynchronization(registered);
+                    return registered;
+                });
+        saved.forEach(change -> commitOrder.changeIds.add(change.getId()));
+    }
+
+    /**
+     * Stamps the changes of one transaction with a commit ticket right before it commits and numbers them after.
+     */
+    private class CommitOrder implements TransactionSynchronization {
+
+        private final List<Long> changeIds = new ArrayList<>();
+
+        @Override
+        public void beforeCommit(boolean readOnly) {
+            shipChangeRepository.flush();
+            long commitOrder = shipChangeRepository.nextCommitOrder();
+            for (int from = 0; from < changeIds.size(); from += maxBatchSize) {
+                shipChangeRepository.updateCommitOrder(
+                        changeIds.subList(from, Math.min(from + maxBatchSize, changeIds.size())), commitOrder);
+            }
+        }
+
+        @Override
+        public void afterCommit() {
+            try {
+                publishPending();
+            } catch (RuntimeException e) {
+                log.warn("Could not number committed changes, leaving them for the next publish run", e);
+            }
+        }
+    }
+}
@@ -0,0 +1,191 @@
+package com.example.spaceship.application.service;
+
+import com.example.spaceship.application.util.LongBloomFilter;
+import com.example.spaceship.domain.ports.ShipRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.stream.Stream;
+
+/**
+ * Bloom filter of the ship ids in the database, so lookups of ids that were never created are answered without a
+ * query. Ids are added once the creating transaction commits, before its response is sent. Deleted ids cannot be
+ * removed and stay false positives until the filter is rebuilt from an id scan, which also resizes it for the
+ * current number of ships.
+ * <p>
+ * While a rebuild scans, new ids go into the replacement filter as well, so a ship that commits after the scan
+ * started is not lost in the swap. Until the first build completes every id is reported as possibly present.
+ * The filter only sees ships created by this instance, so it is off by default and only fits a single writing
+ * instance.
+ */
+@Component
+@Slf4j
+public class ShipIdFilter implements ApplicationRunner {
+
+    @Autowired
+    private ShipRepository shipRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private ShipIdFilterProperties properties;
+
+    private final ReentrantReadWriteLock swapLock = new ReentrantReadWriteLock();
+
+    private final ReentrantLock rebuildLock = new ReentrantLock();
+
+    private volatile LongBloomFilter current;
+
+    private LongBloomFilter replacement;
+
+    private final AtomicLong insertedIds = new AtomicLong();
+
+    private TransactionTemplate readOnlyTransaction;
+
+    private Counter filteredLookups;
+
+    private Counter falsePositives;
+
+    @PostConstruct
+    void init() {
+        readOnlyTransaction = new TransactionTemplate(transactionManager);
+        readOnlyTransaction.setReadOnly(true);
+        filteredLookups = Counter.builder("spaceship.id-filter.lookups").tag("outcome", "filtered").register(meterRegistry);
+        falsePositives = Counter.builder("spaceship.id-filter.lookups").tag("outcome", "false-positive").register(meterRegistry);
+        meterRegistry.gauge("spaceship.id-filter.ids", insertedIds);
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        rebuild();
+    }
+
+    /**
+     * Returns false only if the ship certainly does not exist.
+     */
+    public boolean mightContain(long id) {
+        LongBloomFilter filter = current;
+        if (filter == null || filter.mightContain(id)) {
+            return true;
+        }
+        filteredLookups.increment();
+        return false;
+    }
+
+    /**
+     * Records that a lookup let through by {@link #mightContain} found nothing.
+     */
+    public void recordFalsePositive() {
+        if (current != null) {
+            falsePositives.increment();
+        }
+    }
+
+    /**
+     * Adds the ids once the surrounding transaction commits, or immediately outside a transaction.
+     */
+    public void addAfterCommit(Collection<Long> ids) {
+        if (!properties.enabled() || ids.isEmpty()) {
+            return;
+        }
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    add(ids);
+                }
+            });
+        } else {
+            add(ids);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${ship.id-filter.rebuild-interval}", initialDelayString = "${ship.id-filter.rebuild-interval}")
+    public void rebuild() {
+        if (!properties.enabled() || !rebuildLock.tryLock()) {
+            return;
+        }
+        try {
+            long start = System.nanoTime();
+            long ships = shipRepository.count();
+            LongBloomFilter filter = new LongBloomFilter(Math.max(properties.expectedIds(), ships * 2),
+                    properties.falsePositiveRate());
+            withSwapLock(() -> replacement = filter);
+
+            long scanned;
+            try {
+                scanned = readOnlyTransaction.execute(status -> {
+                    long count = 0;
+                    try (Stream<Long> ids = shipRepository.streamAllIds()) {
+                        for (Iterator<Long> it = ids.iterator(); it.hasNext(); count++) {
+                            filter.put(it.next());
+                        }
+                    }
+                    return count;
+                });
+            } catch (RuntimeException e) {
+                withSwapLock(() -> replacement = null);
+                log.warn("Ship id filter rebuild failed, keeping the previous filter", e);
+                return;
+            }
+
+            withSwapLock(() -> {
+                current = filter;
+                replacement = null;
+                insertedIds.set(scanned);
+            });
+            log.info("Ship id filter rebuilt with {} ids ({} bits, {} hashes) in {} ms", scanned, filter.bitCount(),
+                    filter.hashCount(), TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+        } finally {
+            rebuildLock.unlock();
+        }
+    }
+
+    private void add(Collection<Long> ids) {
+        swapLock.readLock().lock();
+        try {
+            LongBloomFilter filter = current;
+            for (Long id : ids) {
+                if (filter != null) {
+                    filter.put(id);
+                }
+                if (replacement != null) {
+                    replacement.put(id);
+                }
+            }
+            insertedIds.addAndGet(ids.size());
+        } finally {
+            swapLock.readLock().unlock();
+        }
+    }
+
+    private void withSwapLock(Runnable action) {
+        swapLock.writeLock().lock();
+        try {
+            action.run();
+        } finally {
+            swapLock.writeLock().unlock();
+        }
+    }
+}
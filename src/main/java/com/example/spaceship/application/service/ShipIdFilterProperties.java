@@ -0,0 +1,14 @@
+package com.example.spaceship.application.service;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@ConfigurationProperties(prefix = "ship.id-filter")
+public record ShipIdFilterProperties(
+        boolean enabled,
+        long expectedIds,
+        double falsePositiveRate,
+        Duration rebuildInterval
+) {
+}
@@ -0,0 +1,130 @@
+package com.example.spaceship.application.service;
+
+import com.example.spaceship.infrastructure.importer.ImportCheckpoint;
+import com.example.spaceship.infrastructure.importer.ImportFormat;
+import lombok.Getter;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+public class ShipImportJob {
+
+    private static final int MAX_RECENT_ERRORS = 20;
+
+    public enum State { RUNNING, COMPLETED, INTERRUPTED, FAILED }
+
+    @Getter
+    private final String id;
+
+    @Getter
+    private final Path file;
+
+    @Getter
+    private final ImportFormat format;
+
+    private final Instant startedAt = Instant.now();
+
+    private final AtomicLong bytesRead = new AtomicLong();
+
+    private final AtomicLong linesRead = new AtomicLong();
+
+    private final AtomicLong imported = new AtomicLong();
+
+    private final AtomicLong rejected = new AtomicLong();
+
+    private final Deque<String> recentErrors = new ArrayDeque<>();
+
+    private volatile long totalBytes;
+
+    private volatile long resumedImported;
+
+    @Getter
+    private volatile State state = State.RUNNING;
+
+    private volatile Instant finishedAt;
+
+    private volatile boolean cancelRequested;
+
+    public ShipImportJob(String id, Path file, ImportFormat format) {
+        this.id = id;
+        this.file = file;
+        this.format = format;
+    }
+
+    void resumeFrom(ImportCheckpoint checkpoint, long totalBytes) {
+        this.totalBytes = totalBytes;
+        this.resumedImported = checkpoint.imported();
+        bytesRead.set(checkpoint.offset());
+        linesRead.set(checkpoint.lineNumber());
+        imported.set(checkpoint.imported());
+        rejected.set(checkpoint.rejected());
+    }
+
+    void recordBatch(long endOffset, long endLine, int importedCount, int rejectedCount) {
+        bytesRead.set(endOffset);
+        linesRead.set(endLine);
+        imported.addAndGet(importedCount);
+        rejected.addAndGet(rejectedCount);
+    }
+
+    void recordError(String error) {
+        synchronized (recentErrors) {
+            if (recentErrors.size() == MAX_RECENT_ERRORS) {
+                recentErrors.removeFirst();
+            }
+            recentErrors.addLast(error);
+        }
+    }
+
+    ImportCheckpoint checkpoint() {
+        return new ImportCheckpoint(bytesRead.get(), linesRead.get(), imported.get(), rejected.get());
+    }
+
+    void finish(State finalState) {
+        this.state = finalState;
+        this.finishedAt = Instant.now();
+    }
+
+    void requestCancel() {
+        cancelRequested = true;
+    }
+
+    boolean isCancelRequested() {
+        return cancelRequested;
+    }
+
+    public boolean isRunning() {
+        return state == State.RUNNING;
+    }
+
+    public ShipImportStatus status() {
+        Instant end = finishedAt != null ? finishedAt : Instant.now();
+        double seconds = Math.max(Duration.between(startedAt, end).toMillis(), 1) / 1000.0;
+        double progress = totalBytes == 0 ? (isRunning() ? 0 : 1) : (double) bytesRead.get() / totalBytes;
+        List<String> errors;
+        synchronized (recentErrors) {
+            errors = List.copyOf(recentErrors);
+        }
+        return new ShipImportStatus(
+                id,
+                file.getFileName().toString(),
+                format,
+                state,
+                bytesRead.get(),
+                totalBytes,
+                progress,
+                linesRead.get(),
+                imported.get(),
+                rejected.get(),
+                (imported.get() - resumedImported) / seconds,
+                startedAt,
+                finishedAt,
+                errors
+        );
+    }
+}
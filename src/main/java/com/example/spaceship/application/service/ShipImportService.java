@@ -0,0 +1,12 @@
+package com.example.spaceship.application.service;
+
+import com.example.spaceship.infrastructure.importer.ImportFormat;
+
+import java.util.List;
+
+public interface ShipImportService {
+    ShipImportStatus startImport(String fileName, ImportFormat format);
+    ShipImportStatus getImport(String jobId);
+    List<ShipImportStatus> getImports();
+    ShipImportStatus cancelImport(String jobId);
+}
@@ -0,0 +1,286 @@
+package com.example.spaceship.application.service;
+
+import com.example.spaceship.application.exceptions.ImportJobNotFoundException;
+import com.example.spaceship.domain.entities.Ship;
+import com.example.spaceship.infrastructure.importer.ImportCheckpoint;
+import com.example.spaceship.infrastructure.importer.ImportFormat;
+import com.example.spaceship.infrastructure.importer.ShipFileReader;
+import com.example.spaceship.infrastructure.importer.ShipRecordParser;
+import com.example.spaceship.infrastructure.kakfa.KafkaProducer;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.util.StringUtils;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+/**
+ * Imports ships from CSV/NDJSON files located in the configured import directory.
+ * <p>
+ * Each job reads the file in chunks, parses and validates the next chunk on a fork-join pool while the
+ * current one is written, and saves a checkpoint after every committed batch. Delivery is at-least-once:
+ * a crash between a commit and its checkpoint replays that single batch on resume.
+ */
+@Service
+@Slf4j
+public class ShipImportServiceImpl implements ShipImportService {
+
+    @Autowired
+    private ShipService shipService;
+
+    @Autowired
+    private KafkaProducer kafkaProducer;
+
+    @Autowired
+    private ShipRecordParser recordParser;
+
+    @Autowired
+    private Validator validator;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${ship.import.directory}")
+    private String directory;
+
+    @Value("${ship.import.batch-size}")
+    private int batchSize;
+
+    @Value("${ship.import.parallelism}")
+    private int parallelism;
+
+    @Value("${ship.import.max-tracked-jobs}")
+    private int maxTrackedJobs;
+
+    private final Map<String, ShipImportJob> jobs = new ConcurrentHashMap<>();
+
+    private final Deque<String> jobOrder = new ArrayDeque<>();
+
+    private ForkJoinPool parserPool;
+
+    private ExecutorService jobExecutor;
+
+    private Counter importedCounter;
+
+    private Counter rejectedCounter;
+
+    @PostConstruct
+    void init() {
+        parserPool = new ForkJoinPool(parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors());
+        jobExecutor = Executors.newVirtualThreadPerTaskExecutor();
+        importedCounter = Counter.builder("spaceship.import.records").tag("outcome", "imported").register(meterRegistry);
+        rejectedCounter = Counter.builder("spaceship.import.records").tag("outcome", "rejected").register(meterRegistry);
+    }
+
+    @PreDestroy
+    void shutdown() throws InterruptedException {
+        jobs.values().forEach(ShipImportJob::requestCancel);
+        jobExecutor.shutdown();
+        jobExecutor.awaitTermination(30, TimeUnit.SECONDS);
+        parserPool.shutdownNow();
+    }
+
+    @Override
+    public synchronized ShipImportStatus startImport(String fileName, ImportFormat format) {
+        Path file = resolveImportFile(fileName);
+        boolean alreadyRunning = jobs.values().stream()
+                .anyMatch(job -> job.isRunning() && job.getFile().equals(file));
+        if (alreadyRunning) {
+            throw new IllegalArgumentException("An import is already running for file: " + fileName);
+        }
+        ShipImportJob job = new ShipImportJob(UUID.randomUUID().toString(), file,
+                format != null ? format : ImportFormat.fromPath(file));
+        jobs.put(job.getId(), job);
+        jobOrder.add(job.getId());
+        forgetFinishedJobs();
+        jobExecutor.execute(() -> run(job));
+        log.info("Started import job {} for file {}", job.getId(), fileName);
+        return job.status();
+    }
+
+    @Override
+    public ShipImportStatus getImport(String jobId) {
+        return findJob(jobId).status();
+    }
+
+    @Override
+    public List<ShipImportStatus> getImports() {
+        return jobs.values().stream()
+                .map(ShipImportJob::status)
+                .sorted(Comparator.comparing(ShipImportStatus::startedAt))
+                .toList();
+    }
+
+    @Override
+    public ShipImportStatus cancelImport(String jobId) {
+        ShipImportJob job = findJob(jobId);
+        job.requestCancel();
+        return job.status();
+    }
+
+    /**
+     * Drops the oldest finished jobs beyond {@code max-tracked-jobs}; running jobs are always kept.
+     */
+    private void forgetFinishedJobs() {
+        Iterator<String> oldestFirst = jobOrder.iterator();
+        while (jobs.size() > maxTrackedJobs && oldestFirst.hasNext()) {
+            String jobId = oldestFirst.next();
+            if (!jobs.get(jobId).isRunning()) {
+                jobs.remove(jobId);
+                oldestFirst.remove();
+            }
+        }
+    }
+
+    private ShipImportJob findJob(String jobId) {
+        ShipImportJob job = jobs.get(jobId);
+        if (job == null) {
+            throw new ImportJobNotFoundException("Import job not found with id: " + jobId);
+        }
+        return job;
+    }
+
+    private void run(ShipImportJob job) {
+        try {
+            ImportCheckpoint checkpoint = ImportCheckpoint.load(job.getFile()).orElse(ImportCheckpoint.START);
+            try (ShipFileReader reader = new ShipFileReader(job.getFile(), checkpoint.offset())) {
+                job.resumeFrom(checkpoint, reader.size());
+                if (checkpoint.offset() > 0) {
+                    log.info("Resuming import job {} at line {}", job.getId(), checkpoint.lineNumber());
+                }
+                CompletableFuture<ParsedBatch> pending = parseAsync(reader.next(batchSize), checkpoint.lineNumber(), job.getFormat());
+                while (true) {
+                    ParsedBatch batch = pending.join();
+                    if (batch.isEmpty()) {
+                        break;
+                    }
+                    pending = parseAsync(reader.next(batchSize), batch.endLine(), job.getFormat());
+                    write(job, batch);
+                    if (job.isCancelRequested()) {
+                        job.finish(ShipImportJob.State.INTERRUPTED);
+                        log.info("Import job {} interrupted at line {}", job.getId(), batch.endLine());
+                        return;
+                    }
+                }
+            }
+            ImportCheckpoint.delete(job.getFile());
+            job.finish(ShipImportJob.State.COMPLETED);
+            ShipImportStatus status = job.status();
+            log.info("Import job {} completed: {} imported, {} rejected", job.getId(), status.imported(), status.rejected());
+        } catch (IOException | RuntimeException e) {
+            Throwable cause = e instanceof CompletionException && e.getCause() != null ? e.getCause() : e;
+            job.recordError(cause.getMessage());
+            job.finish(ShipImportJob.State.FAILED);
+            log.error("Import job {} failed", job.getId(), cause);
+        }
+    }
+
+    private CompletableFuture<ParsedBatch> parseAsync(ShipFileReader.Chunk chunk, long firstLine, ImportFormat format) {
+        return CompletableFuture.supplyAsync(() -> parse(chunk, firstLine, format), parserPool);
+    }
+
+    private ParsedBatch parse(ShipFileReader.Chunk chunk, long firstLine, ImportFormat format) {
+        List<String> lines = chunk.lines();
+        List<ParsedRecord> records = IntStream.range(0, lines.size())
+                .parallel()
+                .mapToObj(i -> parseRecord(lines.get(i), firstLine + i + 1, format))
+                .toList();
+        List<Ship> ships = new ArrayList<>(records.size());
+        List<String> errors = new ArrayList<>();
+        for (ParsedRecord parsedRecord : records) {
+            if (parsedRecord.ship() != null) {
+                ships.add(parsedRecord.ship());
+            } else if (parsedRecord.error() != null) {
+                errors.add(parsedRecord.error());
+            }
+        }
+        return new ParsedBatch(ships, errors, chunk.endOffset(), firstLine + lines.size(), lines.isEmpty());
+    }
+
+    private ParsedRecord parseRecord(String line, long lineNumber, ImportFormat format) {
+        if (line.isBlank() || (lineNumber == 1 && recordParser.isHeader(line, format))) {
+            return ParsedRecord.SKIPPED;
+        }
+        try {
+            Ship ship = recordParser.parse(line, format);
+            if (ship.getId() != null) {
+                return ParsedRecord.rejected(lineNumber, "The ID cannot be specified, it will be generated automatically");
+            }
+            Set<ConstraintViolation<Ship>> violations = validator.validate(ship);
+            if (!violations.isEmpty()) {
+                return ParsedRecord.rejected(lineNumber, violations.stream()
+                        .map(ConstraintViolation::getMessage)
+                        .sorted()
+                        .collect(Collectors.joining(", ")));
+            }
+            return new ParsedRecord(ship, null);
+        } catch (IllegalArgumentException e) {
+            return ParsedRecord.rejected(lineNumber, e.getMessage());
+        }
+    }
+
+    private void write(ShipImportJob job, ParsedBatch batch) throws IOException {
+        if (!batch.ships().isEmpty()) {
+            List<Ship> savedShips = shipService.createShips(batch.ships());
+            kafkaProducer.sendMessages(savedShips);
+        }
+        batch.errors().forEach(job::recordError);
+        job.recordBatch(batch.endOffset(), batch.endLine(), batch.ships().size(), batch.errors().size());
+        importedCounter.increment(batch.ships().size());
+        rejectedCounter.increment(batch.errors().size());
+        job.checkpoint().save(job.getFile());
+    }
+
+    private Path resolveImportFile(String fileName) {
+        if (!StringUtils.hasText(fileName)) {
+            throw new IllegalArgumentException("File name cannot be empty");
+        }
+        Path baseDirectory = Path.of(directory).toAbsolutePath().normalize();
+        Path file = baseDirectory.resolve(fileName).normalize();
+        if (!file.startsWith(baseDirectory)) {
+            throw new IllegalArgumentException("Import file must be located in the import directory");
+        }
+        if (!Files.isRegularFile(file)) {
+            throw new IllegalArgumentException("Import file not found: " + fileName);
+        }
+        return file;
+    }
+
+    private record ParsedRecord(Ship ship, String error) {
+        static final ParsedRecord SKIPPED = new ParsedRecord(null, null);
+
+        static ParsedRecord rejected(long lineNumber, String message) {
+            return new ParsedRecord(null, "Line " + lineNumber + ": " + message);
+        }
+    }
+
+    private record ParsedBatch(List<Ship> ships, List<String> errors, long endOffset, long endLine, boolean isEmpty) {
+    }
+}
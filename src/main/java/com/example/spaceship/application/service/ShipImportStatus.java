@@ -0,0 +1,24 @@
+package com.example.spaceship.application.service;
+
+import com.example.spaceship.infrastructure.importer.ImportFormat;
+
+import java.time.Instant;
+import java.util.List;
+
+public record ShipImportStatus(
+        String id,
+        String file,
+        ImportFormat format,
+        ShipImportJob.State state,
+        long bytesRead,
+        long totalBytes,
+        double progress,
+        long linesRead,
+        long imported,
+        long rejected,
+        double recordsPerSecond,
+        Instant startedAt,
+        Instant finishedAt,
+        List<String> recentErrors
+) {
+}
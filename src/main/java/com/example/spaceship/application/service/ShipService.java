@@ -1,16 +1,26 @@
 package com.example.spaceship.application.service;
 
 import com.example.spaceship.domain.entities.Ship;
+import com.example.spaceship.domain.ports.ShipCriteria;
+import com.example.spaceship.domain.views.ShipView;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import jakarta.validation.Valid;
 
+import java.util.List;
+import java.util.Optional;
+
 public interface ShipService {
-    Page<Ship> getAllShips(Pageable pageable);
-    Page<Ship> findShipsByName(String name, Pageable pageable);
-    Ship getShipById(Long id);
+    <T extends Record> Page<T> getAllShips(Pageable pageable, Class<T> view);
+    <T extends Record> Page<T> findShipsByName(String name, Pageable pageable, Class<T> view);
+    <T extends Record> Page<T> findShipsByCriteria(ShipCriteria criteria, Pageable pageable, Class<T> view);
+    Optional<ShipView> findShipById(Long id);
     Ship createShip(@Valid Ship ship);
+    List<Ship> createShips(List<@Valid Ship> ships);
     void deleteShip(Long id);
-    void deleteAll();
+    /**
+     * Deletes every ship and returns the ids that were deleted.
+     */
+    List<Long> deleteAll();
     Ship updateShip(Long id, @Valid Ship updatedShip);
 }
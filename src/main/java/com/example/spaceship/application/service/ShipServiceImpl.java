@@ -1,8 +1,11 @@
 package com.example.spaceship.application.service;
 
 import com.example.spaceship.application.exceptions.*;
+import com.example.spaceship.application.util.LogThrottle;
 import com.example.spaceship.domain.entities.Ship;
+import com.example.spaceship.domain.ports.ShipCriteria;
 import com.example.spaceship.domain.ports.ShipRepository;
+import com.example.spaceship.domain.views.ShipView;
 import jakarta.validation.Valid;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -14,12 +17,16 @@ import org.springframework.dao.EmptyResultDataAccessException;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.util.StringUtils;
 import org.springframework.validation.annotation.Validated;
 
+import java.time.Duration;
+import java.util.List;
 import java.util.Optional;
 import java.util.function.Supplier;
+import java.util.stream.Stream;
 
 @Service
 @Validated
@@ -29,44 +36,79 @@ public class ShipServiceImpl implements ShipService {
     @Autowired
     private ShipRepository shipRepository;
 
+    @Autowired
+    private ShipChangeService shipChangeService;
+
+    @Autowired
+    private ShipIdFilter shipIdFilter;
+
+    private final LogThrottle errorLogThrottle = new LogThrottle(Duration.ofSeconds(10));
+
     @Transactional(readOnly = true)
-    @Cacheable(value = "spaceships", key = "#pageable")
-    public Page<Ship> getAllShips(Pageable pageable) {
+    @Cacheable(value = "spaceships", key = "#view.simpleName + '-' + #pageable")
+    public <T extends Record> Page<T> getAllShips(Pageable pageable, Class<T> view) {
         return executeWithExceptionHandling(
                 () -> {
-                    Page<Ship> shipsPage = shipRepository.findAll(pageable);
-                    logIfEmpty(shipsPage, "No ships found in the database");
-                    return shipsPage;
+                    Page<T> page = shipRepository.findAllBy(pageable, view);
+                    logIfEmpty(page, "No ships found in the database");
+                    return page;
                 },
                 "Error occurred while retrieving all ships",
                 ShipRetrievalException::new
         );
     }
 
-    @Transactional(readOnly = true)
-    @Cacheable(value = "spaceships", key = "#name + '-' + #pageable")
-    public Page<Ship> findShipsByName(String name, Pageable pageable) {
-        if (!StringUtils.hasText(name)) {
-            throw new IllegalArgumentException("Name parameter cannot be empty");
-        }
+    // no transaction, so that the parallel name search does not hold a connection while its scans wait for theirs
+    @Transactional(readOnly = true, propagation = Propagation.SUPPORTS)
+    @Cacheable(value = "spaceships", key = "#view.simpleName + '-' + #name + '-' + #pageable")
+    public <T extends Record> Page<T> findShipsByName(String name, Pageable pageable, Class<T> view) {
+        validateNameParameter(name);
+        return executeWithExceptionHandling(
+                () -> {
+                    Page<T> page = shipRepository.findByNameContaining(name.trim(), pageable, view);
+                    logIfEmpty(page, "No ships found with name containing: '{}'", () -> name);
+                    return page;
+                },
+                "Error occurred while searching for ships",
+                ShipSearchException::new
+        );
+    }
 
+    @Transactional(readOnly = true)
+    @Cacheable(value = "spaceships", key = "#view.simpleName + '-criteria-' + #criteria.cacheKey() + '-' + #pageable")
+    public <T extends Record> Page<T> findShipsByCriteria(ShipCriteria criteria, Pageable pageable, Class<T> view) {
+        validateCriteria(criteria);
         return executeWithExceptionHandling(
                 () -> {
-                    Page<Ship> shipsPage = shipRepository.findByNameContaining(name.trim(), pageable);
-                    logIfEmpty(shipsPage, "No ships found with name containing: '" + name + "'");
-                    return shipsPage;
+                    Page<T> page = shipRepository.findByCriteria(criteria, pageable, view);
+                    logIfEmpty(page, "No ships found matching: {}", criteria::cacheKey);
+                    return page;
                 },
                 "Error occurred while searching for ships",
                 ShipSearchException::new
         );
     }
 
+    /**
+     * A missing ship is an expected answer rather than a failure, so it comes back as an empty result instead of an
+     * exception. Ids that were never created are answered by {@link ShipIdFilter} without a query; misses are not
+     * cached, so a ship created later is found right away.
+     */
     @Transactional(readOnly = true)
-    @Cacheable(value = "spaceship", key = "#id")
-    public Ship getShipById(Long id) {
+    @Cacheable(value = "spaceship", key = "#id", unless = "#result == null")
+    public Optional<ShipView> findShipById(Long id) {
         validateIdParameter(id);
+        if (!shipIdFilter.mightContain(id)) {
+            return Optional.empty();
+        }
         return executeWithExceptionHandling(
-                () -> shipRepository.findById(id).orElseThrow(() -> new ShipNotFoundException("Ship not found with id: " + id)),
+                () -> {
+                    Optional<ShipView> ship = shipRepository.findById(id, ShipView.class);
+                    if (ship.isEmpty()) {
+                        shipIdFilter.recordFalsePositive();
+                    }
+                    return ship;
+                },
                 "Error occurred while retrieving ship",
                 ShipRetrievalException::new
         );
@@ -79,7 +121,9 @@ public class ShipServiceImpl implements ShipService {
         return executeWithExceptionHandling(
                 () -> {
                     Ship savedShip = shipRepository.save(ship);
-                    log.info("Ship created successfully with ID: {}", savedShip.getId());
+                    shipChangeService.recordCreated(List.of(savedShip));
+                    shipIdFilter.addAfterCommit(List.of(savedShip.getId()));
+                    log.debug("Ship created successfully with ID: {}", savedShip.getId());
                     return savedShip;
                 },
                 "Unexpected error creating ship",
@@ -87,12 +131,35 @@ public class ShipServiceImpl implements ShipService {
         );
     }
 
+    @Transactional
+    @CacheEvict(value = {"spaceships", "spaceship"}, allEntries = true)
+    public List<Ship> createShips(List<@Valid Ship> ships) {
+        if (ships == null) {
+            throw new IllegalArgumentException("Ships cannot be null");
+        }
+        ships.forEach(this::validateNewShip);
+        return executeWithExceptionHandling(
+                () -> {
+                    List<Ship> savedShips = shipRepository.saveAll(ships);
+                    shipChangeService.recordCreated(savedShips);
+                    shipIdFilter.addAfterCommit(savedShips.stream().map(Ship::getId).toList());
+                    log.debug("Created {} ships in batch", savedShips.size());
+                    return savedShips;
+                },
+                "Unexpected error creating ships",
+                ShipCreationException::new
+        );
+    }
+
     @Transactional
     @CacheEvict(value = {"spaceships", "spaceship"}, allEntries = true)
     public void deleteShip(Long id) {
         validateIdParameter(id);
         executeWithExceptionHandling(
-                () -> shipRepository.deleteById(id),
+                () -> {
+                    shipRepository.deleteById(id);
+                    shipChangeService.recordDeleted(id);
+                },
                 "Error occurred while deleting ship",
                 (message, cause) -> {
                     if (cause instanceof EmptyResultDataAccessException) {
@@ -107,12 +174,17 @@ public class ShipServiceImpl implements ShipService {
 
     @Transactional
     @CacheEvict(value = {"spaceships", "spaceship"}, allEntries = true)
-    public void deleteAll() {
-        executeWithExceptionHandling(
+    public List<Long> deleteAll() {
+        return executeWithExceptionHandling(
                 () -> {
-                    long count = shipRepository.count();
+                    List<Long> ids;
+                    try (Stream<Long> stream = shipRepository.streamAllIds()) {
+                        ids = stream.toList();
+                    }
                     shipRepository.deleteAll();
-                    log.info("Successfully deleted {} ships", count);
+                    shipChangeService.recordCleared();
+                    log.info("Successfully deleted {} ships", ids.size());
+                    return ids;
                 },
                 "Error occurred while attempting to delete all ships",
                 ShipDeletionException::new
@@ -128,7 +200,8 @@ public class ShipServiceImpl implements ShipService {
                         .map(existingShip -> {
                             updateShipFields(existingShip, updatedShip);
                             Ship savedShip = shipRepository.save(existingShip);
-                            log.info("Successfully updated ship with id: {}", id);
+                            shipChangeService.recordUpdated(savedShip);
+                            log.debug("Successfully updated ship with id: {}", id);
                             return savedShip;
                         })
                         .orElseThrow(() -> new ShipNotFoundException("Ship not found with id: " + id)),
@@ -141,17 +214,24 @@ public class ShipServiceImpl implements ShipService {
         try {
             return action.get();
         } catch (DataAccessException e) {
-            log.error(errorMessage, e);
+            logFailure(errorMessage, e);
             throw exceptionSupplier.get(errorMessage, e);
         } catch (ShipNotFoundException | IllegalArgumentException e) {
-            log.error(errorMessage, e);
+            log.debug("{}: {}", errorMessage, e.getMessage());
             throw e;
         } catch (Exception e) {
-            log.error(errorMessage, e);
+            logFailure(errorMessage, e);
             throw exceptionSupplier.get("Unexpected " + errorMessage.toLowerCase(), e);
         }
     }
 
+    private void logFailure(String errorMessage, Exception e) {
+        long suppressed = errorLogThrottle.tryAcquire();
+        if (suppressed >= 0) {
+            log.error("{} ({} similar errors suppressed)", errorMessage, suppressed, e);
+        }
+    }
+
     private void executeWithExceptionHandling(Runnable action, String errorMessage, ExceptionSupplier exceptionSupplier) {
         executeWithExceptionHandling(() -> { action.run(); return null; }, errorMessage, exceptionSupplier);
     }
@@ -162,6 +242,21 @@ public class ShipServiceImpl implements ShipService {
         }
     }
 
+    private void validateNameParameter(String name) {
+        if (!StringUtils.hasText(name)) {
+            throw new IllegalArgumentException("Name parameter cannot be empty");
+        }
+    }
+
+    private void validateCriteria(ShipCriteria criteria) {
+        if (criteria == null) {
+            throw new IllegalArgumentException("Search criteria cannot be null");
+        }
+        if (criteria.minId() != null && criteria.maxId() != null && criteria.minId() > criteria.maxId()) {
+            throw new IllegalArgumentException("minId cannot be greater than maxId");
+        }
+    }
+
     private void validateNewShip(Ship ship) {
         if (ship == null) {
             throw new IllegalArgumentException("Ship cannot be null");
@@ -178,7 +273,14 @@ public class ShipServiceImpl implements ShipService {
 
     private void logIfEmpty(Page<?> page, String message) {
         if (page.isEmpty()) {
-            log.info(message);
+            log.debug(message);
+        }
+    }
+
+    // The argument is only computed when debug logging is enabled
+    private void logIfEmpty(Page<?> page, String format, Supplier<?> argument) {
+        if (page.isEmpty()) {
+            log.atDebug().addArgument(argument).log(format);
         }
     }
 
@@ -0,0 +1,16 @@
+package com.example.spaceship.application.service;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@ConfigurationProperties(prefix = "ship.write-behind")
+public record ShipWriteBehindProperties(
+        boolean enabled,
+        int queueCapacity,
+        int maxBatchSize,
+        int maxTrackedWrites,
+        Duration retryAfter,
+        Duration shutdownTimeout
+) {
+}
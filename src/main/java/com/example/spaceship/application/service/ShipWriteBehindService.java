@@ -0,0 +1,10 @@
+package com.example.spaceship.application.service;
+
+import com.example.spaceship.domain.entities.Ship;
+import jakarta.validation.Valid;
+
+public interface ShipWriteBehindService {
+    ShipWriteStatus submitCreate(@Valid Ship ship);
+    ShipWriteStatus submitUpdate(Long id, @Valid Ship updatedShip);
+    ShipWriteStatus getWrite(String writeId);
+}
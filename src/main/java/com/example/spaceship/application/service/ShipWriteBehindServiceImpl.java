@@ -0,0 +1,287 @@
+package com.example.spaceship.application.service;
+
+import com.example.spaceship.application.exceptions.ShipNotFoundException;
+import com.example.spaceship.application.exceptions.ShipWriteNotFoundException;
+import com.example.spaceship.application.exceptions.ShipWriteRejectedException;
+import com.example.spaceship.domain.entities.Ship;
+import com.example.spaceship.infrastructure.kakfa.KafkaProducer;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jakarta.validation.Valid;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.validation.annotation.Validated;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.function.UnaryOperator;
+
+/**
+ * Accepts ship writes without waiting for the database. Requests are validated and put on a bounded queue;
+ * a single writer thread drains whatever has accumulated, up to {@code max-batch-size}, and applies it in one
+ * transaction, so concurrent writers share one commit instead of paying for one each.
+ * <p>
+ * A full queue rejects new writes instead of blocking request threads. If a batch fails, its writes are
+ * retried one transaction each so that a single bad write only fails itself. Writes are held in memory until
+ * they are applied: the queue is drained on shutdown, but writes still queued when the process dies are lost.
+ */
+@Service
+@Validated
+@Slf4j
+@ConditionalOnProperty(prefix = "ship.write-behind", name = "enabled", havingValue = "true")
+public class ShipWriteBehindServiceImpl implements ShipWriteBehindService {
+
+    @Autowired
+    private ShipService shipService;
+
+    @Autowired
+    private KafkaProducer kafkaProducer;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private ShipWriteBehindProperties properties;
+
+    private final Map<String, ShipWriteStatus> writes = new ConcurrentHashMap<>();
+
+    private final ConcurrentLinkedQueue<String> writeOrder = new ConcurrentLinkedQueue<>();
+
+    private BlockingQueue<PendingWrite> queue;
+
+    private TransactionTemplate transactionTemplate;
+
+    private Thread writer;
+
+    private volatile boolean running;
+
+    private Counter rejectedCounter;
+
+    private DistributionSummary batchSizes;
+
+    @PostConstruct
+    void init() {
+        queue = new ArrayBlockingQueue<>(properties.queueCapacity());
+        transactionTemplate = new TransactionTemplate(transactionManager);
+        rejectedCounter = Counter.builder("spaceship.write-behind.rejected").register(meterRegistry);
+        batchSizes = DistributionSummary.builder("spaceship.write-behind.batch.size").register(meterRegistry);
+        Gauge.builder("spaceship.write-behind.queue.size", queue, BlockingQueue::size).register(meterRegistry);
+        running = true;
+        writer = Thread.ofPlatform().name("ship-write-behind").start(this::drain);
+    }
+
+    @PreDestroy
+    void shutdown() throws InterruptedException {
+        running = false;
+        writer.join(properties.shutdownTimeout().toMillis());
+        if (!queue.isEmpty()) {
+            log.warn("Write-behind queue still holds {} writes after shutdown timeout", queue.size());
+            meterRegistry.counter("spaceship.shutdown.dropped", "work", "write-behind").increment(queue.size());
+        }
+    }
+
+    @Override
+    public ShipWriteStatus submitCreate(@Valid Ship ship) {
+        if (ship == null) {
+            throw new IllegalArgumentException("Ship cannot be null");
+        }
+        if (ship.getId() != null) {
+            throw new IllegalArgumentException("The ID cannot be specified, it will be generated automatically");
+        }
+        return enqueue(ShipWriteStatus.Operation.CREATE, null, ship);
+    }
+
+    @Override
+    public ShipWriteStatus submitUpdate(Long id, @Valid Ship updatedShip) {
+        if (updatedShip == null) {
+            throw new IllegalArgumentException("Ship cannot be null");
+        }
+        // fails fast for unknown ships, served from the cache for hot ones
+        if (shipService.findShipById(id).isEmpty()) {
+            throw new ShipNotFoundException("Ship not found with id: " + id);
+        }
+        return enqueue(ShipWriteStatus.Operation.UPDATE, id, updatedShip);
+    }
+
+    @Override
+    public ShipWriteStatus getWrite(String writeId) {
+        ShipWriteStatus status = writes.get(writeId);
+        if (status == null) {
+            throw new ShipWriteNotFoundException("Write not found with id: " + writeId);
+        }
+        return status;
+    }
+
+    private ShipWriteStatus enqueue(ShipWriteStatus.Operation operation, Long shipId, Ship ship) {
+        if (!running) {
+            throw new ShipWriteRejectedException("Write queue is shutting down", properties.retryAfter());
+        }
+        if (queue.remainingCapacity() == 0) {
+            throw reject();
+        }
+        ShipWriteStatus status = ShipWriteStatus.pending(UUID.randomUUID().toString(), operation, shipId);
+        track(status);
+        if (!queue.offer(new PendingWrite(status.id(), operation, shipId, ship))) {
+            forget(status.id());
+            throw reject();
+        }
+        return status;
+    }
+
+    private ShipWriteRejectedException reject() {
+        rejectedCounter.increment();
+        return new ShipWriteRejectedException("Write queue is full", properties.retryAfter());
+    }
+
+    private void drain() {
+        List<PendingWrite> batch = new ArrayList<>(properties.maxBatchSize());
+        while (running || !queue.isEmpty()) {
+            try {
+                PendingWrite first = queue.poll(100, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                queue.drainTo(batch, properties.maxBatchSize() - 1);
+                apply(batch);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (RuntimeException e) {
+                log.error("Write-behind batch of {} writes could not be applied", batch.size(), e);
+                batch.forEach(write -> complete(write.id(), status -> status.failed(e.getMessage())));
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+
+    void apply(List<PendingWrite> batch) {
+        batchSizes.record(batch.size());
+        List<Ship> results;
+        try {
+            results = transactionTemplate.execute(tx -> applyInOrder(batch));
+        } catch (RuntimeException e) {
+            log.warn("Write-behind batch of {} writes failed, retrying them one by one", batch.size(), e);
+            batch.forEach(this::applySingle);
+            return;
+        }
+        evictCaches();
+        publish(results);
+        for (int i = 0; i < batch.size(); i++) {
+            Long shipId = results.get(i).getId();
+            complete(batch.get(i).id(), status -> status.applied(shipId));
+        }
+    }
+
+    private void applySingle(PendingWrite write) {
+        try {
+            List<Ship> result = transactionTemplate.execute(tx -> applyInOrder(List.of(write)));
+            evictCaches();
+            publish(result);
+            complete(write.id(), status -> status.applied(result.get(0).getId()));
+        } catch (RuntimeException e) {
+            log.error("Write-behind {} of ship {} failed", write.operation(), write.shipId(), e);
+            complete(write.id(), status -> status.failed(e.getMessage()));
+        }
+    }
+
+    /**
+     * Applies the writes in arrival order, saving runs of consecutive creates with one batched insert.
+     */
+    private List<Ship> applyInOrder(List<PendingWrite> writes) {
+        List<Ship> results = new ArrayList<>(writes.size());
+        List<Ship> creates = new ArrayList<>();
+        for (PendingWrite write : writes) {
+            if (write.operation() == ShipWriteStatus.Operation.CREATE) {
+                creates.add(newShip(write.ship()));
+                continue;
+            }
+            flushCreates(creates, results);
+            results.add(shipService.updateShip(write.shipId(), write.ship()));
+        }
+        flushCreates(creates, results);
+        return results;
+    }
+
+    /**
+     * Saving assigns an id to the entity it is given and a rolled-back batch does not clear it, so each attempt
+     * inserts its own copy and a retry sends the payload as it was submitted.
+     */
+    private static Ship newShip(Ship submitted) {
+        Ship ship = new Ship();
+        ship.setName(submitted.getName());
+        ship.setType(submitted.getType());
+        return ship;
+    }
+
+    private void flushCreates(List<Ship> creates, List<Ship> results) {
+        if (!creates.isEmpty()) {
+            results.addAll(shipService.createShips(List.copyOf(creates)));
+            creates.clear();
+        }
+    }
+
+    private void publish(List<Ship> ships) {
+        if (!ships.isEmpty()) {
+            kafkaProducer.sendMessages(ships);
+        }
+    }
+
+    /**
+     * The service evicts inside the transaction, so a concurrent read could cache pre-commit data; clearing
+     * again after the commit closes that window.
+     */
+    private void evictCaches() {
+        Optional.ofNullable(cacheManager.getCache("spaceships")).ifPresent(Cache::clear);
+        Optional.ofNullable(cacheManager.getCache("spaceship")).ifPresent(Cache::clear);
+    }
+
+    private void track(ShipWriteStatus status) {
+        writes.put(status.id(), status);
+        writeOrder.add(status.id());
+        while (writes.size() > properties.maxTrackedWrites()) {
+            String oldest = writeOrder.poll();
+            if (oldest == null) {
+                return;
+            }
+            writes.remove(oldest);
+        }
+    }
+
+    private void forget(String writeId) {
+        writes.remove(writeId);
+        writeOrder.remove(writeId);
+    }
+
+    private void complete(String writeId, UnaryOperator<ShipWriteStatus> transition) {
+        writes.computeIfPresent(writeId, (id, status) -> transition.apply(status));
+    }
+
+    record PendingWrite(String id, ShipWriteStatus.Operation operation, Long shipId, Ship ship) {
+    }
+}
@@ -0,0 +1,30 @@
+package com.example.spaceship.application.service;
+
+import java.time.Instant;
+
+public record ShipWriteStatus(
+        String id,
+        Operation operation,
+        State state,
+        Long shipId,
+        String error,
+        Instant acceptedAt,
+        Instant completedAt
+) {
+
+    public enum Operation { CREATE, UPDATE }
+
+    public enum State { PENDING, APPLIED, FAILED }
+
+    static ShipWriteStatus pending(String id, Operation operation, Long shipId) {
+        return new ShipWriteStatus(id, operation, State.PENDING, shipId, null, Instant.now(), null);
+    }
+
+    ShipWriteStatus applied(Long appliedShipId) {
+        return new ShipWriteStatus(id, operation, State.APPLIED, appliedShipId, null, acceptedAt, Instant.now());
+    }
+
+    ShipWriteStatus failed(String message) {
+        return new ShipWriteStatus(id, operation, State.FAILED, shipId, message, acceptedAt, Instant.now());
+    }
+}
@@ -0,0 +1,44 @@
+package com.example.spaceship.application.shutdown;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Counts the requests being processed so shutdown can wait for them. Once draining, responses carry
+ * {@code Connection: close}, so keep-alive clients reconnect to another instance instead of reusing this one.
+ */
+public class DrainingFilter extends OncePerRequestFilter {
+
+    private final AtomicInteger inFlight = new AtomicInteger();
+
+    private volatile boolean draining;
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        inFlight.incrementAndGet();
+        try {
+            if (draining) {
+                response.setHeader(HttpHeaders.CONNECTION, "close");
+            }
+            filterChain.doFilter(request, response);
+        } finally {
+            inFlight.decrementAndGet();
+        }
+    }
+
+    public void startDraining() {
+        draining = true;
+    }
+
+    public int getInFlight() {
+        return inFlight.get();
+    }
+}
@@ -0,0 +1,181 @@
+package com.example.spaceship.application.shutdown;
+
+import com.example.spaceship.infrastructure.kakfa.KafkaProducer;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.availability.AvailabilityChangeEvent;
+import org.springframework.boot.availability.ReadinessState;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.kafka.config.KafkaListenerEndpointRegistry;
+import org.springframework.kafka.listener.MessageListenerContainer;
+
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.function.IntSupplier;
+
+/**
+ * Stops the instance in the order that loses the least work. This lifecycle stops before all others and
+ * <ol>
+ *     <li>marks readiness as REFUSING_TRAFFIC, which the web server context also does when it starts closing,</li>
+ *     <li>waits {@code readiness-delay} so load balancers see the failing probe and stop routing here,</li>
+ *     <li>waits up to {@code drain-timeout} for the requests in flight to complete,</li>
+ *     <li>flushes the Kafka producer and waits up to {@code kafka-timeout} for the acknowledgements,</li>
+ *     <li>stops the listener containers once they finish the records they are processing.</li>
+ * </ol>
+ * Each step is timed in {@code spaceship.shutdown.drain} tagged by phase, and work still pending at a deadline is
+ * counted in {@code spaceship.shutdown.dropped} tagged by kind. The web server's own graceful shutdown runs later
+ * and only has to close idle connections.
+ * <p>
+ * The steps run on their own thread, and the context waits for them at most
+ * {@code spring.lifecycle.timeout-per-shutdown-phase} before it moves on and closes the producer and the
+ * connections. Their deadlines must therefore add up to less than that timeout; the constructor rejects a
+ * configuration where they do not.
+ */
+@Slf4j
+public class GracefulShutdownCoordinator implements SmartLifecycle {
+
+    static final String DRAIN_METRIC = "spaceship.shutdown.drain";
+
+    static final String DROPPED_METRIC = "spaceship.shutdown.dropped";
+
+    private static final long POLL_INTERVAL_MILLIS = 50;
+
+    private final ShutdownProperties properties;
+
+    private final DrainingFilter drainingFilter;
+
+    private final KafkaProducer kafkaProducer;
+
+    private final KafkaListenerEndpointRegistry listenerRegistry;
+
+    private final MeterRegistry meterRegistry;
+
+    private final ApplicationEventPublisher eventPublisher;
+
+    private volatile boolean running;
+
+    public GracefulShutdownCoordinator(ShutdownProperties properties, DrainingFilter drainingFilter,
+                                       KafkaProducer kafkaProducer, KafkaListenerEndpointRegistry listenerRegistry,
+                                       MeterRegistry meterRegistry, ApplicationEventPublisher eventPublisher,
+                                       Duration phaseTimeout) {
+        Duration budget = properties.readinessDelay().plus(properties.drainTimeout())
+                .plus(properties.kafkaTimeout().multipliedBy(2));
+        if (budget.compareTo(phaseTimeout) >= 0) {
+            throw new IllegalStateException("ship.shutdown deadlines add up to " + budget
+                    + ", which does not fit in spring.lifecycle.timeout-per-shutdown-phase of " + phaseTimeout);
+        }
+        this.properties = properties;
+        this.drainingFilter = drainingFilter;
+        this.kafkaProducer = kafkaProducer;
+        this.listenerRegistry = listenerRegistry;
+        this.meterRegistry = meterRegistry;
+        this.eventPublisher = eventPublisher;
+    }
+
+    @Override
+    public void start() {
+        running = true;
+    }
+
+    @Override
+    public void stop(Runnable callback) {
+        Thread.ofPlatform().name("ship-shutdown-drain").start(() -> {
+            try {
+                stop();
+            } finally {
+                callback.run();
+            }
+        });
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+        long start = System.nanoTime();
+        AvailabilityChangeEvent.publish(eventPublisher, this, ReadinessState.REFUSING_TRAFFIC);
+        drainingFilter.startDraining();
+        sleep(properties.readinessDelay());
+
+        int requests = drain("http", drainingFilter::getInFlight, properties.drainTimeout());
+        record("http-request", requests);
+
+        int records = 0;
+        if (kafkaProducer != null) {
+            Thread.ofVirtual().name("ship-shutdown-flush").start(kafkaProducer::flush);
+            records = drain("producer", kafkaProducer::inFlight, properties.kafkaTimeout());
+            record("kafka-record", records);
+        }
+
+        int containers = 0;
+        if (listenerRegistry != null) {
+            containers = stopListeners();
+            record("kafka-consumer", containers);
+        }
+
+        log.info("Drained in {} ms: {} requests, {} Kafka records and {} listener containers left unfinished",
+                TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start), requests, records, containers);
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    /**
+     * Stops before every other lifecycle, including the listener containers and the web server.
+     */
+    @Override
+    public int getPhase() {
+        return Integer.MAX_VALUE;
+    }
+
+    private int stopListeners() {
+        long start = System.nanoTime();
+        CountDownLatch stopped = new CountDownLatch(1);
+        listenerRegistry.stop(stopped::countDown);
+        boolean completed;
+        try {
+            completed = stopped.await(properties.kafkaTimeout().toMillis(), TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            completed = false;
+        }
+        Timer.builder(DRAIN_METRIC).tag("phase", "consumer").register(meterRegistry)
+                .record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        if (completed) {
+            return 0;
+        }
+        return (int) listenerRegistry.getAllListenerContainers().stream().filter(MessageListenerContainer::isRunning).count();
+    }
+
+    private int drain(String phase, IntSupplier pending, Duration timeout) {
+        long start = System.nanoTime();
+        long deadline = start + timeout.toNanos();
+        int remaining = pending.getAsInt();
+        while (remaining > 0 && System.nanoTime() < deadline && !Thread.currentThread().isInterrupted()) {
+            sleep(Duration.ofMillis(POLL_INTERVAL_MILLIS));
+            remaining = pending.getAsInt();
+        }
+        Timer.builder(DRAIN_METRIC).tag("phase", phase).register(meterRegistry)
+                .record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        return remaining;
+    }
+
+    private void record(String work, int dropped) {
+        meterRegistry.counter(DROPPED_METRIC, "work", work).increment(dropped);
+        if (dropped > 0) {
+            log.warn("Shutdown deadline passed with {} {} unfinished", dropped, work);
+        }
+    }
+
+    private static void sleep(Duration duration) {
+        try {
+            Thread.sleep(duration);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,14 @@
+package com.example.spaceship.application.shutdown;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@ConfigurationProperties(prefix = "ship.shutdown")
+public record ShutdownProperties(
+        boolean enabled,
+        Duration readinessDelay,
+        Duration drainTimeout,
+        Duration kafkaTimeout
+) {
+}
@@ -0,0 +1,73 @@
+package com.example.spaceship.application.util;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Count-Min Sketch over {@code long} keys: a fixed grid of counters that estimates how often each key was added.
+ * An estimate never undercounts; it overcounts by at most about {@code e / width} of all additions, with a
+ * probability that shrinks exponentially in {@code depth}. Counters can be halved so that old traffic fades out.
+ * Safe for concurrent use.
+ */
+public class CountMinSketch {
+
+    private final AtomicLongArray counters;
+
+    private final int width;
+
+    private final int depth;
+
+    public CountMinSketch(int width, int depth) {
+        if (width <= 0 || depth <= 0) {
+            throw new IllegalArgumentException("width and depth must be positive");
+        }
+        this.width = width;
+        this.depth = depth;
+        this.counters = new AtomicLongArray(Math.multiplyExact(width, depth));
+    }
+
+    /**
+     * Counts one occurrence of the key and returns its new estimate.
+     */
+    public long add(long key) {
+        long hash = mix(key);
+        long h1 = hash;
+        long h2 = (hash >>> 32) | 1;
+        long estimate = Long.MAX_VALUE;
+        for (int row = 0; row < depth; row++) {
+            estimate = Math.min(estimate, counters.incrementAndGet(index(row, h1 + row * h2)));
+        }
+        return estimate;
+    }
+
+    public long estimate(long key) {
+        long hash = mix(key);
+        long h1 = hash;
+        long h2 = (hash >>> 32) | 1;
+        long estimate = Long.MAX_VALUE;
+        for (int row = 0; row < depth; row++) {
+            estimate = Math.min(estimate, counters.get(index(row, h1 + row * h2)));
+        }
+        return estimate;
+    }
+
+    /**
+     * Halves every counter. Each counter is halved atomically, but not all of them at the same instant.
+     */
+    public void halve() {
+        for (int i = 0; i < counters.length(); i++) {
+            counters.getAndUpdate(i, count -> count >>> 1);
+        }
+    }
+
+    private int index(int row, long hash) {
+        return row * width + (int) Long.remainderUnsigned(hash, width);
+    }
+
+    // SplitMix64 finalizer, so that keys with similar hash codes spread over the rows
+    private static long mix(long key) {
+        long z = key + 0x9E3779B97F4A7C15L;
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+}
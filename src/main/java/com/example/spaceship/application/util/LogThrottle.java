@@ -0,0 +1,35 @@
+package com.example.spaceship.application.util;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Lets one log statement through per interval and counts the ones it holds back, so a failing dependency produces
+ * one stack trace every few seconds instead of one per request.
+ */
+public class LogThrottle {
+
+    private final long intervalNanos;
+
+    private final AtomicLong nextPermitNanos = new AtomicLong(System.nanoTime());
+
+    private final AtomicLong suppressed = new AtomicLong();
+
+    public LogThrottle(Duration interval) {
+        this.intervalNanos = interval.toNanos();
+    }
+
+    /**
+     * Returns the number of statements suppressed since the last permit when this one may be logged, or {@code -1}
+     * when it should be dropped.
+     */
+    public long tryAcquire() {
+        long now = System.nanoTime();
+        long next = nextPermitNanos.get();
+        if (now - next >= 0 && nextPermitNanos.compareAndSet(next, now + intervalNanos)) {
+            return suppressed.getAndSet(0);
+        }
+        suppressed.incrementAndGet();
+        return -1;
+    }
+}
@@ -16,4 +16,13 @@ public class ServletUriBuilder implements UriBuilder {
                 .buildAndExpand(uriVariableValues)
                 .toUri();
     }
+
+    @Override
+    public URI buildContextUri(String path, Object... uriVariableValues) {
+        return ServletUriComponentsBuilder
+                .fromCurrentContextPath()
+                .path(path)
+                .buildAndExpand(uriVariableValues)
+                .toUri();
+    }
 }
\ No newline at end of file
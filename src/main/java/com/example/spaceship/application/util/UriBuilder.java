@@ -4,4 +4,5 @@ import java.net.URI;
 
 public interface UriBuilder {
     URI buildUri(String path, Object... uriVariableValues);
+    URI buildContextUri(String path, Object... uriVariableValues);
 }
\ No newline at end of file
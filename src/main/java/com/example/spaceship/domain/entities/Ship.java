@@ -1,16 +1,22 @@
 package com.example.spaceship.domain.entities;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.Id;
+import jakarta.persistence.Table;
 import jakarta.persistence.GenerationType;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.Size;
 import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.ToString;
 
 
 @Entity
+@Table(name = "ship")
 @Data
 @JsonIgnoreProperties({"hibernateLazyInitializer", "handler"})
 public class Ship {
@@ -24,4 +30,13 @@ public class Ship {
 
     @NotBlank(message = "Type is mandatory")
     private String type;
+
+    /**
+     * Lowercase copy of the name maintained by the database, used for index-backed case-insensitive prefix search.
+     */
+    @JsonIgnore
+    @EqualsAndHashCode.Exclude
+    @ToString.Exclude
+    @Column(name = "name_lower", insertable = false, updatable = false)
+    private String nameLower;
 }
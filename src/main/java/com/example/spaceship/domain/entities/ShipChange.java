@@ -0,0 +1,61 @@
+package com.example.spaceship.domain.entities;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.SequenceGenerator;
+import jakarta.persistence.Table;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+
+@Entity
+@Table(name = "ship_change")
+@Data
+@NoArgsConstructor
+public class ShipChange {
+
+    public enum ChangeType { CREATED, UPDATED, DELETED, CLEARED }
+
+    @Id
+    @JsonIgnore
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "ship_change_seq")
+    @SequenceGenerator(name = "ship_change_seq", sequenceName = "ship_change_seq", allocationSize = 50)
+    private Long id;
+
+    /**
+     * Position in the change feed, assigned once the recording transaction has committed.
+     */
+    private Long sequence;
+
+    /**
+     * Ticket drawn just before the recording transaction commits, which orders the changes still waiting for a
+     * sequence.
+     */
+    @JsonIgnore
+    private Long commitOrder;
+
+    private Long shipId;
+
+    @Enumerated(EnumType.STRING)
+    private ChangeType changeType;
+
+    private String name;
+
+    private String type;
+
+    private Instant changedAt;
+
+    public ShipChange(ChangeType changeType, Long shipId, String name, String type) {
+        this.changeType = changeType;
+        this.shipId = shipId;
+        this.name = name;
+        this.type = type;
+        this.changedAt = Instant.now();
+    }
+}
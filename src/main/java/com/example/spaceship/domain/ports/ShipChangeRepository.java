@@ -0,0 +1,21 @@
+package com.example.spaceship.domain.ports;
+
+import com.example.spaceship.domain.entities.ShipChange;
+import org.springframework.data.domain.Limit;
+
+import java.util.Collection;
+import java.util.List;
+
+public interface ShipChangeRepository {
+    ShipChange save(ShipChange change);
+    <S extends ShipChange> List<S> saveAll(Iterable<S> changes);
+    List<ShipChange> findBySequenceGreaterThanOrderBySequenceAsc(long sequence, Limit limit);
+    List<ShipChange> findBySequenceIsNullOrderByCommitOrderAscIdAsc(Limit limit);
+    long nextCommitOrder();
+    int updateCommitOrder(Collection<Long> ids, long commitOrder);
+    void flush();
+    long lockLastSequence();
+    int updateLastSequence(long sequence);
+    int deleteSupersededChanges();
+    int deleteChangesBeforeLastClear();
+}
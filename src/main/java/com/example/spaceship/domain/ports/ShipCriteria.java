@@ -0,0 +1,55 @@
+package com.example.spaceship.domain.ports;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Locale;
+import java.util.Objects;
+import java.util.TreeSet;
+
+/**
+ * Filter for ship searches. All conditions are optional and combined with AND; name matching is case-insensitive.
+ * Use {@link #of} to obtain a normalized instance, so that equivalent requests produce the same {@link #cacheKey()}.
+ */
+public record ShipCriteria(String name, NameMatch nameMatch, List<String> types, Long minId, Long maxId) {
+
+    public enum NameMatch {
+        PREFIX, CONTAINS;
+
+        public static NameMatch from(String value) {
+            for (NameMatch match : values()) {
+                if (match.name().equalsIgnoreCase(value)) {
+                    return match;
+                }
+            }
+            throw new IllegalArgumentException("Unknown name match '" + value + "', expected prefix or contains");
+        }
+    }
+
+    public ShipCriteria {
+        types = types == null ? List.of() : List.copyOf(types);
+    }
+
+    public static ShipCriteria of(String name, NameMatch nameMatch, Collection<String> types, Long minId, Long maxId) {
+        String normalizedName = name == null || name.isBlank() ? null : name.trim().toLowerCase(Locale.ROOT);
+        TreeSet<String> normalizedTypes = new TreeSet<>();
+        if (types != null) {
+            types.stream()
+                    .filter(Objects::nonNull)
+                    .map(String::trim)
+                    .filter(type -> !type.isEmpty())
+                    .forEach(normalizedTypes::add);
+        }
+        return new ShipCriteria(normalizedName, normalizedName == null ? null : Objects.requireNonNullElse(nameMatch, NameMatch.PREFIX),
+                List.copyOf(normalizedTypes), minId, maxId);
+    }
+
+    public boolean hasName() {
+        return name != null;
+    }
+
+    public String cacheKey() {
+        return "name=" + (hasName() ? nameMatch + ":" + name : "")
+                + ";types=" + String.join(",", types)
+                + ";id=" + (minId == null ? "" : minId) + ".." + (maxId == null ? "" : maxId);
+    }
+}
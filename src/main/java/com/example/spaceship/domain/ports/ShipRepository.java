@@ -4,15 +4,21 @@ import com.example.spaceship.domain.entities.Ship;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 
+import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 
 public interface ShipRepository {
-    Page<Ship> findAll(Pageable pageable);
-    Page<Ship> findByNameContaining(String name, Pageable pageable);
+    <T extends Record> Page<T> findAllBy(Pageable pageable, Class<T> view);
+    <T extends Record> Page<T> findByNameContaining(String name, Pageable pageable, Class<T> view);
+    <T extends Record> Page<T> findByCriteria(ShipCriteria criteria, Pageable pageable, Class<T> view);
     Optional<Ship> findById(Long id);
+    <T extends Record> Optional<T> findById(Long id, Class<T> view);
     Ship save(Ship nave);
+    <S extends Ship> List<S> saveAll(Iterable<S> ships);
     void deleteById(Long id);
     void deleteAll();
     long count();
+    Stream<Long> streamAllIds();
 }
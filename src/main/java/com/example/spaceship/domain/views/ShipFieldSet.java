@@ -0,0 +1,44 @@
+package com.example.spaceship.domain.views;
+
+import java.util.Locale;
+
+/**
+ * Field subsets that can be requested through {@code fields=}. The id is always part of the response; every subset
+ * maps to a record view that is read with a column-only query instead of loading entities.
+ */
+public enum ShipFieldSet {
+    ID(ShipIdView.class),
+    NAME(ShipNameView.class),
+    TYPE(ShipTypeView.class),
+    ALL(ShipView.class);
+
+    private final Class<? extends Record> view;
+
+    ShipFieldSet(Class<? extends Record> view) {
+        this.view = view;
+    }
+
+    public Class<? extends Record> view() {
+        return view;
+    }
+
+    public static ShipFieldSet parse(String fields) {
+        if (fields == null || fields.isBlank()) {
+            return ALL;
+        }
+        boolean name = false;
+        boolean type = false;
+        for (String field : fields.split(",")) {
+            switch (field.trim().toLowerCase(Locale.ROOT)) {
+                case "id", "" -> { }
+                case "name" -> name = true;
+                case "type" -> type = true;
+                default -> throw new IllegalArgumentException("Unknown field '" + field.trim() + "', expected id, name or type");
+            }
+        }
+        if (name && type) {
+            return ALL;
+        }
+        return name ? NAME : type ? TYPE : ID;
+    }
+}
@@ -0,0 +1,4 @@
+package com.example.spaceship.domain.views;
+
+public record ShipIdView(Long id) {
+}
@@ -0,0 +1,4 @@
+package com.example.spaceship.domain.views;
+
+public record ShipTypeView(Long id, String type) {
+}
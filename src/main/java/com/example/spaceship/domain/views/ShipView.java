@@ -0,0 +1,8 @@
+package com.example.spaceship.domain.views;
+
+/**
+ * Immutable read model of a ship. Queries construct it directly from the selected columns, so instances are never
+ * attached to a persistence context and can be cached and shared between threads.
+ */
+public record ShipView(Long id, String name, String type) {
+}
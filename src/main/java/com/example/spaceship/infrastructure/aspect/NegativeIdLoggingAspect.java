@@ -12,7 +12,7 @@ import org.springframework.stereotype.Component;
 @Slf4j
 public class NegativeIdLoggingAspect {
 
-    @Around("execution(* com.example.spaceship.application.service.ShipService.getShipById(..)) && args(id)")
+    @Around("execution(* com.example.spaceship.application.service.ShipService.findShipById(..)) && args(id)")
     public Object logNegativeId(ProceedingJoinPoint joinPoint, Long id) throws Throwable {
         if (id != null && id < 0) {
             log.warn("A ship with negative ID has been requested: {}", id);
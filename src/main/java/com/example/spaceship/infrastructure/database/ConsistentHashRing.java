@@ -0,0 +1,56 @@
+package com.example.spaceship.infrastructure.database;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Collection;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+
+/**
+ * Assigns ship ids to shards. Every shard places {@code virtualNodes} points on a 64-bit ring and owns the ids that
+ * hash to or before each of its points, so adding or removing one of N shards only moves about 1/N of the ids.
+ */
+final class ConsistentHashRing {
+
+    private final NavigableMap<Long, String> points = new TreeMap<>();
+
+    ConsistentHashRing(Collection<String> shards, int virtualNodes) {
+        if (shards.isEmpty()) {
+            throw new IllegalArgumentException("At least one shard is required");
+        }
+        if (virtualNodes <= 0) {
+            throw new IllegalArgumentException("virtualNodes must be positive");
+        }
+        for (String shard : shards) {
+            for (int i = 0; i < virtualNodes; i++) {
+                points.put(point(shard + "#" + i), shard);
+            }
+        }
+    }
+
+    String shardFor(long id) {
+        Map.Entry<Long, String> owner = points.ceilingEntry(mix(id));
+        return (owner != null ? owner : points.firstEntry()).getValue();
+    }
+
+    // Points depend only on the shard name, so every instance and every restart builds the same ring
+    private static long point(String label) {
+        try {
+            byte[] digest = MessageDigest.getInstance("MD5").digest(label.getBytes(StandardCharsets.UTF_8));
+            return ByteBuffer.wrap(digest).getLong();
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("MD5 is not available", e);
+        }
+    }
+
+    // SplitMix64 finalizer: consecutive ids must spread over the whole ring
+    private static long mix(long id) {
+        long z = id + 0x9E3779B97F4A7C15L;
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+}
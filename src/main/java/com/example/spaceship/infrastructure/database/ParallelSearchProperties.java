@@ -0,0 +1,11 @@
+package com.example.spaceship.infrastructure.database;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@ConfigurationProperties(prefix = "ship.parallel-search")
+public record ParallelSearchProperties(
+        boolean enabled,
+        int parallelism,
+        long minRangeSize
+) {
+}
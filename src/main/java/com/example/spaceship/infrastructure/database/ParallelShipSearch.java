@@ -0,0 +1,278 @@
+package com.example.spaceship.infrastructure.database;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.support.PageableExecutionUtils;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Runs substring searches, which cannot use an index, as several scans over disjoint id ranges on a bounded pool.
+ * Each range returns its first {@code offset + size} matches in the requested order and the ranges are merged into
+ * the page. When the sort starts with the id, the ranges are already in page order, so once the leading ranges hold
+ * enough rows the remaining scans are cancelled. The total is counted per range afterwards, and only when the page
+ * does not already determine it.
+ * <p>
+ * Tables whose id span is below {@code ship.parallel-search.min-range-size} are searched with one query on the
+ * calling thread. So are searches inside a transaction: the caller already holds a connection from the same pool,
+ * and requests that each wait for more connections while holding one can exhaust it.
+ */
+@Component
+@Slf4j
+public class ParallelShipSearch {
+
+    // More ranges than threads, so that a range that happens to hold many matches does not hold up the others
+    private static final int RANGES_PER_THREAD = 4;
+
+    private static final String SELECT = "SELECT " + ShipRow.COLUMNS + " FROM ship ";
+
+    private static final String IN_RANGE = "id BETWEEN ? AND ?";
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private ParallelSearchProperties properties;
+
+    private JdbcTemplate jdbcTemplate;
+
+    private ExecutorService executor;
+
+    @PostConstruct
+    void init() {
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        executor = Executors.newFixedThreadPool(Math.max(1, properties.parallelism()),
+                Thread.ofPlatform().name("ship-search-", 0).daemon().factory());
+    }
+
+    @PreDestroy
+    void shutdown() {
+        executor.shutdownNow();
+    }
+
+    public Page<ShipRow> findByNameContaining(String name, Pageable pageable) {
+        ShipWhere where = ShipWhere.nameContaining(name);
+        List<IdRange> ranges = TransactionSynchronizationManager.isActualTransactionActive() ? List.of() : split();
+        if (ranges.size() <= 1) {
+            String page = SELECT + where.sql() + ShipRow.orderBy(pageable.getSort())
+                    + (pageable.isPaged() ? " LIMIT " + pageable.getPageSize() + " OFFSET " + pageable.getOffset() : "");
+            return PageableExecutionUtils.getPage(jdbcTemplate.query(page, ShipRow.MAPPER, where.args().toArray()),
+                    pageable, () -> count(where));
+        }
+        List<ShipRow> content = SortedMerge.merge(scan(where, ranges, pageable), ShipRow.comparator(pageable.getSort()),
+                pageable.isPaged() ? pageable.getOffset() : 0,
+                pageable.isPaged() ? pageable.getPageSize() : Integer.MAX_VALUE);
+        return PageableExecutionUtils.getPage(content, pageable, () -> count(where, ranges));
+    }
+
+    /**
+     * Returns the sorted rows of every range the page needs, in range order.
+     */
+    private List<List<ShipRow>> scan(ShipWhere where, List<IdRange> ranges, Pageable pageable) {
+        String sql = rangeScanSql(where, pageable);
+        boolean inRangeOrder = leadsWithId(pageable.getSort());
+        List<IdRange> ordered = inRangeOrder && isDescending(pageable.getSort()) ? ranges.reversed() : ranges;
+        long needed = pageable.isPaged() ? pageable.getOffset() + pageable.getPageSize() : Long.MAX_VALUE;
+
+        CompletionService<Integer> completion = new ExecutorCompletionService<>(executor);
+        List<RangeScan> scans = new ArrayList<>(ordered.size());
+        for (int i = 0; i < ordered.size(); i++) {
+            RangeScan scan = new RangeScan(ordered.get(i), sql, where.args());
+            int index = i;
+            scan.future = completion.submit(() -> {
+                scan.rows = scan.run();
+                return index;
+            });
+            scans.add(scan);
+        }
+
+        int pending = scans.size();
+        int leading = 0;
+        long leadingRows = 0;
+        try {
+            while (pending > 0) {
+                completion.take().get();
+                pending--;
+                while (inRangeOrder && leading < scans.size() && scans.get(leading).rows != null) {
+                    leadingRows += scans.get(leading++).rows.size();
+                }
+                if (leadingRows >= needed) {
+                    break;
+                }
+            }
+        } catch (ExecutionException e) {
+            throw failure(e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new DataAccessResourceFailureException("Interrupted during parallel search", e);
+        } finally {
+            scans.forEach(RangeScan::cancel);
+        }
+
+        List<List<ShipRow>> results = new ArrayList<>(scans.size());
+        for (RangeScan scan : inRangeOrder && leadingRows >= needed ? scans.subList(0, leading) : scans) {
+            results.add(scan.rows);
+        }
+        return results;
+    }
+
+    private long count(ShipWhere where) {
+        return jdbcTemplate.queryForObject("SELECT COUNT(*) FROM ship " + where.sql(), Long.class, where.args().toArray());
+    }
+
+    private long count(ShipWhere where, List<IdRange> ranges) {
+        String sql = rangeCountSql(where);
+        List<Future<Long>> counts = ranges.stream()
+                .map(range -> executor.submit(() -> jdbcTemplate.queryForObject(sql, Long.class, range.bind(where.args()))))
+                .toList();
+        long total = 0;
+        try {
+            for (Future<Long> count : counts) {
+                total += count.get();
+            }
+            return total;
+        } catch (ExecutionException e) {
+            throw failure(e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new DataAccessResourceFailureException("Interrupted during parallel search", e);
+        } finally {
+            counts.forEach(count -> count.cancel(true));
+        }
+    }
+
+    /**
+     * The query each range runs, with the range bounds as its last two parameters.
+     */
+    static String rangeScanSql(ShipWhere where, Pageable pageable) {
+        return SELECT + where.and(IN_RANGE).sql() + ShipRow.orderBy(pageable.getSort())
+                + (pageable.isPaged() ? " LIMIT " + (pageable.getOffset() + pageable.getPageSize()) : "");
+    }
+
+    static String rangeCountSql(ShipWhere where) {
+        return "SELECT COUNT(*) FROM ship " + where.and(IN_RANGE).sql();
+    }
+
+    private List<IdRange> split() {
+        if (!properties.enabled() || properties.parallelism() <= 1) {
+            return List.of();
+        }
+        Map<String, Object> bounds = jdbcTemplate.queryForMap("SELECT MIN(id) AS lo, MAX(id) AS hi FROM ship");
+        if (bounds.get("lo") == null) {
+            return List.of();
+        }
+        long lo = ((Number) bounds.get("lo")).longValue();
+        long hi = ((Number) bounds.get("hi")).longValue();
+        long span = hi - lo + 1;
+        int count = (int) Math.min((long) properties.parallelism() * RANGES_PER_THREAD,
+                span / Math.max(1, properties.minRangeSize()));
+        List<IdRange> ranges = new ArrayList<>(Math.max(count, 0));
+        for (int i = 0; i < count; i++) {
+            ranges.add(new IdRange(lo + span * i / count, i == count - 1 ? hi : lo + span * (i + 1) / count - 1));
+        }
+        return ranges;
+    }
+
+    // Unsorted pages are ordered by id, see ShipRow.orderBy
+    private static boolean leadsWithId(Sort sort) {
+        return sort.isUnsorted() || sort.iterator().next().getProperty().equals("id");
+    }
+
+    private static boolean isDescending(Sort sort) {
+        return sort.isSorted() && sort.iterator().next().isDescending();
+    }
+
+    private static RuntimeException failure(Throwable cause) {
+        return cause instanceof RuntimeException runtime ? runtime
+                : new DataAccessResourceFailureException("Parallel search failed", cause);
+    }
+
+    private record IdRange(long lo, long hi) {
+
+        Object[] bind(List<Object> args) {
+            Object[] bound = args.toArray(new Object[args.size() + 2]);
+            bound[args.size()] = lo;
+            bound[args.size() + 1] = hi;
+            return bound;
+        }
+    }
+
+    /**
+     * One range query. Its statement is kept so that a scan already running in the database can be cancelled.
+     */
+    private final class RangeScan {
+
+        private final IdRange range;
+
+        private final String sql;
+
+        private final List<Object> args;
+
+        private final AtomicReference<Statement> statement = new AtomicReference<>();
+
+        private volatile List<ShipRow> rows;
+
+        private volatile boolean cancelled;
+
+        private Future<Integer> future;
+
+        private RangeScan(IdRange range, String sql, List<Object> args) {
+            this.range = range;
+            this.sql = sql;
+            this.args = args;
+        }
+
+        private List<ShipRow> run() {
+            Object[] bound = range.bind(args);
+            return jdbcTemplate.query(connection -> {
+                PreparedStatement prepared = connection.prepareStatement(sql);
+                for (int i = 0; i < bound.length; i++) {
+                    prepared.setObject(i + 1, bound[i]);
+                }
+                statement.set(prepared);
+                if (cancelled) {
+                    prepared.cancel();
+                }
+                return prepared;
+            }, ShipRow.MAPPER);
+        }
+
+        private void cancel() {
+            if (rows != null) {
+                return;
+            }
+            cancelled = true;
+            future.cancel(true);
+            Statement running = statement.get();
+            if (running != null) {
+                try {
+                    running.cancel();
+                } catch (SQLException e) {
+                    log.debug("Could not cancel search over ids {}..{}", range.lo(), range.hi(), e);
+                }
+            }
+        }
+    }
+}
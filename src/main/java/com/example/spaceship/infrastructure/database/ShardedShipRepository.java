@@ -0,0 +1,371 @@
+package com.example.spaceship.infrastructure.database;
+
+import com.example.spaceship.domain.entities.Ship;
+import com.example.spaceship.domain.ports.ShipCriteria;
+import com.example.spaceship.domain.ports.ShipRepository;
+import com.zaxxer.hikari.HikariDataSource;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.flywaydb.core.Flyway;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.jdbc.DataSourceBuilder;
+import org.springframework.context.annotation.Primary;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Spreads ships over several databases, routing every id to one shard through a {@link ConsistentHashRing}. Ids are
+ * drawn from {@code ship_seq} in the main database, so they are unique across shards and known before the owner is
+ * chosen. Lookups by id touch only the owner. Page and search queries run on all shards in parallel, each returning
+ * its first {@code offset + size} matches, and the per-shard results are merged in the requested order.
+ * <p>
+ * Shard writes commit on their own and are not part of the transaction on the main database that records the change
+ * log. After the shard list changes, {@link #rebalance()} moves every ship to its new owner; while it runs, lookups
+ * that miss the owner also check the other shards.
+ */
+@Repository
+@Primary
+@ConditionalOnProperty(prefix = "ship.sharding", name = "enabled", havingValue = "true")
+@Slf4j
+public class ShardedShipRepository implements ShipRepository, ApplicationRunner {
+
+    // Allocation size of ship_seq, see V1__create_ship_tables.sql
+    private static final int ID_BLOCK_SIZE = 50;
+
+    private static final String SELECT = "SELECT " + ShipRow.COLUMNS + " FROM ship ";
+
+    private static final String UPSERT = "MERGE INTO ship t USING (VALUES (CAST(? AS BIGINT), CAST(? AS VARCHAR), "
+            + "CAST(? AS VARCHAR))) s (id, name, type) ON t.id = s.id "
+            + "WHEN MATCHED THEN UPDATE SET name = s.name, type = s.type "
+            + "WHEN NOT MATCHED THEN INSERT (id, name, type) VALUES (s.id, s.name, s.type)";
+
+    // Keeps a copy written to the new owner during a rebalance instead of overwriting it with the old one
+    private static final String INSERT_IF_ABSENT = "MERGE INTO ship t USING (VALUES (CAST(? AS BIGINT), "
+            + "CAST(? AS VARCHAR), CAST(? AS VARCHAR))) s (id, name, type) ON t.id = s.id "
+            + "WHEN NOT MATCHED THEN INSERT (id, name, type) VALUES (s.id, s.name, s.type)";
+
+    private final ShardingProperties properties;
+
+    private final JdbcTemplate mainJdbc;
+
+    @Value("${spring.flyway.locations:classpath:db/migration}")
+    private String[] migrationLocations = {"classpath:db/migration"};
+
+    private Map<String, Shard> shards;
+
+    private ConsistentHashRing ring;
+
+    private ExecutorService executor;
+
+    private volatile boolean rebalancing;
+
+    private long nextId;
+
+    private long lastId = -1;
+
+    @Autowired
+    public ShardedShipRepository(ShardingProperties properties, DataSource dataSource) {
+        this.properties = properties;
+        this.mainJdbc = new JdbcTemplate(dataSource);
+    }
+
+    @PostConstruct
+    void init() {
+        if (properties.rebalanceBatchSize() <= 0) {
+            throw new IllegalStateException("ship.sharding.rebalance-batch-size must be positive");
+        }
+        Map<String, Shard> opened = new LinkedHashMap<>();
+        for (ShardingProperties.Shard config : properties.shards()) {
+            if (opened.containsKey(config.name())) {
+                throw new IllegalStateException("Duplicate shard name: " + config.name());
+            }
+            HikariDataSource dataSource = DataSourceBuilder.create()
+                    .type(HikariDataSource.class)
+                    .url(config.url())
+                    .username(config.username())
+                    .password(config.password())
+                    .build();
+            dataSource.setPoolName("shard-" + config.name());
+            Flyway.configure()
+                    .dataSource(dataSource)
+                    .locations(migrationLocations)
+                    .baselineOnMigrate(true)
+                    .baselineVersion("0")
+                    .load()
+                    .migrate();
+            opened.put(config.name(), new Shard(config.name(), dataSource, new JdbcTemplate(dataSource),
+                    new TransactionTemplate(new DataSourceTransactionManager(dataSource))));
+        }
+        shards = opened;
+        ring = new ConsistentHashRing(shards.keySet(), properties.virtualNodes());
+        executor = Executors.newVirtualThreadPerTaskExecutor();
+        log.info("Ship storage sharded over {}", shards.keySet());
+    }
+
+    @PreDestroy
+    void close() {
+        executor.shutdown();
+        shards.values().forEach(shard -> shard.dataSource().close());
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        if (properties.rebalanceOnStartup()) {
+            rebalance();
+        }
+    }
+
+    @Override
+    public <T extends Record> Page<T> findAllBy(Pageable pageable, Class<T> view) {
+        return page(ShipWhere.ALL, pageable).map(row -> row.toView(view));
+    }
+
+    @Override
+    public <T extends Record> Page<T> findByNameContaining(String name, Pageable pageable, Class<T> view) {
+        return page(ShipWhere.nameContaining(name), pageable).map(row -> row.toView(view));
+    }
+
+    @Override
+    public <T extends Record> Page<T> findByCriteria(ShipCriteria criteria, Pageable pageable, Class<T> view) {
+        return page(ShipWhere.matching(criteria), pageable).map(row -> row.toView(view));
+    }
+
+    @Override
+    public Optional<Ship> findById(Long id) {
+        return findRow(id).map(ShipRow::toShip);
+    }
+
+    @Override
+    public <T extends Record> Optional<T> findById(Long id, Class<T> view) {
+        return findRow(id).map(row -> row.toView(view));
+    }
+
+    @Override
+    public Ship save(Ship ship) {
+        if (ship.getId() == null) {
+            ship.setId(nextId());
+        }
+        ownerOf(ship.getId()).jdbc().update(UPSERT, ship.getId(), ship.getName(), ship.getType());
+        return ship;
+    }
+
+    @Override
+    public <S extends Ship> List<S> saveAll(Iterable<S> ships) {
+        List<S> saved = new ArrayList<>();
+        ships.forEach(saved::add);
+        saved.stream().filter(ship -> ship.getId() == null).forEach(ship -> ship.setId(nextId()));
+        saved.stream()
+                .collect(Collectors.groupingBy(ship -> ownerOf(ship.getId()),
+                        Collectors.mapping(ship -> new Object[]{ship.getId(), ship.getName(), ship.getType()},
+                                Collectors.toList())))
+                .forEach((shard, rows) -> shard.jdbc().batchUpdate(UPSERT, rows));
+        return saved;
+    }
+
+    @Override
+    public void deleteById(Long id) {
+        if (rebalancing) {
+            // the owner goes last, so a ship that is being moved is either deleted at its source before the move
+            // locks it, or deleted from the owner after the move has copied it
+            Shard owner = ownerOf(id);
+            shards.values().stream()
+                    .filter(shard -> shard != owner)
+                    .forEach(shard -> shard.jdbc().update("DELETE FROM ship WHERE id = ?", id));
+            owner.jdbc().update("DELETE FROM ship WHERE id = ?", id);
+        } else {
+            ownerOf(id).jdbc().update("DELETE FROM ship WHERE id = ?", id);
+        }
+    }
+
+    @Override
+    public void deleteAll() {
+        scatter(shard -> shard.jdbc().update("DELETE FROM ship"));
+    }
+
+    @Override
+    public long count() {
+        return scatter(shard -> shard.jdbc().queryForObject("SELECT COUNT(*) FROM ship", Long.class))
+                .stream().mapToLong(Long::longValue).sum();
+    }
+
+    @Override
+    public Stream<Long> streamAllIds() {
+        return shards.values().stream()
+                .flatMap(shard -> shard.jdbc().queryForStream("SELECT id FROM ship", (rs, rowNum) -> rs.getLong(1)));
+    }
+
+    /**
+     * Number of ships stored on each shard, in configuration order.
+     */
+    public Map<String, Long> countByShard() {
+        List<Long> counts = scatter(shard -> shard.jdbc().queryForObject("SELECT COUNT(*) FROM ship", Long.class));
+        Map<String, Long> result = new LinkedHashMap<>();
+        int i = 0;
+        for (String name : shards.keySet()) {
+            result.put(name, counts.get(i++));
+        }
+        return result;
+    }
+
+    /**
+     * Moves every ship that is not stored on the shard the ring assigns it to, walking each shard in id order in
+     * batches of {@code ship.sharding.rebalance-batch-size}. A ship is copied to its owner before it is deleted from
+     * the old shard, so it is never missing; a copy the owner already received from a concurrent write is kept.
+     * The rows are locked on the old shard while they are moved, and only rows that still exist there are copied,
+     * so a ship deleted during the rebalance does not come back.
+     *
+     * @return the number of ships moved
+     */
+    public synchronized long rebalance() {
+        long start = System.nanoTime();
+        long moved = 0;
+        rebalancing = true;
+        try {
+            for (Shard source : shards.values()) {
+                long after = Long.MIN_VALUE;
+                List<ShipRow> batch;
+                do {
+                    batch = source.jdbc().query(SELECT + "WHERE id > ? ORDER BY id LIMIT ?", ShipRow.MAPPER,
+                            after, properties.rebalanceBatchSize());
+                    if (!batch.isEmpty()) {
+                        after = batch.getLast().id();
+                    }
+                    Map<Shard, List<ShipRow>> misplaced = batch.stream()
+                            .filter(row -> ownerOf(row.id()) != source)
+                            .collect(Collectors.groupingBy(row -> ownerOf(row.id())));
+                    for (Map.Entry<Shard, List<ShipRow>> move : misplaced.entrySet()) {
+                        moved += move(source, move.getKey(), move.getValue().stream().map(ShipRow::id).toList());
+                    }
+                } while (batch.size() == properties.rebalanceBatchSize());
+            }
+        } finally {
+            rebalancing = false;
+        }
+        log.info("Shard rebalance moved {} ships in {} ms", moved, (System.nanoTime() - start) / 1_000_000);
+        return moved;
+    }
+
+    private int move(Shard source, Shard owner, List<Long> ids) {
+        String placeholders = String.join(", ", ids.stream().map(id -> "?").toList());
+        Integer moved = source.transaction().execute(status -> {
+            List<ShipRow> rows = source.jdbc().query(SELECT + "WHERE id IN (" + placeholders + ") FOR UPDATE",
+                    ShipRow.MAPPER, ids.toArray());
+            if (rows.isEmpty()) {
+                return 0;
+            }
+            owner.jdbc().batchUpdate(INSERT_IF_ABSENT, rows.stream()
+                    .map(row -> new Object[]{row.id(), row.name(), row.type()})
+                    .toList());
+            source.jdbc().batchUpdate("DELETE FROM ship WHERE id = ?", rows.stream()
+                    .map(row -> new Object[]{row.id()})
+                    .toList());
+            return rows.size();
+        });
+        return moved == null ? 0 : moved;
+    }
+
+    private Optional<ShipRow> findRow(Long id) {
+        Shard owner = ownerOf(id);
+        Optional<ShipRow> row = findRow(owner, id);
+        if (row.isEmpty() && rebalancing) {
+            return shards.values().stream()
+                    .filter(shard -> shard != owner)
+                    .map(shard -> findRow(shard, id))
+                    .flatMap(Optional::stream)
+                    .findFirst();
+        }
+        return row;
+    }
+
+    private Optional<ShipRow> findRow(Shard shard, Long id) {
+        return shard.jdbc().query(SELECT + "WHERE id = ?", ShipRow.MAPPER, id).stream().findFirst();
+    }
+
+    private Page<ShipRow> page(ShipWhere where, Pageable pageable) {
+        String select = SELECT + where.sql() + ShipRow.orderBy(pageable.getSort())
+                + (pageable.isPaged() ? " LIMIT " + (pageable.getOffset() + pageable.getPageSize()) : "");
+        String count = "SELECT COUNT(*) FROM ship " + where.sql();
+        Object[] args = where.args().toArray();
+
+        List<ShardPage> results = scatter(shard -> new ShardPage(
+                shard.jdbc().query(select, ShipRow.MAPPER, args),
+                shard.jdbc().queryForObject(count, Long.class, args)));
+
+        List<ShipRow> content = SortedMerge.merge(results.stream().map(ShardPage::rows).toList(),
+                ShipRow.comparator(pageable.getSort()),
+                pageable.isPaged() ? pageable.getOffset() : 0,
+                pageable.isPaged() ? pageable.getPageSize() : Integer.MAX_VALUE);
+        long total = results.stream().mapToLong(ShardPage::total).sum();
+        return new PageImpl<>(content, pageable, total);
+    }
+
+    /**
+     * Runs the query on every shard at once and returns the results in shard order. The first failure is rethrown
+     * once the remaining queries have been cancelled.
+     */
+    private <T> List<T> scatter(Function<Shard, T> query) {
+        List<Future<T>> futures = shards.values().stream()
+                .map(shard -> executor.submit(() -> query.apply(shard)))
+                .toList();
+        List<T> results = new ArrayList<>(futures.size());
+        try {
+            for (Future<T> future : futures) {
+                results.add(future.get());
+            }
+            return results;
+        } catch (ExecutionException e) {
+            futures.forEach(future -> future.cancel(true));
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw new DataAccessResourceFailureException("Shard query failed", e.getCause());
+        } catch (InterruptedException e) {
+            futures.forEach(future -> future.cancel(true));
+            Thread.currentThread().interrupt();
+            throw new DataAccessResourceFailureException("Interrupted while querying shards", e);
+        }
+    }
+
+    private Shard ownerOf(Long id) {
+        return shards.get(ring.shardFor(id));
+    }
+
+    private synchronized long nextId() {
+        if (nextId > lastId) {
+            nextId = mainJdbc.queryForObject("SELECT NEXT VALUE FOR ship_seq", Long.class);
+            lastId = nextId + ID_BLOCK_SIZE - 1;
+        }
+        return nextId++;
+    }
+
+    private record Shard(String name, HikariDataSource dataSource, JdbcTemplate jdbc, TransactionTemplate transaction) {
+    }
+
+    private record ShardPage(List<ShipRow> rows, long total) {
+    }
+}
@@ -0,0 +1,22 @@
+package com.example.spaceship.infrastructure.database;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.util.List;
+
+@ConfigurationProperties(prefix = "ship.sharding")
+public record ShardingProperties(
+        boolean enabled,
+        int virtualNodes,
+        boolean rebalanceOnStartup,
+        int rebalanceBatchSize,
+        List<Shard> shards
+) {
+
+    public ShardingProperties {
+        shards = shards == null ? List.of() : List.copyOf(shards);
+    }
+
+    public record Shard(String name, String url, String username, String password) {
+    }
+}
@@ -0,0 +1,45 @@
+package com.example.spaceship.infrastructure.database;
+
+import com.example.spaceship.domain.entities.ShipChange;
+import com.example.spaceship.domain.ports.ShipChangeRepository;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+
+@Repository
+public interface ShipChangeRepositoryImpl extends JpaRepository<ShipChange, Long>, ShipChangeRepository {
+
+    @Override
+    @Query(value = "select last_sequence from ship_change_head where id = 1 for update", nativeQuery = true)
+    long lockLastSequence();
+
+    @Override
+    @Modifying
+    @Query(value = "update ship_change_head set last_sequence = :sequence where id = 1", nativeQuery = true)
+    int updateLastSequence(@Param("sequence") long sequence);
+
+    @Override
+    @Query(value = "select next value for ship_change_commit_seq", nativeQuery = true)
+    long nextCommitOrder();
+
+    @Override
+    @Modifying
+    @Query("update ShipChange c set c.commitOrder = :commitOrder where c.id in :ids")
+    int updateCommitOrder(@Param("ids") Collection<Long> ids, @Param("commitOrder") long commitOrder);
+
+    @Override
+    @Modifying
+    @Query("delete from ShipChange c where c.shipId is not null and c.sequence < "
+            + "(select max(l.sequence) from ShipChange l where l.shipId = c.shipId)")
+    int deleteSupersededChanges();
+
+    @Override
+    @Modifying
+    @Query("delete from ShipChange c where c.sequence < "
+            + "(select max(l.sequence) from ShipChange l where l.changeType = com.example.spaceship.domain.entities.ShipChange.ChangeType.CLEARED)")
+    int deleteChangesBeforeLastClear();
+}
@@ -0,0 +1,15 @@
+package com.example.spaceship.infrastructure.database;
+
+import com.example.spaceship.domain.ports.ShipCriteria;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+
+/**
+ * Repository fragment for criteria searches that return record views. Spring Data's fluent specification API loads
+ * full entities before converting them, so these queries build the constructor expression themselves. Substring
+ * search by name is delegated to {@link ParallelShipSearch}.
+ */
+public interface ShipProjectionQueries {
+    <T extends Record> Page<T> findByCriteria(ShipCriteria criteria, Pageable pageable, Class<T> view);
+    <T extends Record> Page<T> findByNameContaining(String name, Pageable pageable, Class<T> view);
+}
@@ -0,0 +1,65 @@
+package com.example.spaceship.infrastructure.database;
+
+import com.example.spaceship.domain.entities.Ship;
+import com.example.spaceship.domain.ports.ShipCriteria;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.TypedQuery;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Selection;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.query.QueryUtils;
+import org.springframework.data.support.PageableExecutionUtils;
+
+import java.util.Arrays;
+import java.util.List;
+
+class ShipProjectionQueriesImpl implements ShipProjectionQueries {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Autowired
+    private ParallelShipSearch parallelShipSearch;
+
+    @Override
+    public <T extends Record> Page<T> findByCriteria(ShipCriteria criteria, Pageable pageable, Class<T> view) {
+        Specification<Ship> specification = ShipSpecifications.matching(criteria);
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+
+        CriteriaQuery<T> query = cb.createQuery(view);
+        Root<Ship> root = query.from(Ship.class);
+        Selection<?>[] columns = Arrays.stream(view.getRecordComponents())
+                .map(component -> root.get(component.getName()))
+                .toArray(Selection[]::new);
+        query.select(cb.construct(view, columns))
+                .where(specification.toPredicate(root, query, cb))
+                .orderBy(QueryUtils.toOrders(pageable.getSort(), root, cb));
+
+        TypedQuery<T> typedQuery = entityManager.createQuery(query);
+        if (pageable.isPaged()) {
+            typedQuery.setFirstResult((int) pageable.getOffset());
+            typedQuery.setMaxResults(pageable.getPageSize());
+        }
+        List<T> content = typedQuery.getResultList();
+
+        return PageableExecutionUtils.getPage(content, pageable, () -> count(specification, cb));
+    }
+
+    @Override
+    public <T extends Record> Page<T> findByNameContaining(String name, Pageable pageable, Class<T> view) {
+        return parallelShipSearch.findByNameContaining(name, pageable).map(row -> row.toView(view));
+    }
+
+    private long count(Specification<Ship> specification, CriteriaBuilder cb) {
+        CriteriaQuery<Long> query = cb.createQuery(Long.class);
+        Root<Ship> root = query.from(Ship.class);
+        query.select(cb.count(root)).where(specification.toPredicate(root, query, cb));
+        return entityManager.createQuery(query).getSingleResult();
+    }
+}
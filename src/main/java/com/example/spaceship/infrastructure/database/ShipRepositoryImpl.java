@@ -2,9 +2,22 @@ package com.example.spaceship.infrastructure.database;
 
 import com.example.spaceship.domain.entities.Ship;
 import com.example.spaceship.domain.ports.ShipRepository;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
+import java.util.stream.Stream;
+
 @Repository
-public interface ShipRepositoryImpl extends JpaRepository<Ship, Long>, ShipRepository {
-}
\ No newline at end of file
+public interface ShipRepositoryImpl extends JpaRepository<Ship, Long>, JpaSpecificationExecutor<Ship>,
+        ShipProjectionQueries, ShipRepository {
+
+    @Override
+    @Query("select s.id from Ship s")
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"))
+    Stream<Long> streamAllIds();
+}
@@ -0,0 +1,103 @@
+package com.example.spaceship.infrastructure.database;
+
+import com.example.spaceship.domain.entities.Ship;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.RowMapper;
+
+import java.lang.reflect.Constructor;
+import java.lang.reflect.RecordComponent;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * A row of the ship table read over plain JDBC. Rows carry every column so that results from several queries can be
+ * merged on any sort property before they are turned into entities or record views.
+ */
+record ShipRow(Long id, String name, String type, String nameLower) {
+
+    static final String COLUMNS = "id, name, type, name_lower";
+
+    static final RowMapper<ShipRow> MAPPER = (rs, rowNum) ->
+            new ShipRow(rs.getLong("id"), rs.getString("name"), rs.getString("type"), rs.getString("name_lower"));
+
+    private static final Map<String, String> SORT_COLUMNS =
+            Map.of("id", "id", "name", "name", "type", "type", "nameLower", "name_lower");
+
+    private static final Map<Class<?>, Constructor<?>> VIEW_CONSTRUCTORS = new ConcurrentHashMap<>();
+
+    Ship toShip() {
+        Ship ship = new Ship();
+        ship.setId(id);
+        ship.setName(name);
+        ship.setType(type);
+        ship.setNameLower(nameLower);
+        return ship;
+    }
+
+    <T extends Record> T toView(Class<T> view) {
+        RecordComponent[] components = view.getRecordComponents();
+        Object[] values = new Object[components.length];
+        for (int i = 0; i < components.length; i++) {
+            values[i] = switch (components[i].getName()) {
+                case "id" -> id;
+                case "name" -> name;
+                case "type" -> type;
+                default -> throw new IllegalArgumentException("Unknown ship column: " + components[i].getName());
+            };
+        }
+        try {
+            return view.cast(VIEW_CONSTRUCTORS.computeIfAbsent(view, ShipRow::canonicalConstructor).newInstance(values));
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException("Cannot create " + view.getSimpleName(), e);
+        }
+    }
+
+    /**
+     * ORDER BY clause for the sort, with the id as the last key so that every row has a fixed position. Nulls sort
+     * low, as in {@link #comparator}.
+     */
+    static String orderBy(Sort sort) {
+        StringBuilder sql = new StringBuilder(" ORDER BY ");
+        for (Sort.Order order : sort) {
+            sql.append(column(order)).append(order.isAscending() ? " ASC NULLS FIRST, " : " DESC NULLS LAST, ");
+        }
+        return sql.append("id ASC").toString();
+    }
+
+    /**
+     * Orders rows exactly like {@link #orderBy} orders them in the database.
+     */
+    static Comparator<ShipRow> comparator(Sort sort) {
+        Comparator<ShipRow> comparator = (a, b) -> 0;
+        for (Sort.Order order : sort) {
+            Comparator<ShipRow> property = switch (column(order)) {
+                case "id" -> Comparator.comparing(ShipRow::id, Comparator.nullsFirst(Comparator.naturalOrder()));
+                case "name" -> Comparator.comparing(ShipRow::name, Comparator.nullsFirst(Comparator.naturalOrder()));
+                case "type" -> Comparator.comparing(ShipRow::type, Comparator.nullsFirst(Comparator.naturalOrder()));
+                default -> Comparator.comparing(ShipRow::nameLower, Comparator.nullsFirst(Comparator.naturalOrder()));
+            };
+            comparator = comparator.thenComparing(order.isAscending() ? property : property.reversed());
+        }
+        return comparator.thenComparing(ShipRow::id);
+    }
+
+    private static String column(Sort.Order order) {
+        String column = SORT_COLUMNS.get(order.getProperty());
+        if (column == null || order.isIgnoreCase()) {
+            throw new IllegalArgumentException("Unsupported sort: " + order);
+        }
+        return column;
+    }
+
+    private static Constructor<?> canonicalConstructor(Class<?> view) {
+        try {
+            return view.getDeclaredConstructor(Arrays.stream(view.getRecordComponents())
+                    .map(RecordComponent::getType)
+                    .toArray(Class<?>[]::new));
+        } catch (NoSuchMethodException e) {
+            throw new IllegalStateException("No canonical constructor on " + view.getSimpleName(), e);
+        }
+    }
+}
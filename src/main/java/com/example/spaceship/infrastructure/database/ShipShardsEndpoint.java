@@ -0,0 +1,33 @@
+package com.example.spaceship.infrastructure.database;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+
+/**
+ * {@code GET /actuator/shards} reports the number of ships on each shard; {@code POST /actuator/shards} moves ships
+ * to the shards the current configuration assigns them to.
+ */
+@Component
+@Endpoint(id = "shards")
+@ConditionalOnProperty(prefix = "ship.sharding", name = "enabled", havingValue = "true")
+public class ShipShardsEndpoint {
+
+    @Autowired
+    private ShardedShipRepository shardedShipRepository;
+
+    @ReadOperation
+    public Map<String, Long> shards() {
+        return shardedShipRepository.countByShard();
+    }
+
+    @WriteOperation
+    public Map<String, Long> rebalance() {
+        return Map.of("moved", shardedShipRepository.rebalance());
+    }
+}
@@ -0,0 +1,56 @@
+package com.example.spaceship.infrastructure.database;
+
+import com.example.spaceship.domain.entities.Ship;
+import com.example.spaceship.domain.ports.ShipCriteria;
+import jakarta.persistence.criteria.Predicate;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Translates {@link ShipCriteria} into predicates on indexed columns: name conditions go through the generated
+ * {@code name_lower} column, types through {@code idx_ship_type} and id bounds through the primary key.
+ */
+final class ShipSpecifications {
+
+    static final char LIKE_ESCAPE = '\\';
+
+    private ShipSpecifications() {
+    }
+
+    static Specification<Ship> matching(ShipCriteria criteria) {
+        return (root, query, cb) -> {
+            List<Predicate> predicates = new ArrayList<>(4);
+            if (criteria.hasName()) {
+                String pattern = escapeLike(criteria.name());
+                pattern = criteria.nameMatch() == ShipCriteria.NameMatch.CONTAINS ? "%" + pattern + "%" : pattern + "%";
+                predicates.add(cb.like(root.get("nameLower"), pattern, LIKE_ESCAPE));
+            }
+            if (criteria.types().size() == 1) {
+                predicates.add(cb.equal(root.get("type"), criteria.types().get(0)));
+            } else if (!criteria.types().isEmpty()) {
+                predicates.add(root.get("type").in(criteria.types()));
+            }
+            if (criteria.minId() != null) {
+                predicates.add(cb.greaterThanOrEqualTo(root.get("id"), criteria.minId()));
+            }
+            if (criteria.maxId() != null) {
+                predicates.add(cb.lessThanOrEqualTo(root.get("id"), criteria.maxId()));
+            }
+            return cb.and(predicates.toArray(Predicate[]::new));
+        };
+    }
+
+    static String escapeLike(String value) {
+        StringBuilder escaped = new StringBuilder(value.length() + 4);
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c == '%' || c == '_' || c == LIKE_ESCAPE) {
+                escaped.append(LIKE_ESCAPE);
+            }
+            escaped.append(c);
+        }
+        return escaped.toString();
+    }
+}
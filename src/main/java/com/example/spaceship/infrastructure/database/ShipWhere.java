@@ -0,0 +1,59 @@
+package com.example.spaceship.infrastructure.database;
+
+import com.example.spaceship.domain.ports.ShipCriteria;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * WHERE clause over the ship table for plain JDBC queries, with the same conditions as the JPA queries: substring
+ * search is case-sensitive on {@code name}, criteria name matches go through {@code name_lower}.
+ */
+record ShipWhere(List<String> conditions, List<Object> args) {
+
+    static final ShipWhere ALL = new ShipWhere(List.of(), List.of());
+
+    private static final String LIKE = " LIKE ? ESCAPE '" + ShipSpecifications.LIKE_ESCAPE + "'";
+
+    ShipWhere {
+        conditions = List.copyOf(conditions);
+        args = List.copyOf(args);
+    }
+
+    static ShipWhere nameContaining(String name) {
+        return ALL.and("name" + LIKE, "%" + ShipSpecifications.escapeLike(name) + "%");
+    }
+
+    static ShipWhere matching(ShipCriteria criteria) {
+        ShipWhere where = ALL;
+        if (criteria.hasName()) {
+            String pattern = ShipSpecifications.escapeLike(criteria.name());
+            where = where.and("name_lower" + LIKE,
+                    criteria.nameMatch() == ShipCriteria.NameMatch.CONTAINS ? "%" + pattern + "%" : pattern + "%");
+        }
+        if (!criteria.types().isEmpty()) {
+            where = where.and("type IN (" + String.join(", ", criteria.types().stream().map(type -> "?").toList()) + ")",
+                    criteria.types().toArray());
+        }
+        if (criteria.minId() != null) {
+            where = where.and("id >= ?", criteria.minId());
+        }
+        if (criteria.maxId() != null) {
+            where = where.and("id <= ?", criteria.maxId());
+        }
+        return where;
+    }
+
+    ShipWhere and(String condition, Object... values) {
+        List<String> combined = new ArrayList<>(conditions);
+        combined.add(condition);
+        List<Object> combinedArgs = new ArrayList<>(args);
+        combinedArgs.addAll(Arrays.asList(values));
+        return new ShipWhere(combined, combinedArgs);
+    }
+
+    String sql() {
+        return conditions.isEmpty() ? "" : "WHERE " + String.join(" AND ", conditions) + " ";
+    }
+}
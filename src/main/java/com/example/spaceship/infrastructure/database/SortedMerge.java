@@ -0,0 +1,60 @@
+package com.example.spaceship.infrastructure.database;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.PriorityQueue;
+
+/**
+ * K-way merge of lists that are each sorted by the same comparator, keeping only one window of the merged order.
+ */
+final class SortedMerge {
+
+    private SortedMerge() {
+    }
+
+    static <T> List<T> merge(List<List<T>> sortedLists, Comparator<? super T> order, long offset, int limit) {
+        PriorityQueue<Cursor<T>> heads = new PriorityQueue<>(Math.max(1, sortedLists.size()),
+                (a, b) -> order.compare(a.head, b.head));
+        for (List<T> list : sortedLists) {
+            Cursor<T> cursor = new Cursor<>(list.iterator());
+            if (cursor.advance()) {
+                heads.add(cursor);
+            }
+        }
+        List<T> window = new ArrayList<>((int) Math.min(limit, 1024));
+        long skipped = 0;
+        while (!heads.isEmpty() && window.size() < limit) {
+            Cursor<T> cursor = heads.poll();
+            if (skipped < offset) {
+                skipped++;
+            } else {
+                window.add(cursor.head);
+            }
+            if (cursor.advance()) {
+                heads.add(cursor);
+            }
+        }
+        return window;
+    }
+
+    private static final class Cursor<T> {
+
+        private final Iterator<T> rest;
+
+        private T head;
+
+        private Cursor(Iterator<T> rest) {
+            this.rest = rest;
+        }
+
+        private boolean advance() {
+            if (!rest.hasNext()) {
+                return false;
+            }
+            head = rest.next();
+            return true;
+        }
+    }
+}
@@ -0,0 +1,59 @@
+package com.example.spaceship.infrastructure.importer;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.Writer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Optional;
+import java.util.Properties;
+
+/**
+ * Position of the last batch that was committed for an import file, persisted next to the file.
+ */
+public record ImportCheckpoint(long offset, long lineNumber, long imported, long rejected) {
+
+    public static final ImportCheckpoint START = new ImportCheckpoint(0, 0, 0, 0);
+
+    private static final String SUFFIX = ".checkpoint";
+
+    public static Path pathFor(Path file) {
+        return file.resolveSibling(file.getFileName() + SUFFIX);
+    }
+
+    public static Optional<ImportCheckpoint> load(Path file) throws IOException {
+        Path checkpoint = pathFor(file);
+        if (!Files.exists(checkpoint)) {
+            return Optional.empty();
+        }
+        Properties properties = new Properties();
+        try (Reader reader = Files.newBufferedReader(checkpoint)) {
+            properties.load(reader);
+        }
+        return Optional.of(new ImportCheckpoint(
+                Long.parseLong(properties.getProperty("offset")),
+                Long.parseLong(properties.getProperty("lineNumber")),
+                Long.parseLong(properties.getProperty("imported")),
+                Long.parseLong(properties.getProperty("rejected"))
+        ));
+    }
+
+    public void save(Path file) throws IOException {
+        Path checkpoint = pathFor(file);
+        Path temp = checkpoint.resolveSibling(checkpoint.getFileName() + ".tmp");
+        Properties properties = new Properties();
+        properties.setProperty("offset", Long.toString(offset));
+        properties.setProperty("lineNumber", Long.toString(lineNumber));
+        properties.setProperty("imported", Long.toString(imported));
+        properties.setProperty("rejected", Long.toString(rejected));
+        try (Writer writer = Files.newBufferedWriter(temp)) {
+            properties.store(writer, null);
+        }
+        Files.move(temp, checkpoint, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    public static void delete(Path file) throws IOException {
+        Files.deleteIfExists(pathFor(file));
+    }
+}
@@ -0,0 +1,112 @@
+package com.example.spaceship.infrastructure.importer;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Reads a line-oriented file through a sliding memory-mapped window, starting at an arbitrary
+ * byte offset so an interrupted import can resume where its last checkpoint left off.
+ */
+public class ShipFileReader implements Closeable {
+
+    private static final long WINDOW_SIZE = 64L * 1024 * 1024;
+
+    private final FileChannel channel;
+
+    private final long size;
+
+    private long position;
+
+    private MappedByteBuffer window;
+
+    private long windowStart;
+
+    public ShipFileReader(Path path, long startOffset) throws IOException {
+        this.channel = FileChannel.open(path, StandardOpenOption.READ);
+        this.size = channel.size();
+        if (startOffset < 0 || startOffset > size) {
+            channel.close();
+            throw new IllegalArgumentException("Offset " + startOffset + " is outside of file bounds");
+        }
+        this.position = startOffset;
+    }
+
+    public long size() {
+        return size;
+    }
+
+    public long position() {
+        return position;
+    }
+
+    public Chunk next(int maxLines) throws IOException {
+        long start = position;
+        List<String> lines = new ArrayList<>(maxLines);
+        while (lines.size() < maxLines && position < size) {
+            lines.add(readLine());
+        }
+        return new Chunk(lines, start, position);
+    }
+
+    private String readLine() throws IOException {
+        long lineStart = position;
+        while (true) {
+            ensureMapped(lineStart);
+            int from = (int) (lineStart - windowStart);
+            int limit = window.limit();
+            for (int i = from; i < limit; i++) {
+                if (window.get(i) == '\n') {
+                    position = windowStart + i + 1;
+                    return decode(from, i);
+                }
+            }
+            if (windowStart + limit >= size) {
+                position = size;
+                return decode(from, limit);
+            }
+            if (from == 0) {
+                throw new IOException("Line at offset " + lineStart + " exceeds " + WINDOW_SIZE + " bytes");
+            }
+            map(lineStart);
+        }
+    }
+
+    private void ensureMapped(long offset) throws IOException {
+        if (window == null || offset < windowStart || offset >= windowStart + window.limit()) {
+            map(offset);
+        }
+    }
+
+    private void map(long offset) throws IOException {
+        windowStart = offset;
+        window = channel.map(FileChannel.MapMode.READ_ONLY, offset, Math.min(WINDOW_SIZE, size - offset));
+    }
+
+    private String decode(int from, int to) {
+        if (to > from && window.get(to - 1) == '\r') {
+            to--;
+        }
+        byte[] bytes = new byte[to - from];
+        window.get(from, bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    @Override
+    public void close() throws IOException {
+        window = null;
+        channel.close();
+    }
+
+    public record Chunk(List<String> lines, long startOffset, long endOffset) {
+        public boolean isEmpty() {
+            return lines.isEmpty();
+        }
+    }
+}
@@ -0,0 +1,84 @@
+package com.example.spaceship.infrastructure.importer;
+
+import com.example.spaceship.domain.entities.Ship;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Component
+public class ShipRecordParser {
+
+    private static final String CSV_HEADER = "name,type";
+
+    private final ObjectMapper objectMapper;
+
+    @Autowired
+    public ShipRecordParser(ObjectMapper objectMapper) {
+        this.objectMapper = objectMapper;
+    }
+
+    public boolean isHeader(String line, ImportFormat format) {
+        return format == ImportFormat.CSV && CSV_HEADER.equalsIgnoreCase(line.replace(" ", ""));
+    }
+
+    public Ship parse(String line, ImportFormat format) {
+        return switch (format) {
+            case CSV -> parseCsv(line);
+            case NDJSON -> parseJson(line);
+        };
+    }
+
+    private Ship parseCsv(String line) {
+        List<String> fields = splitCsv(line);
+        if (fields.size() != 2) {
+            throw new IllegalArgumentException("Expected 2 columns (name,type) but found " + fields.size());
+        }
+        Ship ship = new Ship();
+        ship.setName(fields.get(0).trim());
+        ship.setType(fields.get(1).trim());
+        return ship;
+    }
+
+    private Ship parseJson(String line) {
+        try {
+            return objectMapper.readValue(line, Ship.class);
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("Malformed JSON: " + e.getOriginalMessage());
+        }
+    }
+
+    private List<String> splitCsv(String line) {
+        List<String> fields = new ArrayList<>(2);
+        StringBuilder current = new StringBuilder();
+        boolean quoted = false;
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (quoted) {
+                if (c == '"' && i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                    current.append('"');
+                    i++;
+                } else if (c == '"') {
+                    quoted = false;
+                } else {
+                    current.append(c);
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                fields.add(current.toString());
+                current.setLength(0);
+            } else {
+                current.append(c);
+            }
+        }
+        if (quoted) {
+            throw new IllegalArgumentException("Unterminated quoted field");
+        }
+        fields.add(current.toString());
+        return fields;
+    }
+}
@@ -2,26 +2,173 @@ package com.example.spaceship.infrastructure.kakfa;
 
 
 import com.example.spaceship.domain.entities.Ship;
+import com.example.spaceship.domain.views.ShipView;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
 import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.common.TopicPartition;
+import org.apache.kafka.common.header.Header;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.kafka.listener.ConsumerSeekAware;
+import org.springframework.kafka.support.KafkaHeaders;
 import org.springframework.stereotype.Component;
 
-import java.util.ArrayList;
-import java.util.List;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Collection;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.stream.Collectors;
 
+/**
+ * Materializes the ship topic into a local {@link ShipKafkaView}. The view lives in memory only, so every
+ * assignment of a main topic partition seeks back to its beginning and replays it; with a compacted topic that
+ * replay is bounded by the number of live ships rather than by the number of events ever published.
+ * <p>
+ * Every instance needs the whole topic, so each one joins its own consumer group, named after
+ * {@code spring.kafka.consumer.group-id} plus a random suffix, and is assigned all partitions. When a partition is
+ * revoked, the ships last seen on it are dropped from the view until the partition is replayed.
+ * <p>
+ * Failed events are retried through delayed retry topics and finally parked on the dead-letter topic, so a
+ * bad record never blocks its partition (see {@code KafkaRetryConfig}). Those topics are shared by all instances,
+ * so forwarded records carry the {@value #ORIGIN_GROUP_HEADER} header and an instance only handles its own.
+ */
 @Component
 @Slf4j
-public class KafkaConsumer {
+public class KafkaConsumer implements ConsumerSeekAware {
 
-    private final List<Ship> ships = new ArrayList<>();
+    public static final String ORIGIN_GROUP_HEADER = "spaceship-origin-group";
 
-    @KafkaListener(topics = "${kafka.topic.name}", groupId = "${spring.kafka.consumer.group-id}")
-    public void listen(Ship ship) {
-        ships.add(ship);
-        log.info("Received ship: {}", ship);
+    private static final String DEAD_LETTERS_METRIC = "spaceship.kafka.dead-letters";
+
+    private final ShipKafkaView view = new ShipKafkaView();
+
+    private final MeterRegistry meterRegistry;
+
+    private final String groupId;
+
+    @Value("${kafka.topic.name}")
+    private String topic;
+
+    public KafkaConsumer(MeterRegistry meterRegistry, @Value("${spring.kafka.consumer.group-id}") String groupIdPrefix) {
+        this.meterRegistry = meterRegistry;
+        this.groupId = groupIdPrefix + "-" + UUID.randomUUID();
+        Gauge.builder("spaceship.kafka.view.size", view, ShipKafkaView::size).register(meterRegistry);
+    }
+
+    /**
+     * Consumer group of this instance, unique per process.
+     */
+    public String groupId() {
+        return groupId;
+    }
+
+    @Override
+    public void onPartitionsAssigned(Map<TopicPartition, Long> assignments, ConsumerSeekCallback callback) {
+        Map<Boolean, Set<TopicPartition>> partitions = assignments.keySet().stream()
+                .collect(Collectors.partitioningBy(partition -> partition.topic().equals(topic), Collectors.toSet()));
+        if (!partitions.get(true).isEmpty()) {
+            log.info("Rebuilding Kafka ship view from the beginning of {}", partitions.get(true));
+            callback.seekToBeginning(partitions.get(true));
+        }
+        // the replay re-applies every event still waiting in a retry topic, older retries would only be stale
+        if (!partitions.get(false).isEmpty()) {
+            callback.seekToEnd(partitions.get(false));
+        }
+    }
+
+    @Override
+    public void onPartitionsRevoked(Collection<TopicPartition> partitions) {
+        Set<Integer> mainPartitions = partitions.stream()
+                .filter(partition -> partition.topic().equals(topic))
+                .map(TopicPartition::partition)
+                .collect(Collectors.toSet());
+        if (!mainPartitions.isEmpty()) {
+            log.info("Dropping ships of revoked partitions {} from the Kafka ship view", mainPartitions);
+            view.removePartitions(mainPartitions);
+        }
+    }
+
+    @KafkaListener(topics = "${kafka.topic.name}", groupId = "#{__listener.groupId()}")
+    public void listen(ConsumerRecord<String, Ship> record) {
+        if (!record.topic().equals(topic) && !isOwn(record)) {
+            return;
+        }
+        Ship ship = record.value();
+        Long id = ship != null && ship.getId() != null ? ship.getId() : parseKey(record.key());
+        if (id == null) {
+            log.warn("Skipping ship event without id at {}-{}@{}", record.topic(), record.partition(), record.offset());
+            return;
+        }
+        int partition = originalPartition(record);
+        long offset = originalOffset(record);
+        if (!view.apply(id, ship == null ? null : new ShipView(id, ship.getName(), ship.getType()), partition, offset)) {
+            log.debug("Ignoring stale event for ship {} from {}@{}", id, partition, offset);
+        }
+    }
+
+    public void handleDeadLetter(ConsumerRecord<String, Ship> record) {
+        if (!isOwn(record)) {
+            return;
+        }
+        String exception = headerValue(record, KafkaHeaders.DLT_EXCEPTION_CAUSE_FQCN)
+                .or(() -> headerValue(record, KafkaHeaders.DLT_EXCEPTION_FQCN))
+                .map(name -> name.substring(name.lastIndexOf('.') + 1))
+                .orElse("unknown");
+        meterRegistry.counter(DEAD_LETTERS_METRIC, "exception", exception).increment();
+        log.error("Ship event with key {} dead-lettered to {}@{} after {}: {}", record.key(), record.topic(),
+                record.offset(), exception, headerValue(record, KafkaHeaders.DLT_EXCEPTION_MESSAGE).orElse(""));
+    }
+
+    public Page<ShipView> findAll(Pageable pageable) {
+        return view.findAll(pageable);
+    }
+
+    public Optional<ShipView> findById(long id) {
+        return Optional.ofNullable(view.get(id));
+    }
+
+    public Page<ShipView> findByType(String type, Pageable pageable) {
+        return view.findByType(type, pageable);
+    }
+
+    public Page<ShipView> findByNameContaining(String name, Pageable pageable) {
+        return view.findByNameContaining(name, pageable);
+    }
+
+    /**
+     * Whether a retried or dead-lettered record was forwarded by this instance.
+     */
+    public boolean isOwn(ConsumerRecord<?, ?> record) {
+        return headerValue(record, ORIGIN_GROUP_HEADER).map(groupId::equals).orElse(false);
+    }
+
+    private static int originalPartition(ConsumerRecord<?, ?> record) {
+        Header header = record.headers().lastHeader(KafkaHeaders.DLT_ORIGINAL_PARTITION);
+        return header != null ? ByteBuffer.wrap(header.value()).getInt() : record.partition();
+    }
+
+    private static long originalOffset(ConsumerRecord<?, ?> record) {
+        Header header = record.headers().lastHeader(KafkaHeaders.DLT_ORIGINAL_OFFSET);
+        return header != null ? ByteBuffer.wrap(header.value()).getLong() : record.offset();
+    }
+
+    private static Optional<String> headerValue(ConsumerRecord<?, ?> record, String name) {
+        Header header = record.headers().lastHeader(name);
+        return Optional.ofNullable(header).map(h -> new String(h.value(), StandardCharsets.UTF_8));
     }
 
-    public List<Ship> getAllShips() {
-        return new ArrayList<>(ships);
+    private static Long parseKey(String key) {
+        try {
+            return key == null ? null : Long.valueOf(key);
+        } catch (NumberFormatException e) {
+            return null;
+        }
     }
 }
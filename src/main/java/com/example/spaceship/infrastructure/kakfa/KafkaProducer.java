@@ -1,30 +1,112 @@
 package com.example.spaceship.infrastructure.kakfa;
 
 import com.example.spaceship.domain.entities.Ship;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.support.SendResult;
 import org.springframework.stereotype.Component;
 
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Publishes ships keyed by id, so the default partitioner keeps every event of a ship on the same partition.
+ * Sends are asynchronous; their completion, or a send that fails immediately, is timed in {@code spaceship.kafka.producer.send} tagged by outcome,
+ * and {@code spaceship.kafka.producer.in-flight} counts the records still waiting for an acknowledgement.
+ */
 @Component
 @Slf4j
 public class KafkaProducer {
 
+    private static final String SEND_METRIC = "spaceship.kafka.producer.send";
+
     private final KafkaTemplate<String, Ship> kafkaTemplate;
 
+    private final Timer acknowledged;
+
+    private final Timer failed;
+
+    private final AtomicInteger inFlight = new AtomicInteger();
+
     @Value("${kafka.topic.name}")
     private String topic;
 
     @Autowired
-    public KafkaProducer(KafkaTemplate<String, Ship> kafkaTemplate) {
+    public KafkaProducer(KafkaTemplate<String, Ship> kafkaTemplate, MeterRegistry meterRegistry) {
         this.kafkaTemplate = kafkaTemplate;
+        this.acknowledged = Timer.builder(SEND_METRIC).tag("outcome", "success").register(meterRegistry);
+        this.failed = Timer.builder(SEND_METRIC).tag("outcome", "failure").register(meterRegistry);
+        meterRegistry.gauge("spaceship.kafka.producer.in-flight", inFlight);
     }
 
     public void sendMessage(Ship ship) {
-        log.info("Publishing message to {}: {}", topic, ship);
         String key = ship.getId().toString();
-        kafkaTemplate.send(topic, key, ship);
+        log.debug("Publishing ship {} to {}", key, topic);
+        send(key, ship);
+    }
+
+    /**
+     * Publishes a tombstone, which removes the ship from materialized views and from the compacted topic.
+     */
+    public void sendDeletion(Long id) {
+        log.debug("Publishing deletion of ship {} to {}", id, topic);
+        send(id.toString(), null);
+    }
+
+    public void sendDeletions(List<Long> ids) {
+        log.debug("Publishing deletion of {} ships to {}", ids.size(), topic);
+        ids.forEach(id -> send(id.toString(), null));
+        kafkaTemplate.flush();
     }
 
+    public void sendMessages(List<Ship> ships) {
+        log.debug("Publishing {} ships to {}", ships.size(), topic);
+        ships.forEach(ship -> send(ship.getId().toString(), ship));
+        kafkaTemplate.flush();
+    }
+
+    private void send(String key, Ship ship) {
+        long start = System.nanoTime();
+        inFlight.incrementAndGet();
+        CompletableFuture<SendResult<String, Ship>> result;
+        try {
+            result = kafkaTemplate.send(topic, key, ship);
+        } catch (RuntimeException e) {
+            // e.g. no metadata for the topic within max.block.ms; the caller still sees the exception
+            completed(key, start, e);
+            throw e;
+        }
+        result.whenComplete((sent, exception) -> completed(key, start, exception));
+    }
+
+    private void completed(String key, long start, Throwable exception) {
+        inFlight.decrementAndGet();
+        long elapsed = System.nanoTime() - start;
+        if (exception == null) {
+            acknowledged.record(elapsed, TimeUnit.NANOSECONDS);
+        } else {
+            failed.record(elapsed, TimeUnit.NANOSECONDS);
+            log.warn("Publishing ship {} to {} failed", key, topic, exception);
+        }
+    }
+
+    /**
+     * Sends every buffered record now instead of waiting for {@code linger.ms}; blocks until they complete.
+     */
+    public void flush() {
+        kafkaTemplate.flush();
+    }
+
+    /**
+     * Records sent but not yet acknowledged or failed.
+     */
+    public int inFlight() {
+        return inFlight.get();
+    }
 }
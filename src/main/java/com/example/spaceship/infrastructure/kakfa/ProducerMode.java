@@ -0,0 +1,45 @@
+package com.example.spaceship.infrastructure.kakfa;
+
+import org.apache.kafka.clients.producer.ProducerConfig;
+
+import java.util.Map;
+
+/**
+ * Producer presets selected with {@code kafka.producer.mode}. Settings given explicitly under
+ * {@code spring.kafka.producer} take precedence over the preset.
+ */
+public enum ProducerMode {
+
+    /**
+     * Large, compressed batches acknowledged by the partition leader only. A record acknowledged just before the
+     * leader fails can be lost, and a retried batch can be written twice or after a newer one.
+     */
+    THROUGHPUT(Map.of(
+            ProducerConfig.ACKS_CONFIG, "1",
+            ProducerConfig.ENABLE_IDEMPOTENCE_CONFIG, false,
+            ProducerConfig.LINGER_MS_CONFIG, 20,
+            ProducerConfig.BATCH_SIZE_CONFIG, 131_072,
+            ProducerConfig.COMPRESSION_TYPE_CONFIG, "lz4")),
+
+    /**
+     * Every record acknowledged by all in-sync replicas, with idempotent writes, so retries neither duplicate nor
+     * reorder records within a partition.
+     */
+    DURABILITY(Map.of(
+            ProducerConfig.ACKS_CONFIG, "all",
+            ProducerConfig.ENABLE_IDEMPOTENCE_CONFIG, true,
+            ProducerConfig.MAX_IN_FLIGHT_REQUESTS_PER_CONNECTION, 5,
+            ProducerConfig.LINGER_MS_CONFIG, 5,
+            ProducerConfig.BATCH_SIZE_CONFIG, 32_768,
+            ProducerConfig.COMPRESSION_TYPE_CONFIG, "zstd"));
+
+    private final Map<String, Object> settings;
+
+    ProducerMode(Map<String, Object> settings) {
+        this.settings = settings;
+    }
+
+    public Map<String, Object> settings() {
+        return settings;
+    }
+}
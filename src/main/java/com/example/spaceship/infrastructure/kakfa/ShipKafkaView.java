@@ -0,0 +1,194 @@
+package com.example.spaceship.infrastructure.kakfa;
+
+import com.example.spaceship.domain.views.ShipView;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Predicate;
+
+/**
+ * Latest state of every ship seen on the topic, keyed by id, with a secondary index by type. Applying an
+ * event replaces the previous state for its id, and a {@code null} state (a tombstone) removes it, so
+ * replaying the topic from the beginning converges on the same view.
+ * <p>
+ * Every event carries the partition and offset it was originally published at. Events that come back late through
+ * a retry topic are ignored when the view already holds a newer state for the same ship from the same partition,
+ * which is why deletions are remembered as tombstone entries rather than dropped. Offsets of different partitions
+ * say nothing about order, so an event for a ship last seen on another partition always applies.
+ * <p>
+ * Lookups by id are a single hash probe. Pages are served from an id-ordered snapshot that is rebuilt
+ * lazily on the first read after a change, so a quiet view pages without sorting.
+ */
+public class ShipKafkaView {
+
+    private static final Comparator<ShipView> BY_ID = Comparator.comparing(ShipView::id);
+
+    private final LongObjectMap<Entry> byId = new LongObjectMap<>();
+
+    private final Map<String, LongObjectMap<ShipView>> byType = new HashMap<>();
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private long version;
+
+    private int live;
+
+    private volatile Snapshot snapshot = new Snapshot(0, List.of());
+
+    /**
+     * Applies the state published at {@code offset} of {@code partition}; returns {@code false} if a newer state
+     * from that partition was already applied.
+     */
+    public boolean apply(long id, ShipView ship, int partition, long offset) {
+        lock.writeLock().lock();
+        try {
+            Entry previous = byId.get(id);
+            if (previous != null && previous.partition() == partition && previous.offset() > offset) {
+                return false;
+            }
+            byId.put(id, new Entry(id, partition, offset, ship));
+            if (previous != null && previous.ship() != null) {
+                unindex(previous.ship());
+                live--;
+            }
+            if (ship != null) {
+                byType.computeIfAbsent(typeKey(ship.type()), type -> new LongObjectMap<>()).put(id, ship);
+                live++;
+            }
+            version++;
+            return true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Forgets every ship last published on one of the given partitions, including remembered tombstones.
+     */
+    public void removePartitions(Collection<Integer> partitions) {
+        lock.writeLock().lock();
+        try {
+            List<Entry> removed = new ArrayList<>();
+            byId.forEachValue(entry -> {
+                if (partitions.contains(entry.partition())) {
+                    removed.add(entry);
+                }
+            });
+            for (Entry entry : removed) {
+                byId.remove(entry.id());
+                if (entry.ship() != null) {
+                    unindex(entry.ship());
+                    live--;
+                }
+            }
+            if (!removed.isEmpty()) {
+                version++;
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public ShipView get(long id) {
+        lock.readLock().lock();
+        try {
+            Entry entry = byId.get(id);
+            return entry == null ? null : entry.ship();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return live;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public Page<ShipView> findAll(Pageable pageable) {
+        return page(sorted(), pageable);
+    }
+
+    public Page<ShipView> findByType(String type, Pageable pageable) {
+        List<ShipView> ships = new ArrayList<>();
+        lock.readLock().lock();
+        try {
+            LongObjectMap<ShipView> ofType = byType.get(typeKey(type));
+            if (ofType != null) {
+                ofType.forEachValue(ships::add);
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+        ships.sort(BY_ID);
+        return page(ships, pageable);
+    }
+
+    public Page<ShipView> findByNameContaining(String name, Pageable pageable) {
+        String needle = name.trim().toLowerCase(Locale.ROOT);
+        Predicate<ShipView> matches = ship -> ship.name() != null && ship.name().toLowerCase(Locale.ROOT).contains(needle);
+        return page(sorted().stream().filter(matches).toList(), pageable);
+    }
+
+    private List<ShipView> sorted() {
+        Snapshot current = snapshot;
+        lock.readLock().lock();
+        try {
+            if (current.version() == version) {
+                return current.ships();
+            }
+            List<ShipView> ships = new ArrayList<>(live);
+            byId.forEachValue(entry -> {
+                if (entry.ship() != null) {
+                    ships.add(entry.ship());
+                }
+            });
+            ships.sort(BY_ID);
+            current = new Snapshot(version, List.copyOf(ships));
+        } finally {
+            lock.readLock().unlock();
+        }
+        snapshot = current;
+        return current.ships();
+    }
+
+    private void unindex(ShipView previous) {
+        String type = typeKey(previous.type());
+        LongObjectMap<ShipView> ofType = byType.get(type);
+        if (ofType != null) {
+            ofType.remove(previous.id());
+            if (ofType.isEmpty()) {
+                byType.remove(type);
+            }
+        }
+    }
+
+    private static String typeKey(String type) {
+        return type == null ? "" : type.trim().toLowerCase(Locale.ROOT);
+    }
+
+    private static Page<ShipView> page(List<ShipView> ships, Pageable pageable) {
+        int from = (int) Math.min(pageable.getOffset(), ships.size());
+        int to = Math.min(from + pageable.getPageSize(), ships.size());
+        return new PageImpl<>(ships.subList(from, to), pageable, ships.size());
+    }
+
+    private record Entry(long id, int partition, long offset, ShipView ship) {
+    }
+
+    private record Snapshot(long version, List<ShipView> ships) {
+    }
+}
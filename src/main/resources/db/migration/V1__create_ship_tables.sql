@@ -0,0 +1,21 @@
+-- IF NOT EXISTS keeps this baseline compatible with file databases whose schema was created by Hibernate
+CREATE SEQUENCE IF NOT EXISTS ship_seq START WITH 1 INCREMENT BY 50;
+
+CREATE TABLE IF NOT EXISTS ship (
+    id   BIGINT       NOT NULL PRIMARY KEY,
+    name VARCHAR(255),
+    type VARCHAR(255)
+);
+
+CREATE SEQUENCE IF NOT EXISTS ship_change_seq START WITH 1 INCREMENT BY 50;
+
+CREATE TABLE IF NOT EXISTS ship_change (
+    sequence    BIGINT       NOT NULL PRIMARY KEY,
+    ship_id     BIGINT,
+    change_type VARCHAR(255),
+    name        VARCHAR(255),
+    type        VARCHAR(255),
+    changed_at  TIMESTAMP(6) WITH TIME ZONE
+);
+
+CREATE INDEX IF NOT EXISTS idx_ship_change_ship_id ON ship_change (ship_id);
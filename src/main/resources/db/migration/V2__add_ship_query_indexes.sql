@@ -0,0 +1,9 @@
+-- Default listing and search results are sorted by name
+CREATE INDEX IF NOT EXISTS idx_ship_name ON ship (name);
+
+-- Type filtering, with id so that type-filtered pages can be resolved from the index alone
+CREATE INDEX IF NOT EXISTS idx_ship_type ON ship (type, id);
+
+-- H2 has no expression indexes, so case-insensitive prefix search goes through a generated column
+ALTER TABLE ship ADD COLUMN IF NOT EXISTS name_lower VARCHAR(255) GENERATED ALWAYS AS (LOWER(name));
+CREATE INDEX IF NOT EXISTS idx_ship_name_lower ON ship (name_lower);
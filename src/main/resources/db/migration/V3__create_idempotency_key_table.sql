@@ -0,0 +1,11 @@
+CREATE TABLE idempotency_key (
+    idempotency_key VARCHAR(512)                NOT NULL PRIMARY KEY,
+    fingerprint     VARCHAR(64)                 NOT NULL,
+    status          INT                         NOT NULL,
+    content_type    VARCHAR(255),
+    location        VARCHAR(2048),
+    body            BLOB,
+    expires_at      TIMESTAMP(6) WITH TIME ZONE NOT NULL
+);
+
+CREATE INDEX idx_idempotency_key_expires_at ON idempotency_key (expires_at);
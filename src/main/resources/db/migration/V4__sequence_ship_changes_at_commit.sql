@@ -0,0 +1,17 @@
+-- Changes are numbered after their transaction commits, so the feed sequence moves out of the primary key
+ALTER TABLE ship_change ADD COLUMN id BIGINT;
+UPDATE ship_change SET id = sequence;
+ALTER TABLE ship_change DROP PRIMARY KEY;
+ALTER TABLE ship_change ALTER COLUMN id SET NOT NULL;
+ALTER TABLE ship_change ADD PRIMARY KEY (id);
+ALTER TABLE ship_change ALTER COLUMN sequence SET NULL;
+
+CREATE UNIQUE INDEX idx_ship_change_sequence ON ship_change (sequence);
+
+-- Single row locked by whoever numbers the pending changes
+CREATE TABLE ship_change_head (
+    id            INT    NOT NULL PRIMARY KEY,
+    last_sequence BIGINT NOT NULL
+);
+
+INSERT INTO ship_change_head (id, last_sequence) SELECT 1, COALESCE(MAX(sequence), 0) FROM ship_change;
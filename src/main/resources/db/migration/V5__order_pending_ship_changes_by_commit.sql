@@ -0,0 +1,7 @@
+-- Pending changes are numbered in the order their transactions committed, which pooled ids do not follow
+CREATE SEQUENCE ship_change_commit_seq START WITH 1 INCREMENT BY 1;
+
+ALTER TABLE ship_change ADD COLUMN commit_order BIGINT;
+UPDATE ship_change SET commit_order = 0 WHERE sequence IS NULL;
+
+CREATE INDEX idx_ship_change_pending ON ship_change (sequence, commit_order, id);
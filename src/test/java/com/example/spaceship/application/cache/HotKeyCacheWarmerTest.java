@@ -0,0 +1,60 @@
+package com.example.spaceship.application.cache;
+
+import com.example.spaceship.application.service.ShipService;
+import com.example.spaceship.domain.views.ShipView;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.cache.concurrent.ConcurrentMapCache;
+
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class HotKeyCacheWarmerTest {
+
+    @Mock
+    private ShipService shipService;
+
+    @Mock
+    private ShipReadTracker shipReadTracker;
+
+    @InjectMocks
+    private HotKeyCacheWarmer hotKeyCacheWarmer;
+
+    private final HitCountingCache cache = new HitCountingCache(new ConcurrentMapCache("spaceship"));
+
+    @Test
+    void warm_ShouldRepeatHotReadsWithoutCountingThem() throws Exception {
+        HotRead read = new HotRead(ShipService.class.getMethod("findShipById", Long.class), new Object[]{7L});
+        when(shipReadTracker.hotReads()).thenReturn(List.of(new HotKeyTracker.HotKey<>(read, 3)));
+        when(shipService.findShipById(7L)).thenAnswer(invocation -> {
+            cache.get(7L);
+            return Optional.of(new ShipView(7L, "Enterprise", "Cruiser"));
+        });
+
+        hotKeyCacheWarmer.warm();
+
+        verify(shipService).findShipById(7L);
+        assertEquals(0, cache.hits() + cache.misses());
+        assertEquals("findShipById(7)", read.toString());
+    }
+
+    @Test
+    void hitCountingCache_ShouldCountClientLookups() {
+        cache.get(1L);
+        cache.put(1L, "ship");
+        cache.get(1L);
+        cache.get(1L, String.class);
+
+        assertEquals(2, cache.hits());
+        assertEquals(1, cache.misses());
+        assertEquals(2.0 / 3, cache.hitRatio(), 1e-9);
+    }
+}
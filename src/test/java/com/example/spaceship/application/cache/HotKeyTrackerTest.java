@@ -0,0 +1,42 @@
+package com.example.spaceship.application.cache;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class HotKeyTrackerTest {
+
+    @Test
+    void top_ShouldFindTheHeavyKeysInSkewedTraffic() {
+        HotKeyTracker<Long> tracker = new HotKeyTracker<>(5, 2048, 4);
+        SplittableRandom random = new SplittableRandom(42);
+        for (int i = 0; i < 50_000; i++) {
+            tracker.record(random.nextInt(10) == 0 ? random.nextLong(1, 6) : random.nextLong(100, 100_000));
+        }
+
+        List<Long> top = tracker.top().stream().map(HotKeyTracker.HotKey::key).sorted().toList();
+
+        assertEquals(List.of(1L, 2L, 3L, 4L, 5L), top);
+        assertTrue(tracker.top().get(0).count() >= tracker.top().get(4).count());
+    }
+
+    @Test
+    void decay_ShouldLetNewHotKeysReplaceOldOnes() {
+        HotKeyTracker<String> tracker = new HotKeyTracker<>(1, 256, 4);
+        for (int i = 0; i < 100; i++) {
+            tracker.record("old");
+        }
+        for (int i = 0; i < 8; i++) {
+            tracker.decay();
+        }
+        for (int i = 0; i < 10; i++) {
+            tracker.record("new");
+        }
+
+        assertEquals("new", tracker.top().get(0).key());
+    }
+}
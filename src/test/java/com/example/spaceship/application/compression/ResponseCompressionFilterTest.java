@@ -0,0 +1,116 @@
+package com.example.spaceship.application.compression;
+
+import com.github.luben.zstd.ZstdInputStream;
+import jakarta.servlet.DispatcherType;
+import jakarta.servlet.ServletResponse;
+import jakarta.servlet.http.HttpServletResponse;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.MediaType;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.util.unit.DataSize;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.zip.GZIPInputStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class ResponseCompressionFilterTest {
+
+    private static final String LARGE_BODY = "{\"name\":\"USS Enterprise\",\"type\":\"Constitution\"},".repeat(200);
+
+    private final ResponseCompressionFilter filter = new ResponseCompressionFilter(new CompressionProperties(
+            true, DataSize.ofKilobytes(1), List.of("zstd", "gzip"), List.of("application/json", "text/*"), 6, 3));
+
+    @Test
+    void largeJsonResponse_ShouldBeCompressedWithPreferredEncoding() throws Exception {
+        MockHttpServletResponse response = execute("gzip, deflate, br, zstd", MediaType.APPLICATION_JSON_VALUE, LARGE_BODY);
+
+        assertEquals("zstd", response.getHeader("Content-Encoding"));
+        assertEquals(LARGE_BODY, decode(new ZstdInputStream(new ByteArrayInputStream(response.getContentAsByteArray()))));
+    }
+
+    @Test
+    void largeJsonResponse_ShouldFallBackToGzip() throws Exception {
+        MockHttpServletResponse response = execute("gzip;q=0.8, zstd;q=0", MediaType.APPLICATION_JSON_VALUE, LARGE_BODY);
+
+        assertEquals("gzip", response.getHeader("Content-Encoding"));
+        assertEquals(LARGE_BODY, decode(new GZIPInputStream(new ByteArrayInputStream(response.getContentAsByteArray()))));
+    }
+
+    @Test
+    void smallResponse_ShouldNotBeCompressed() throws Exception {
+        MockHttpServletResponse response = execute("gzip", MediaType.APPLICATION_JSON_VALUE, "{\"id\":1}");
+
+        assertNull(response.getHeader("Content-Encoding"));
+        assertEquals("{\"id\":1}", response.getContentAsString());
+        assertEquals(8, response.getContentLength());
+    }
+
+    @Test
+    void nonCompressibleContentType_ShouldNotBeCompressed() throws Exception {
+        MockHttpServletResponse response = execute("gzip", MediaType.IMAGE_PNG_VALUE, LARGE_BODY);
+
+        assertNull(response.getHeader("Content-Encoding"));
+        assertEquals(LARGE_BODY, response.getContentAsString());
+    }
+
+    @Test
+    void clientWithoutAcceptEncoding_ShouldReceiveIdentity() throws Exception {
+        MockHttpServletResponse response = execute(null, MediaType.APPLICATION_JSON_VALUE, LARGE_BODY);
+
+        assertNull(response.getHeader("Content-Encoding"));
+        assertEquals(LARGE_BODY, response.getContentAsString());
+    }
+
+    @Test
+    void asyncResponse_ShouldBeFinishedByTheAsyncDispatch() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/spaceships");
+        request.addHeader("Accept-Encoding", "gzip");
+        request.setAsyncSupported(true);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        AtomicReference<ServletResponse> wrapped = new AtomicReference<>();
+        filter.doFilter(request, response, (req, res) -> {
+            req.startAsync(req, res);
+            res.setContentType(MediaType.APPLICATION_JSON_VALUE);
+            wrapped.set(res);
+        });
+
+        // written by the async task after the first dispatch has returned
+        wrapped.get().getOutputStream().write(LARGE_BODY.getBytes(StandardCharsets.UTF_8));
+        request.setAsyncStarted(false);
+        request.setDispatcherType(DispatcherType.ASYNC);
+        filter.doFilter(request, wrapped.get(), (req, res) -> {
+        });
+
+        assertEquals("gzip", response.getHeader("Content-Encoding"));
+        assertEquals(LARGE_BODY, decode(new GZIPInputStream(new ByteArrayInputStream(response.getContentAsByteArray()))));
+    }
+
+    private MockHttpServletResponse execute(String acceptEncoding, String contentType, String body) throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/spaceships");
+        if (acceptEncoding != null) {
+            request.addHeader("Accept-Encoding", acceptEncoding);
+        }
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(request, response, (req, res) -> {
+            HttpServletResponse httpResponse = (HttpServletResponse) res;
+            httpResponse.setContentType(contentType);
+            httpResponse.getOutputStream().write(body.getBytes(StandardCharsets.UTF_8));
+            httpResponse.getOutputStream().flush();
+        });
+        return response;
+    }
+
+    private String decode(InputStream inputStream) throws IOException {
+        try (inputStream) {
+            return new String(inputStream.readAllBytes(), StandardCharsets.UTF_8);
+        }
+    }
+}
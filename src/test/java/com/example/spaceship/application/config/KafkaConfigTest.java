@@ -0,0 +1,30 @@
+package com.example.spaceship.application.config;
+
+import com.example.spaceship.infrastructure.kakfa.ProducerMode;
+import org.apache.kafka.clients.producer.ProducerConfig;
+import org.junit.jupiter.api.Test;
+import org.springframework.kafka.core.DefaultKafkaProducerFactory;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class KafkaConfigTest {
+
+    @Test
+    void producerMode_ShouldFillOnlySettingsNotConfiguredExplicitly() {
+        KafkaConfig config = new KafkaConfig();
+        ReflectionTestUtils.setField(config, "producerMode", ProducerMode.THROUGHPUT);
+        DefaultKafkaProducerFactory<Object, Object> factory = new DefaultKafkaProducerFactory<>(
+                Map.of(ProducerConfig.COMPRESSION_TYPE_CONFIG, "gzip"));
+
+        config.producerModeCustomizer().customize(factory);
+
+        Map<String, Object> settings = factory.getConfigurationProperties();
+        assertEquals("gzip", settings.get(ProducerConfig.COMPRESSION_TYPE_CONFIG));
+        assertEquals("1", settings.get(ProducerConfig.ACKS_CONFIG));
+        assertEquals(false, settings.get(ProducerConfig.ENABLE_IDEMPOTENCE_CONFIG));
+        assertEquals(20, settings.get(ProducerConfig.LINGER_MS_CONFIG));
+    }
+}
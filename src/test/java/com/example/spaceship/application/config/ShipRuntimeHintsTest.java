@@ -0,0 +1,40 @@
+package com.example.spaceship.application.config;
+
+import com.example.spaceship.domain.entities.Ship;
+import com.example.spaceship.domain.views.ShipNameView;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.aot.hint.MemberCategory;
+import org.springframework.aot.hint.RuntimeHints;
+import org.springframework.aot.hint.predicate.RuntimeHintsPredicates;
+import org.springframework.kafka.support.serializer.JsonDeserializer;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ShipRuntimeHintsTest {
+
+    private final RuntimeHints hints = new RuntimeHints();
+
+    @BeforeEach
+    void setUp() {
+        new ShipRuntimeHints().registerHints(hints, getClass().getClassLoader());
+    }
+
+    @Test
+    void registerHints_ShouldAllowBindingShip() throws Exception {
+        assertTrue(RuntimeHintsPredicates.reflection().onType(Ship.class).test(hints));
+        assertTrue(RuntimeHintsPredicates.reflection().onMethod(Ship.class.getMethod("setName", String.class)).test(hints));
+    }
+
+    @Test
+    void registerHints_ShouldAllowConstructingProjections() throws Exception {
+        assertTrue(RuntimeHintsPredicates.reflection()
+                .onConstructor(ShipNameView.class.getDeclaredConstructor(Long.class, String.class)).test(hints));
+    }
+
+    @Test
+    void registerHints_ShouldAllowInstantiatingKafkaSerdes() {
+        assertTrue(RuntimeHintsPredicates.reflection()
+                .onType(JsonDeserializer.class).withMemberCategory(MemberCategory.INVOKE_PUBLIC_CONSTRUCTORS).test(hints));
+    }
+}
@@ -0,0 +1,35 @@
+package com.example.spaceship.application.config;
+
+import com.example.spaceship.domain.views.ShipView;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.module.SimpleModule;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class ShipViewSerializerTest {
+
+    private final ObjectMapper reflective = new ObjectMapper();
+
+    private final ObjectMapper mapper = new ObjectMapper()
+            .registerModule(new SimpleModule().addSerializer(new ShipViewSerializer()));
+
+    @Test
+    void serialize_ShouldMatchReflectiveRecordSerialization() throws Exception {
+        List<ShipView> ships = List.of(new ShipView(1L, "Enterprise", "Cruiser"), new ShipView(null, "\"Quoted\"", null));
+
+        assertEquals(reflective.writeValueAsString(ships), mapper.writeValueAsString(ships));
+    }
+
+    @Test
+    void serialize_Smile_ShouldRoundTrip() throws Exception {
+        ObjectMapper smile = new ObjectMapper(new SmileFactory())
+                .registerModule(new SimpleModule().addSerializer(new ShipViewSerializer()));
+        ShipView ship = new ShipView(42L, "Millennium Falcon", "Freighter");
+
+        assertEquals(ship, smile.readValue(smile.writeValueAsBytes(ship), ShipView.class));
+    }
+}
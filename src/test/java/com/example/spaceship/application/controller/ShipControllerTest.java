@@ -2,8 +2,17 @@ package com.example.spaceship.application.controller;
 
 import com.example.spaceship.application.exceptions.ShipAlreadyExistsException;
 import com.example.spaceship.application.exceptions.ShipNotFoundException;
+import com.example.spaceship.application.exceptions.ShipWriteRejectedException;
+import com.example.spaceship.application.service.ShipChangeBatch;
+import com.example.spaceship.application.service.ShipChangeService;
 import com.example.spaceship.application.service.ShipServiceImpl;
+import com.example.spaceship.application.service.ShipWriteBehindService;
+import com.example.spaceship.application.service.ShipWriteStatus;
 import com.example.spaceship.domain.entities.Ship;
+import com.example.spaceship.domain.entities.ShipChange;
+import com.example.spaceship.domain.ports.ShipCriteria;
+import com.example.spaceship.domain.views.ShipNameView;
+import com.example.spaceship.domain.views.ShipView;
 import com.example.spaceship.application.util.UriBuilder;
 import com.example.spaceship.infrastructure.kakfa.KafkaConsumer;
 import com.example.spaceship.infrastructure.kakfa.KafkaProducer;
@@ -17,13 +26,18 @@ import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.test.util.ReflectionTestUtils;
 
 import java.net.URI;
+import java.time.Duration;
+import java.time.Instant;
 import java.util.List;
 import java.util.Objects;
+import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.Mockito.when;
 import static org.mockito.Mockito.any;
 import static org.mockito.Mockito.anyString;
@@ -31,6 +45,7 @@ import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.doNothing;
 import static org.mockito.Mockito.doThrow;
 import static org.mockito.Mockito.eq;
+import static org.mockito.Mockito.never;
 
 class ShipControllerTest {
 
@@ -38,9 +53,16 @@ class ShipControllerTest {
 
     private final Ship SHIP2 = generateShip(2L, "name2", "type2");
 
+    private final ShipView VIEW1 = new ShipView(1L, "name1", "type1");
+
+    private final ShipView VIEW2 = new ShipView(2L, "name2", "type2");
+
     @Mock
     private ShipServiceImpl shipServiceImpl;
 
+    @Mock
+    private ShipChangeService shipChangeService;
+
     @Mock
     private UriBuilder uriBuilder;
 
@@ -50,71 +72,148 @@ class ShipControllerTest {
     @Mock
     private KafkaConsumer kafkaConsumer;
 
+    @Mock
+    private ShipWriteBehindService shipWriteBehindService;
+
     @InjectMocks
     private ShipController shipController;
 
     @BeforeEach
     void setUp() {
         MockitoAnnotations.openMocks(this);
+        // write-behind is opt-in, so the synchronous path is the default under test
+        ReflectionTestUtils.setField(shipController, "shipWriteBehindService", null);
     }
 
     @Test
     void getAllShips() {
-        Page<Ship> shipPage = new PageImpl<>(List.of(SHIP1));
-        when(shipServiceImpl.getAllShips(any(Pageable.class))).thenReturn(shipPage);
+        Page<ShipView> shipPage = new PageImpl<>(List.of(VIEW1));
+        when(shipServiceImpl.getAllShips(any(Pageable.class), eq(ShipView.class))).thenReturn(shipPage);
 
-        ResponseEntity<Page<Ship>> response = shipController.getAllShips(0, 10, "name", "asc");
+        ResponseEntity<Page<?>> response = shipController.getAllShips(0, 10, "name", "asc", null);
 
         assertEquals(HttpStatus.OK, response.getStatusCode());
         assertNotNull(response.getBody());
         assertEquals(1, response.getBody().getTotalElements());
-        verify(shipServiceImpl).getAllShips(any(Pageable.class));
+        verify(shipServiceImpl).getAllShips(any(Pageable.class), eq(ShipView.class));
+    }
+
+    @Test
+    void getAllShips_WithNameField_ReturnsNameViews() {
+        Page<ShipNameView> viewPage = new PageImpl<>(List.of(new ShipNameView(1L, "name1")));
+        when(shipServiceImpl.getAllShips(any(Pageable.class), eq(ShipNameView.class))).thenReturn(viewPage);
+
+        ResponseEntity<Page<?>> response = shipController.getAllShips(0, 10, "name", "asc", "id,name");
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals(viewPage, response.getBody());
+    }
+
+    @Test
+    void getAllShips_WithUnknownField_ThrowsIllegalArgument() {
+        assertThrows(IllegalArgumentException.class, () -> shipController.getAllShips(0, 10, "name", "asc", "id,speed"));
     }
 
     @Test
     public void getAllShipsFromKafka() {
-        List<Ship> ships = List.of(SHIP1, SHIP2);
-        when(kafkaConsumer.getAllShips()).thenReturn(ships);
+        Page<ShipView> ships = new PageImpl<>(List.of(VIEW1, VIEW2));
+        when(kafkaConsumer.findAll(any(Pageable.class))).thenReturn(ships);
 
-        ResponseEntity<List<Ship>> response = shipController.getAllShipsFromKafka();
+        ResponseEntity<Page<ShipView>> response = shipController.getAllShipsFromKafka(0, 10, null);
 
         assertEquals(200, response.getStatusCode().value());
         assertEquals(ships, response.getBody());
     }
 
+    @Test
+    void getAllShipsFromKafka_WithType_UsesTypeIndex() {
+        Page<ShipView> ships = new PageImpl<>(List.of(VIEW2));
+        when(kafkaConsumer.findByType(eq("type2"), any(Pageable.class))).thenReturn(ships);
+
+        ResponseEntity<Page<ShipView>> response = shipController.getAllShipsFromKafka(0, 10, "type2");
+
+        assertEquals(ships, response.getBody());
+    }
+
+    @Test
+    void getShipFromKafka_MissingId_ReturnsNotFound() {
+        when(kafkaConsumer.findById(3L)).thenReturn(Optional.empty());
+
+        ResponseEntity<ShipView> response = shipController.getShipFromKafka(3L);
+
+        assertEquals(HttpStatus.NOT_FOUND, response.getStatusCode());
+    }
+
+    @Test
+    void searchShipsFromKafka_BlankName_ThrowsIllegalArgument() {
+        assertThrows(IllegalArgumentException.class, () -> shipController.searchShipsFromKafka(" ", 0, 10));
+    }
+
+    @Test
+    void getChanges_ReturnsChangesSinceSequence() {
+        ShipChange deletion = new ShipChange(ShipChange.ChangeType.DELETED, 2L, null, null);
+        deletion.setSequence(8L);
+        ShipChangeBatch batch = new ShipChangeBatch(List.of(deletion), 8L, false);
+        when(shipChangeService.getChangesSince(5L, 100)).thenReturn(batch);
+
+        ResponseEntity<ShipChangeBatch> response = shipController.getChanges(5L, 100);
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals(batch, response.getBody());
+    }
+
     @Test
     void getShipById_ExistingId_ReturnsShip() {
-        when(shipServiceImpl.getShipById(1L)).thenReturn(SHIP1);
+        when(shipServiceImpl.findShipById(1L)).thenReturn(Optional.of(VIEW1));
 
-        ResponseEntity<Ship> response = shipController.getShipById(1L);
+        ResponseEntity<ShipView> response = shipController.getShipById(1L);
 
         assertEquals(HttpStatus.OK, response.getStatusCode());
         assertNotNull(response.getBody());
-        assertEquals(SHIP1.getName(), response.getBody().getName());
-        verify(shipServiceImpl).getShipById(1L);
+        assertEquals(VIEW1.name(), response.getBody().name());
+        verify(shipServiceImpl).findShipById(1L);
     }
 
     @Test
     void getShipById_NonExistingId_ReturnsNotFound() {
-        when(shipServiceImpl.getShipById(1L)).thenThrow(new ShipNotFoundException("Ship not found"));
+        when(shipServiceImpl.findShipById(1L)).thenReturn(Optional.empty());
 
-        ResponseEntity<Ship> response = shipController.getShipById(1L);
+        ResponseEntity<ShipView> response = shipController.getShipById(1L);
 
         assertEquals(HttpStatus.NOT_FOUND, response.getStatusCode());
-        verify(shipServiceImpl).getShipById(1L);
+        verify(shipServiceImpl).findShipById(1L);
     }
 
     @Test
     void findShipsByName_ValidName_ReturnsPageOfShips() {
-        Page<Ship> shipPage = new PageImpl<>(List.of(SHIP1, SHIP2));
-        when(shipServiceImpl.findShipsByName(anyString(), any(Pageable.class))).thenReturn(shipPage);
+        Page<ShipView> shipPage = new PageImpl<>(List.of(VIEW1, VIEW2));
+        when(shipServiceImpl.findShipsByName(anyString(), any(Pageable.class), eq(ShipView.class))).thenReturn(shipPage);
 
-        ResponseEntity<Page<Ship>> response = shipController.findShipsByName("Test", 0, 10, "name", "asc");
+        ResponseEntity<Page<?>> response = shipController.findShipsByName("Test", 0, 10, "name", "asc", null);
 
         assertEquals(HttpStatus.OK, response.getStatusCode());
         assertNotNull(response.getBody());
         assertEquals(shipPage.getSize(), response.getBody().getTotalElements());
-        verify(shipServiceImpl).findShipsByName(eq("Test"), any(Pageable.class));
+        verify(shipServiceImpl).findShipsByName(eq("Test"), any(Pageable.class), eq(ShipView.class));
+    }
+
+    @Test
+    void findShipsByCriteria_ValidCriteria_PassesNormalizedCriteria() {
+        Page<ShipView> shipPage = new PageImpl<>(List.of(VIEW1));
+        ShipCriteria expected = ShipCriteria.of("name", ShipCriteria.NameMatch.PREFIX, List.of("type1", "type2"), 1L, 10L);
+        when(shipServiceImpl.findShipsByCriteria(eq(expected), any(Pageable.class), eq(ShipView.class))).thenReturn(shipPage);
+
+        ResponseEntity<Page<?>> response = shipController.findShipsByCriteria(" Name ", "prefix",
+                List.of("type2", "type1"), 1L, 10L, 0, 10, "name", "asc", null);
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals(1, Objects.requireNonNull(response.getBody()).getTotalElements());
+    }
+
+    @Test
+    void findShipsByCriteria_UnknownMatchMode_ThrowsIllegalArgument() {
+        assertThrows(IllegalArgumentException.class, () -> shipController.findShipsByCriteria("name", "fuzzy",
+                null, null, null, 0, 10, "name", "asc", null));
     }
 
     @Test
@@ -124,46 +223,72 @@ class ShipControllerTest {
         when(uriBuilder.buildUri(eq("/{id}"), eq(SHIP1.getId()))).thenReturn(URI.create(uri));
         doNothing().when(kafkaProducer).sendMessage(any(Ship.class));
 
-        ResponseEntity<Ship> response = shipController.createShip(SHIP1);
+        ResponseEntity<?> response = shipController.createShip(SHIP1);
 
         assertEquals(HttpStatus.CREATED, response.getStatusCode());
         assertNotNull(response.getBody());
-        assertEquals(SHIP1.getName(), response.getBody().getName());
+        assertEquals(SHIP1.getName(), ((Ship) response.getBody()).getName());
         assertEquals(uri, Objects.requireNonNull(response.getHeaders().getLocation()).toString());
         verify(shipServiceImpl).createShip(any(Ship.class));
         verify(uriBuilder).buildUri(eq("/{id}"), eq(SHIP1.getId()));
     }
 
     @Test
-    void createShip_DuplicateShip_ReturnsBadRequest() {
+    void createShip_DuplicateShip_PropagatesException() {
         when(shipServiceImpl.createShip(any(Ship.class))).thenThrow(new ShipAlreadyExistsException("Ship already exists"));
 
-        ResponseEntity<Ship> response = shipController.createShip(SHIP1);
-
-        assertEquals(HttpStatus.BAD_REQUEST, response.getStatusCode());
+        assertThrows(ShipAlreadyExistsException.class, () -> shipController.createShip(SHIP1));
         verify(shipServiceImpl).createShip(any(Ship.class));
+        verify(kafkaProducer, never()).sendMessage(any(Ship.class));
+    }
+
+    @Test
+    void createShip_WriteBehind_ReturnsAcceptedWithStatusUrl() {
+        ShipWriteStatus status = new ShipWriteStatus("write-1", ShipWriteStatus.Operation.CREATE,
+                ShipWriteStatus.State.PENDING, null, null, Instant.now(), null);
+        String uri = "http://test.com/api/spaceships/writes/write-1";
+        when(shipWriteBehindService.submitCreate(any(Ship.class))).thenReturn(status);
+        when(uriBuilder.buildContextUri(eq("/api/spaceships/writes/{writeId}"), eq("write-1"))).thenReturn(URI.create(uri));
+        ReflectionTestUtils.setField(shipController, "shipWriteBehindService", shipWriteBehindService);
+
+        ResponseEntity<?> response = shipController.createShip(SHIP1);
+
+        assertEquals(HttpStatus.ACCEPTED, response.getStatusCode());
+        assertEquals(status, response.getBody());
+        assertEquals(uri, Objects.requireNonNull(response.getHeaders().getLocation()).toString());
+        verify(shipServiceImpl, never()).createShip(any(Ship.class));
+        verify(kafkaProducer, never()).sendMessage(any(Ship.class));
+    }
+
+    @Test
+    void createShip_WriteQueueFull_PropagatesRejection() {
+        when(shipWriteBehindService.submitCreate(any(Ship.class)))
+                .thenThrow(new ShipWriteRejectedException("Write queue is full", Duration.ofSeconds(2)));
+        ReflectionTestUtils.setField(shipController, "shipWriteBehindService", shipWriteBehindService);
+
+        assertThrows(ShipWriteRejectedException.class, () -> shipController.createShip(SHIP1));
+        verify(shipServiceImpl, never()).createShip(any(Ship.class));
     }
 
     @Test
     void updateShip_ExistingShip_ReturnsUpdatedShip() {
         when(shipServiceImpl.updateShip(eq(SHIP1.getId()), any(Ship.class))).thenReturn(SHIP1);
 
-        ResponseEntity<Ship> response = shipController.updateShip(SHIP1.getId(), SHIP1);
+        ResponseEntity<?> response = shipController.updateShip(SHIP1.getId(), SHIP1);
 
         assertEquals(HttpStatus.OK, response.getStatusCode());
         assertNotNull(response.getBody());
-        assertEquals(SHIP1.getName(), response.getBody().getName());
+        assertEquals(SHIP1.getName(), ((Ship) response.getBody()).getName());
         verify(shipServiceImpl).updateShip(eq(SHIP1.getId()), any(Ship.class));
+        verify(kafkaProducer).sendMessage(SHIP1);
     }
 
     @Test
-    void updateShip_NonExistingShip_ReturnsNotFound() {
+    void updateShip_NonExistingShip_PropagatesNotFound() {
         when(shipServiceImpl.updateShip(eq(SHIP1.getId()), any(Ship.class))).thenThrow(new ShipNotFoundException("Ship not found"));
 
-        ResponseEntity<Ship> response = shipController.updateShip(SHIP1.getId(), SHIP1);
-
-        assertEquals(HttpStatus.NOT_FOUND, response.getStatusCode());
-        verify(shipServiceImpl).updateShip(eq(SHIP1.getId()), any(Ship.class));
+        assertThrows(ShipNotFoundException.class, () -> shipController.updateShip(SHIP1.getId(), SHIP1));
+        verify(kafkaProducer, never()).sendMessage(any(Ship.class));
     }
 
     @Test
@@ -174,26 +299,25 @@ class ShipControllerTest {
 
         assertEquals(HttpStatus.NO_CONTENT, response.getStatusCode());
         verify(shipServiceImpl).deleteShip(1L);
+        verify(kafkaProducer).sendDeletion(1L);
     }
 
     @Test
-    void deleteShipById_NonExistingId_ReturnsNotFound() {
+    void deleteShipById_NonExistingId_PropagatesNotFound() {
         doThrow(new ShipNotFoundException("Ship not found")).when(shipServiceImpl).deleteShip(1L);
 
-        ResponseEntity<Void> response = shipController.deleteShipById(1L);
-
-        assertEquals(HttpStatus.NOT_FOUND, response.getStatusCode());
-        verify(shipServiceImpl).deleteShip(1L);
+        assertThrows(ShipNotFoundException.class, () -> shipController.deleteShipById(1L));
+        verify(kafkaProducer, never()).sendDeletion(1L);
     }
 
     @Test
-    void deleteAll_ReturnsNoContent() {
-        doNothing().when(shipServiceImpl).deleteAll();
+    void deleteAll_ReturnsNoContentAndPublishesTombstones() {
+        when(shipServiceImpl.deleteAll()).thenReturn(List.of(1L, 2L));
 
         ResponseEntity<Void> response = shipController.deleteAll();
 
         assertEquals(HttpStatus.NO_CONTENT, response.getStatusCode());
-        verify(shipServiceImpl).deleteAll();
+        verify(kafkaProducer).sendDeletions(List.of(1L, 2L));
     }
 
     private Ship generateShip(Long id, String name, String type) {
@@ -0,0 +1,113 @@
+package com.example.spaceship.application.controller;
+
+import com.example.spaceship.application.exceptions.ShipNotFoundException;
+import com.example.spaceship.application.exceptions.ShipRetrievalException;
+import com.example.spaceship.application.exceptions.ShipWriteRejectedException;
+import com.example.spaceship.application.service.ShipChangeService;
+import com.example.spaceship.application.service.ShipService;
+import com.example.spaceship.application.service.ShipWriteBehindService;
+import com.example.spaceship.application.util.UriBuilder;
+import com.example.spaceship.domain.entities.Ship;
+import com.example.spaceship.domain.views.ShipView;
+import com.example.spaceship.infrastructure.kakfa.KafkaConsumer;
+import com.example.spaceship.infrastructure.kakfa.KafkaProducer;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.data.domain.Pageable;
+import org.springframework.http.MediaType;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import java.time.Duration;
+
+import static org.mockito.Mockito.any;
+import static org.mockito.Mockito.eq;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+class ShipExceptionHandlerTest {
+
+    private static final String SHIP_JSON = "{\"name\":\"Enterprise\",\"type\":\"Cruiser\"}";
+
+    @Mock
+    private ShipService shipService;
+
+    @Mock
+    private ShipChangeService shipChangeService;
+
+    @Mock
+    private UriBuilder uriBuilder;
+
+    @Mock
+    private KafkaProducer kafkaProducer;
+
+    @Mock
+    private KafkaConsumer kafkaConsumer;
+
+    @Mock
+    private ShipWriteBehindService shipWriteBehindService;
+
+    @InjectMocks
+    private ShipController shipController;
+
+    private MockMvc mockMvc;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        ReflectionTestUtils.setField(shipController, "shipWriteBehindService", null);
+        mockMvc = MockMvcBuilders.standaloneSetup(shipController)
+                .setControllerAdvice(new ShipExceptionHandler())
+                .build();
+    }
+
+    @Test
+    void shipNotFound_ShouldMapToNotFound() throws Exception {
+        when(shipService.updateShip(eq(9L), any(Ship.class))).thenThrow(new ShipNotFoundException("Ship not found with id: 9"));
+
+        mockMvc.perform(put("/api/spaceships/9").contentType(MediaType.APPLICATION_JSON).content(SHIP_JSON))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    void illegalArgument_ShouldMapToBadRequestWithMessage() throws Exception {
+        mockMvc.perform(get("/api/spaceships/filter").param("match", "fuzzy"))
+                .andExpect(status().isBadRequest())
+                .andExpect(content().string("Unknown name match 'fuzzy', expected prefix or contains"));
+    }
+
+    @Test
+    void writeRejected_ShouldMapToServiceUnavailableWithRetryAfter() throws Exception {
+        when(shipWriteBehindService.submitCreate(any(Ship.class)))
+                .thenThrow(new ShipWriteRejectedException("Write queue is full", Duration.ofMillis(200)));
+        ReflectionTestUtils.setField(shipController, "shipWriteBehindService", shipWriteBehindService);
+
+        mockMvc.perform(post("/api/spaceships").contentType(MediaType.APPLICATION_JSON).content(SHIP_JSON))
+                .andExpect(status().isServiceUnavailable())
+                .andExpect(header().string("Retry-After", "1"));
+    }
+
+    @Test
+    void unexpectedFailure_ShouldMapToInternalServerError() throws Exception {
+        when(shipService.getAllShips(any(Pageable.class), eq(ShipView.class)))
+                .thenThrow(new ShipRetrievalException("Error occurred while retrieving all ships", new IllegalStateException()));
+
+        mockMvc.perform(get("/api/spaceships"))
+                .andExpect(status().isInternalServerError());
+    }
+
+    @Test
+    void malformedBody_ShouldKeepSpringStatus() throws Exception {
+        mockMvc.perform(post("/api/spaceships").contentType(MediaType.APPLICATION_JSON).content("{"))
+                .andExpect(status().isBadRequest());
+    }
+}
@@ -0,0 +1,180 @@
+package com.example.spaceship.application.idempotency;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ReadListener;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletInputStream;
+import jakarta.servlet.http.HttpServletResponse;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.MediaType;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class IdempotencyFilterTest {
+
+    private static final String SHIP_JSON = "{\"name\":\"USS Enterprise\",\"type\":\"Constitution\"}";
+
+    private final InMemoryIdempotencyStore store = new InMemoryIdempotencyStore(100);
+
+    private final IdempotencyFilter filter = new IdempotencyFilter(
+            new IdempotencyProperties(true, Duration.ofHours(1), 100, 255, IdempotencyProperties.Store.MEMORY, Duration.ofMinutes(5)),
+            store, new SimpleMeterRegistry());
+
+    private final AtomicInteger invocations = new AtomicInteger();
+
+    @Test
+    void retryWithSameKey_ShouldReplayOriginalResponseWithoutInvokingController() throws Exception {
+        MockHttpServletResponse first = execute("key-1", SHIP_JSON, created());
+        MockHttpServletResponse retry = execute("key-1", SHIP_JSON, created());
+
+        assertEquals(1, invocations.get());
+        assertEquals(201, retry.getStatus());
+        assertEquals(first.getContentAsString(), retry.getContentAsString());
+        assertEquals("/api/spaceships/1", retry.getHeader("Location"));
+        assertEquals(MediaType.APPLICATION_JSON_VALUE, retry.getContentType());
+        assertEquals("true", retry.getHeader(IdempotencyFilter.REPLAYED_HEADER));
+        assertNull(first.getHeader(IdempotencyFilter.REPLAYED_HEADER));
+    }
+
+    @Test
+    void controller_ShouldStillReadTheRequestBody() throws Exception {
+        execute("key-1", SHIP_JSON, (req, res) -> {
+            invocations.incrementAndGet();
+            assertEquals(SHIP_JSON, new String(req.getInputStream().readAllBytes(), StandardCharsets.UTF_8));
+        });
+
+        assertEquals(1, invocations.get());
+    }
+
+    @Test
+    void controller_ShouldReadTheRequestBodyWithReadListener() throws Exception {
+        StringBuilder body = new StringBuilder();
+        execute("key-1", SHIP_JSON, (req, res) -> {
+            ServletInputStream input = req.getInputStream();
+            input.setReadListener(new ReadListener() {
+                @Override
+                public void onDataAvailable() throws IOException {
+                    while (input.isReady() && !input.isFinished()) {
+                        body.append((char) input.read());
+                    }
+                }
+
+                @Override
+                public void onAllDataRead() {
+                    invocations.incrementAndGet();
+                }
+
+                @Override
+                public void onError(Throwable t) {
+                    throw new AssertionError(t);
+                }
+            });
+        });
+
+        assertEquals(SHIP_JSON, body.toString());
+        assertEquals(1, invocations.get());
+    }
+
+    @Test
+    void putWithKey_ShouldPassThroughEveryTime() throws Exception {
+        for (int i = 0; i < 2; i++) {
+            MockHttpServletRequest request = new MockHttpServletRequest("PUT", "/api/spaceships/1");
+            request.addHeader(IdempotencyFilter.IDEMPOTENCY_KEY_HEADER, "key-1");
+            filter.doFilter(request, new MockHttpServletResponse(), created());
+        }
+
+        assertEquals(2, invocations.get());
+        assertEquals(0, store.size());
+    }
+
+    @Test
+    void sameKeyWithDifferentBody_ShouldBeRejected() throws Exception {
+        execute("key-1", SHIP_JSON, created());
+        MockHttpServletResponse response = execute("key-1", "{\"name\":\"Other\"}", created());
+
+        assertEquals(422, response.getStatus());
+        assertEquals(1, invocations.get());
+    }
+
+    @Test
+    void retryWhileFirstRequestIsRunning_ShouldReturnConflict() throws Exception {
+        MockHttpServletResponse[] nested = new MockHttpServletResponse[1];
+        execute("key-1", SHIP_JSON, (req, res) -> nested[0] = execute("key-1", SHIP_JSON, created()));
+
+        assertEquals(409, nested[0].getStatus());
+        assertEquals("1", nested[0].getHeader("Retry-After"));
+    }
+
+    @Test
+    void serverError_ShouldNotBeStored() throws Exception {
+        execute("key-1", SHIP_JSON, (req, res) -> {
+            invocations.incrementAndGet();
+            ((HttpServletResponse) res).setStatus(500);
+        });
+        MockHttpServletResponse retry = execute("key-1", SHIP_JSON, created());
+
+        assertEquals(2, invocations.get());
+        assertEquals(201, retry.getStatus());
+    }
+
+    @Test
+    void exceptionInChain_ShouldReleaseKey() throws Exception {
+        assertThrows(IllegalStateException.class, () -> execute("key-1", SHIP_JSON, (req, res) -> {
+            throw new IllegalStateException("boom");
+        }));
+        execute("key-1", SHIP_JSON, created());
+
+        assertEquals(1, invocations.get());
+        assertEquals(1, store.size());
+    }
+
+    @Test
+    void requestWithoutKey_ShouldPassThroughEveryTime() throws Exception {
+        execute(null, SHIP_JSON, created());
+        execute(null, SHIP_JSON, created());
+
+        assertEquals(2, invocations.get());
+        assertEquals(0, store.size());
+    }
+
+    @Test
+    void overlongKey_ShouldBeRejected() throws Exception {
+        MockHttpServletResponse response = execute("k".repeat(256), SHIP_JSON, created());
+
+        assertEquals(400, response.getStatus());
+        assertEquals(0, invocations.get());
+    }
+
+    private FilterChain created() {
+        return (req, res) -> {
+            int id = invocations.incrementAndGet();
+            HttpServletResponse httpResponse = (HttpServletResponse) res;
+            httpResponse.setStatus(201);
+            httpResponse.setContentType(MediaType.APPLICATION_JSON_VALUE);
+            httpResponse.setHeader("Location", "/api/spaceships/" + id);
+            httpResponse.getOutputStream().write(("{\"id\":" + id + "}").getBytes(StandardCharsets.UTF_8));
+        };
+    }
+
+    private MockHttpServletResponse execute(String key, String body, FilterChain chain) throws IOException, ServletException {
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/api/spaceships");
+        request.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        request.setContent(body.getBytes(StandardCharsets.UTF_8));
+        if (key != null) {
+            request.addHeader(IdempotencyFilter.IDEMPOTENCY_KEY_HEADER, key);
+        }
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(request, response, chain);
+        return response;
+    }
+}
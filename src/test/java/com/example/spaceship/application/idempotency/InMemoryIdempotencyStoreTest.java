@@ -0,0 +1,82 @@
+package com.example.spaceship.application.idempotency;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class InMemoryIdempotencyStoreTest {
+
+    private static final Instant START = Instant.parse("2024-01-01T00:00:00Z");
+
+    private final AtomicReference<Instant> now = new AtomicReference<>(START);
+
+    private final InMemoryIdempotencyStore store = new InMemoryIdempotencyStore(2, new Clock() {
+        @Override
+        public ZoneOffset getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(java.time.ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return now.get();
+        }
+    });
+
+    @Test
+    void expiredRecord_ShouldNotBlockNewReservation() {
+        store.complete("a", completed(START.plusSeconds(10)));
+        now.set(START.plusSeconds(10));
+
+        assertTrue(store.reserve("a", IdempotencyRecord.inProgress("fp", START.plusSeconds(20))).isEmpty());
+    }
+
+    @Test
+    void fullStore_ShouldEvictCompletedRecordClosestToExpiry() {
+        store.complete("a", completed(START.plusSeconds(20)));
+        store.complete("b", completed(START.plusSeconds(10)));
+
+        store.reserve("c", IdempotencyRecord.inProgress("fp", START.plusSeconds(30)));
+
+        assertEquals(2, store.size());
+        store.release("c");
+        assertTrue(store.reserve("a", IdempotencyRecord.inProgress("fp", START.plusSeconds(30))).isPresent());
+        assertTrue(store.reserve("b", IdempotencyRecord.inProgress("fp", START.plusSeconds(30))).isEmpty());
+    }
+
+    @Test
+    void release_ShouldOnlyDropInProgressRecords() {
+        store.reserve("a", IdempotencyRecord.inProgress("fp", START.plusSeconds(10)));
+        store.complete("b", completed(START.plusSeconds(10)));
+
+        store.release("a");
+        store.release("b");
+
+        assertEquals(1, store.size());
+    }
+
+    @Test
+    void purgeExpired_ShouldRemoveOnlyExpiredRecords() {
+        store.complete("a", completed(START.plus(Duration.ofSeconds(5))));
+        store.complete("b", completed(START.plus(Duration.ofSeconds(50))));
+        now.set(START.plusSeconds(10));
+
+        assertEquals(1, store.purgeExpired());
+        assertEquals(1, store.size());
+    }
+
+    private IdempotencyRecord completed(Instant expiresAt) {
+        return new IdempotencyRecord("fp", expiresAt, 201, "application/json", null, new byte[0]);
+    }
+}
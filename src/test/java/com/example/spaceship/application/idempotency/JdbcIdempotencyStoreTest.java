@@ -0,0 +1,70 @@
+package com.example.spaceship.application.idempotency;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.JdbcTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Runs the store against the Flyway schema, so the SQL and the migration are checked together.
+ */
+@JdbcTest
+class JdbcIdempotencyStoreTest {
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void reserveThenComplete_ShouldReturnStoredResponseToSecondCaller() {
+        JdbcIdempotencyStore store = new JdbcIdempotencyStore(jdbcTemplate);
+        Instant expiresAt = Instant.now().plus(1, ChronoUnit.HOURS);
+        byte[] body = "{\"id\":1}".getBytes(StandardCharsets.UTF_8);
+
+        assertTrue(store.reserve("user:key", IdempotencyRecord.inProgress("fp", expiresAt)).isEmpty());
+        Optional<IdempotencyRecord> running = store.reserve("user:key", IdempotencyRecord.inProgress("fp", expiresAt));
+        store.complete("user:key", new IdempotencyRecord("fp", expiresAt, 201, "application/json", "/api/spaceships/1", body));
+        Optional<IdempotencyRecord> done = store.reserve("user:key", IdempotencyRecord.inProgress("fp", expiresAt));
+
+        assertFalse(running.orElseThrow().isCompleted());
+        assertEquals(201, done.orElseThrow().status());
+        assertEquals("/api/spaceships/1", done.get().location());
+        assertArrayEquals(body, done.get().body());
+    }
+
+    @Test
+    void expiredRecord_ShouldBeReplacedAndPurged() {
+        JdbcIdempotencyStore store = new JdbcIdempotencyStore(jdbcTemplate);
+        Instant past = Instant.now().minus(1, ChronoUnit.MINUTES);
+        Instant future = Instant.now().plus(1, ChronoUnit.HOURS);
+
+        store.reserve("user:old", IdempotencyRecord.inProgress("fp", past));
+        store.reserve("user:stale", IdempotencyRecord.inProgress("fp", past));
+
+        assertTrue(store.reserve("user:old", IdempotencyRecord.inProgress("fp2", future)).isEmpty());
+        assertEquals(1, store.purgeExpired());
+    }
+
+    @Test
+    void release_ShouldKeepCompletedRecords() {
+        JdbcIdempotencyStore store = new JdbcIdempotencyStore(jdbcTemplate);
+        Instant expiresAt = Instant.now().plus(1, ChronoUnit.HOURS);
+
+        store.reserve("user:a", IdempotencyRecord.inProgress("fp", expiresAt));
+        store.reserve("user:b", IdempotencyRecord.inProgress("fp", expiresAt));
+        store.complete("user:b", new IdempotencyRecord("fp", expiresAt, 200, null, null, null));
+        store.release("user:a");
+        store.release("user:b");
+
+        assertEquals(1, jdbcTemplate.queryForObject("SELECT COUNT(*) FROM idempotency_key", Integer.class));
+    }
+}
@@ -0,0 +1,49 @@
+package com.example.spaceship.application.ratelimit;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class AdaptiveConcurrencyLimiterTest {
+
+    private static final long FAST = TimeUnit.MILLISECONDS.toNanos(10);
+
+    private static final long SLOW = TimeUnit.MILLISECONDS.toNanos(500);
+
+    private final AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(
+            new RateLimitProperties.Concurrency(true, 2, 1, 4, Duration.ofMillis(100), 0.5, Duration.ofSeconds(1)));
+
+    @Test
+    void tryAcquire_ShouldShedRequestsAboveLimit() {
+        assertEquals(1, limiter.tryAcquire());
+        assertEquals(2, limiter.tryAcquire());
+        assertEquals(-1, limiter.tryAcquire());
+
+        limiter.release(2, FAST);
+
+        assertTrue(limiter.tryAcquire() > 0);
+    }
+
+    @Test
+    void release_ShouldShrinkLimitWhenLatencyExceedsTarget() {
+        int inFlight = limiter.tryAcquire();
+
+        limiter.release(inFlight, SLOW);
+
+        assertEquals(1, limiter.getLimit());
+    }
+
+    @Test
+    void release_ShouldGrowLimitUpToMaximumUnderFastSaturatedLoad() {
+        for (int i = 0; i < 100; i++) {
+            int inFlight = limiter.tryAcquire();
+            limiter.release(Math.max(inFlight, limiter.getLimit()), FAST);
+        }
+
+        assertEquals(4, limiter.getLimit());
+    }
+}
@@ -0,0 +1,49 @@
+package com.example.spaceship.application.ratelimit;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class RateLimitFilterTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private final RateLimitProperties properties = new RateLimitProperties(true,
+            new RateLimitProperties.Limit(0.001, 1), Map.of(), Duration.ofSeconds(10), null);
+
+    private final RateLimitFilter filter = new RateLimitFilter(properties, new TokenBucketRateLimiter(), null,
+            meterRegistry, () -> Set.of("GET /api/spaceships/{id}"));
+
+    @Test
+    void unmappedPaths_ShouldShareOneBucketAndTag() throws Exception {
+        assertEquals(200, perform("/api/foo/bar"));
+        assertEquals(429, perform("/api/baz/qux"));
+
+        assertEquals(1, meterRegistry.get("spaceship.http.rejected").tag("endpoint", RateLimitFilter.OTHER_ENDPOINT)
+                .counter().count());
+    }
+
+    @Test
+    void mappedPaths_ShouldBeKeyedByPattern() throws Exception {
+        assertEquals(200, perform("/api/spaceships/1"));
+        assertEquals(429, perform("/api/spaceships/2"));
+
+        assertEquals(1, meterRegistry.get("spaceship.http.rejected").tag("endpoint", "GET /api/spaceships/{id}")
+                .counter().count());
+    }
+
+    private int perform(String path) throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", path);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(request, response, new MockFilterChain());
+        return response.getStatus();
+    }
+}
@@ -0,0 +1,65 @@
+package com.example.spaceship.application.ratelimit;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class TokenBucketRateLimiterTest {
+
+    private static final RateLimitProperties.Limit LIMIT = new RateLimitProperties.Limit(10, 3);
+
+    private final AtomicLong clock = new AtomicLong();
+
+    private final TokenBucketRateLimiter rateLimiter = new TokenBucketRateLimiter(clock::get);
+
+    @Test
+    void tryAcquire_ShouldAllowBurstThenReject() {
+        assertEquals(0, rateLimiter.tryAcquire("user|GET /api/spaceships", LIMIT));
+        assertEquals(0, rateLimiter.tryAcquire("user|GET /api/spaceships", LIMIT));
+        assertEquals(0, rateLimiter.tryAcquire("user|GET /api/spaceships", LIMIT));
+
+        long wait = rateLimiter.tryAcquire("user|GET /api/spaceships", LIMIT);
+
+        assertEquals(TimeUnit.MILLISECONDS.toNanos(100), wait);
+    }
+
+    @Test
+    void tryAcquire_ShouldRefillOverTime() {
+        for (int i = 0; i < 3; i++) {
+            rateLimiter.tryAcquire("user|GET /api/spaceships", LIMIT);
+        }
+
+        clock.addAndGet(TimeUnit.MILLISECONDS.toNanos(100));
+
+        assertEquals(0, rateLimiter.tryAcquire("user|GET /api/spaceships", LIMIT));
+        assertTrue(rateLimiter.tryAcquire("user|GET /api/spaceships", LIMIT) > 0);
+    }
+
+    @Test
+    void tryAcquire_ShouldKeepKeysIndependent() {
+        for (int i = 0; i < 3; i++) {
+            rateLimiter.tryAcquire("user|GET /api/spaceships/search", LIMIT);
+        }
+
+        assertEquals(0, rateLimiter.tryAcquire("user|GET /api/spaceships", LIMIT));
+        assertEquals(0, rateLimiter.tryAcquire("other|GET /api/spaceships/search", LIMIT));
+    }
+
+    @Test
+    void evictIdleBuckets_ShouldOnlyDropRefilledBuckets() {
+        rateLimiter.tryAcquire("a", LIMIT);
+        rateLimiter.tryAcquire("b", LIMIT);
+
+        clock.addAndGet(TimeUnit.SECONDS.toNanos(1));
+        rateLimiter.tryAcquire("c", LIMIT);
+        assertEquals(3, rateLimiter.size());
+
+        rateLimiter.evictIdleBuckets();
+
+        assertEquals(1, rateLimiter.size());
+    }
+}
@@ -0,0 +1,47 @@
+package com.example.spaceship.application.security;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.provisioning.InMemoryUserDetailsManager;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class BearerTokenAuthenticationFilterTest {
+
+    private final StatelessTokenService tokenService = new StatelessTokenService(
+            new InMemoryUserDetailsManager(User.withUsername("user").password("{noop}pass").build()),
+            new ShipSecurityProperties.Token(true, Duration.ofMinutes(15), null));
+
+    private final BearerTokenAuthenticationFilter filter = new BearerTokenAuthenticationFilter(tokenService);
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void validToken_ShouldAuthenticateApiRequests() throws Exception {
+        assertEquals("user", authenticate("GET", "/api/spaceships").getName());
+    }
+
+    @Test
+    void tokenEndpoint_ShouldNotAcceptBearerTokens() throws Exception {
+        assertNull(authenticate("POST", BearerTokenAuthenticationFilter.TOKEN_ENDPOINT));
+    }
+
+    private Authentication authenticate(String method, String path) throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest(method, path);
+        request.addHeader("Authorization", "Bearer " + tokenService.issue("user").token());
+        filter.doFilter(request, new MockHttpServletResponse(), new MockFilterChain());
+        return SecurityContextHolder.getContext().getAuthentication();
+    }
+}
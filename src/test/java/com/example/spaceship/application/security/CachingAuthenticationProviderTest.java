@@ -0,0 +1,100 @@
+package com.example.spaceship.application.security;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.authentication.BadCredentialsException;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.authentication.dao.DaoAuthenticationProvider;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.crypto.factory.PasswordEncoderFactories;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.security.provisioning.InMemoryUserDetailsManager;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.any;
+import static org.mockito.Mockito.anyString;
+import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+class CachingAuthenticationProviderTest {
+
+    private final AtomicLong clock = new AtomicLong();
+
+    private PasswordEncoder passwordEncoder;
+
+    private InMemoryUserDetailsManager userDetailsService;
+
+    private CachingAuthenticationProvider provider;
+
+    @BeforeEach
+    void setUp() {
+        passwordEncoder = spy(PasswordEncoderFactories.createDelegatingPasswordEncoder());
+        userDetailsService = new InMemoryUserDetailsManager(
+                User.withUsername("user").password(passwordEncoder.encode("pass")).build());
+        DaoAuthenticationProvider delegate = new DaoAuthenticationProvider();
+        delegate.setUserDetailsService(userDetailsService);
+        delegate.setPasswordEncoder(passwordEncoder);
+        provider = new CachingAuthenticationProvider(delegate, userDetailsService,
+                new ShipSecurityProperties.CredentialCache(true, Duration.ofMinutes(1), 2), clock::get);
+    }
+
+    @Test
+    void authenticate_RepeatedCredentials_ShouldVerifyPasswordOnce() {
+        Authentication first = provider.authenticate(credentials("user", "pass"));
+        Authentication second = provider.authenticate(credentials("user", "pass"));
+
+        assertTrue(first.isAuthenticated());
+        assertTrue(second.isAuthenticated());
+        assertEquals("user", second.getName());
+        verify(passwordEncoder, times(1)).matches(any(), anyString());
+    }
+
+    @Test
+    void authenticate_WrongPassword_ShouldNotBeCached() {
+        assertThrows(BadCredentialsException.class, () -> provider.authenticate(credentials("user", "wrong")));
+        assertThrows(BadCredentialsException.class, () -> provider.authenticate(credentials("user", "wrong")));
+
+        assertEquals(0, provider.size());
+    }
+
+    @Test
+    void authenticate_AfterTtl_ShouldVerifyPasswordAgain() {
+        provider.authenticate(credentials("user", "pass"));
+
+        clock.addAndGet(TimeUnit.MINUTES.toNanos(2));
+        provider.authenticate(credentials("user", "pass"));
+
+        verify(passwordEncoder, times(2)).matches(any(), anyString());
+    }
+
+    @Test
+    void authenticate_AfterPasswordChange_ShouldRejectOldPassword() {
+        provider.authenticate(credentials("user", "pass"));
+
+        userDetailsService.updateUser(User.withUsername("user").password(passwordEncoder.encode("new-pass")).build());
+
+        assertThrows(BadCredentialsException.class, () -> provider.authenticate(credentials("user", "pass")));
+    }
+
+    @Test
+    void invalidate_ShouldForceVerification() {
+        provider.authenticate(credentials("user", "pass"));
+
+        provider.invalidate("user");
+        provider.authenticate(credentials("user", "pass"));
+
+        verify(passwordEncoder, times(2)).matches(any(), anyString());
+    }
+
+    private UsernamePasswordAuthenticationToken credentials(String username, String password) {
+        return UsernamePasswordAuthenticationToken.unauthenticated(username, password);
+    }
+}
@@ -0,0 +1,62 @@
+package com.example.spaceship.application.security;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.provisioning.InMemoryUserDetailsManager;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class StatelessTokenServiceTest {
+
+    private static final Instant NOW = Instant.parse("2024-01-01T00:00:00Z");
+
+    private static final ShipSecurityProperties.Token PROPERTIES = new ShipSecurityProperties.Token(true, Duration.ofMinutes(15), null);
+
+    private final UserDetails user = User.withUsername("user").password("{noop}pass").build();
+
+    private final InMemoryUserDetailsManager userDetailsService = new InMemoryUserDetailsManager(user);
+
+    private final StatelessTokenService tokenService =
+            new StatelessTokenService(userDetailsService, PROPERTIES, Clock.fixed(NOW, ZoneOffset.UTC));
+
+    @Test
+    void verify_IssuedToken_ShouldReturnUser() {
+        String token = tokenService.issue("user").token();
+
+        assertEquals("user", tokenService.verify(token).map(UserDetails::getUsername).orElseThrow());
+    }
+
+    @Test
+    void verify_TamperedToken_ShouldBeRejected() {
+        String token = tokenService.issue("user").token();
+        String tampered = (token.charAt(0) == 'A' ? 'B' : 'A') + token.substring(1);
+
+        assertTrue(tokenService.verify(tampered).isEmpty());
+        assertTrue(tokenService.verify("not-a-token").isEmpty());
+    }
+
+    @Test
+    void verify_ExpiredToken_ShouldBeRejected() {
+        String token = tokenService.issue("user").token();
+        StatelessTokenService later = new StatelessTokenService(userDetailsService, PROPERTIES,
+                Clock.fixed(NOW.plus(Duration.ofMinutes(16)), ZoneOffset.UTC));
+
+        assertTrue(later.verify(token).isEmpty());
+    }
+
+    @Test
+    void verify_AfterPasswordChange_ShouldBeRejected() {
+        String token = tokenService.issue("user").token();
+
+        userDetailsService.updateUser(User.withUsername("user").password("{noop}new-pass").build());
+
+        assertTrue(tokenService.verify(token).isEmpty());
+    }
+}
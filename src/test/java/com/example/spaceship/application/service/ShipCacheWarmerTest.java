@@ -0,0 +1,101 @@
+package com.example.spaceship.application.service;
+
+import com.example.spaceship.domain.views.ShipView;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.concurrent.ConcurrentMapCache;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class ShipCacheWarmerTest {
+
+    @Mock
+    private ShipService shipService;
+
+    @Mock
+    private CacheManager cacheManager;
+
+    @InjectMocks
+    private ShipCacheWarmer shipCacheWarmer;
+
+    private final ConcurrentMapCache shipCache = new ConcurrentMapCache("spaceship");
+
+    @BeforeEach
+    void setUp() {
+        setProperties(true);
+    }
+
+    @Test
+    void run_ShouldLoadPagesUpToTotalAndCacheEveryShip() throws Exception {
+        when(cacheManager.getCache("spaceship")).thenReturn(shipCache);
+        when(shipService.getAllShips(any(Pageable.class), eq(ShipView.class))).thenAnswer(invocation -> {
+            Pageable pageable = invocation.getArgument(0);
+            long id = pageable.getPageNumber() * 2L;
+            return page(pageable, 5, ship(id + 1), ship(id + 2));
+        });
+
+        shipCacheWarmer.run(null);
+
+        verify(shipService, times(3)).getAllShips(any(Pageable.class), eq(ShipView.class));
+        verify(shipService).getAllShips(PageRequest.of(2, 2, Sort.by(Sort.Direction.ASC, "name")), ShipView.class);
+        for (long id = 1; id <= 6; id++) {
+            assertEquals(id, shipCache.get(id, ShipView.class).id());
+        }
+        assertNull(shipCache.get(7L));
+    }
+
+    @Test
+    void run_EmptyDatabase_ShouldStopAfterFirstPage() throws Exception {
+        when(cacheManager.getCache("spaceship")).thenReturn(shipCache);
+        when(shipService.getAllShips(any(Pageable.class), eq(ShipView.class)))
+                .thenAnswer(invocation -> page(invocation.getArgument(0), 0));
+
+        shipCacheWarmer.run(null);
+
+        verify(shipService, times(1)).getAllShips(any(Pageable.class), eq(ShipView.class));
+    }
+
+    @Test
+    void run_Disabled_ShouldNotTouchTheDatabase() throws Exception {
+        setProperties(false);
+
+        shipCacheWarmer.run(null);
+
+        verify(shipService, never()).getAllShips(any(Pageable.class), eq(ShipView.class));
+    }
+
+    private void setProperties(boolean enabled) {
+        ReflectionTestUtils.setField(shipCacheWarmer, "properties",
+                new CacheWarmupProperties(enabled, 3, 2, "name", 2, Duration.ofSeconds(5)));
+    }
+
+    private static Page<ShipView> page(Pageable pageable, long total, ShipView... ships) {
+        return new PageImpl<>(List.of(ships), pageable, total);
+    }
+
+    private static ShipView ship(long id) {
+        return new ShipView(id, "Ship " + id, "Cruiser");
+    }
+}
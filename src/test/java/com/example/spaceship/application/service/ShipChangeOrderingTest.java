@@ -0,0 +1,91 @@
+package com.example.spaceship.application.service;
+
+import com.example.spaceship.domain.entities.Ship;
+import com.example.spaceship.domain.entities.ShipChange;
+import com.example.spaceship.infrastructure.database.ParallelSearchProperties;
+import com.example.spaceship.infrastructure.database.ParallelShipSearch;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Records changes through the real change log, so that the ids drawn from the pooled sequence and the order in which
+ * the transactions commit can disagree.
+ */
+@DataJpaTest
+@Import({ShipChangeServiceImpl.class, ParallelShipSearch.class})
+@EnableConfigurationProperties(ParallelSearchProperties.class)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class ShipChangeOrderingTest {
+
+    @Autowired
+    private ShipChangeServiceImpl shipChangeService;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.update("DELETE FROM ship_change");
+        jdbcTemplate.update("UPDATE ship_change_head SET last_sequence = 0");
+    }
+
+    @Test
+    void publishPending_ChangesCommittedInReverseIdOrder_ShouldFollowCommitOrder() throws Exception {
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        CountDownLatch recorded = new CountDownLatch(1);
+        CountDownLatch commit = new CountDownLatch(1);
+        CompletableFuture<Void> first = CompletableFuture.runAsync(() -> transaction.executeWithoutResult(status -> {
+            shipChangeService.recordUpdated(ship("Persisted first"));
+            recorded.countDown();
+            await(commit);
+        }));
+        assertTrue(recorded.await(5, TimeUnit.SECONDS));
+        transaction.executeWithoutResult(status -> shipChangeService.recordUpdated(ship("Committed first")));
+        commit.countDown();
+        first.get(5, TimeUnit.SECONDS);
+        // as if neither had been numbered when the publisher ran
+        jdbcTemplate.update("UPDATE ship_change SET sequence = NULL");
+        jdbcTemplate.update("UPDATE ship_change_head SET last_sequence = 0");
+
+        shipChangeService.publishPending();
+
+        List<ShipChange> changes = shipChangeService.getChangesSince(0, 10).changes();
+        assertEquals(List.of("Committed first", "Persisted first"), changes.stream().map(ShipChange::getName).toList());
+    }
+
+    private static Ship ship(String name) {
+        Ship ship = new Ship();
+        ship.setId(1L);
+        ship.setName(name);
+        ship.setType("Cruiser");
+        return ship;
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,138 @@
+package com.example.spaceship.application.service;
+
+import com.example.spaceship.domain.entities.Ship;
+import com.example.spaceship.domain.entities.ShipChange;
+import com.example.spaceship.domain.ports.ShipChangeRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Limit;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.util.List;
+import java.util.stream.LongStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.anyList;
+import static org.mockito.Mockito.anyLong;
+import static org.mockito.Mockito.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class ShipChangeServiceImplTest {
+
+    @Mock
+    private ShipChangeRepository shipChangeRepository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @InjectMocks
+    private ShipChangeServiceImpl shipChangeService;
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(shipChangeService, "maxBatchSize", 3);
+        shipChangeService.init();
+    }
+
+    @Test
+    void getChangesSince_MoreChangesThanLimit_ShouldReturnFirstBatchAndCursor() {
+        when(shipChangeRepository.findBySequenceGreaterThanOrderBySequenceAsc(eq(10L), eq(Limit.of(4))))
+                .thenReturn(changes(11, 12, 13, 14));
+
+        ShipChangeBatch batch = shipChangeService.getChangesSince(10, 50);
+
+        assertEquals(3, batch.changes().size());
+        assertEquals(13, batch.nextSince());
+        assertTrue(batch.hasMore());
+    }
+
+    @Test
+    void getChangesSince_NoChanges_ShouldKeepCursor() {
+        when(shipChangeRepository.findBySequenceGreaterThanOrderBySequenceAsc(eq(42L), eq(Limit.of(3))))
+                .thenReturn(List.of());
+
+        ShipChangeBatch batch = shipChangeService.getChangesSince(42, 2);
+
+        assertEquals(42, batch.nextSince());
+        assertFalse(batch.hasMore());
+    }
+
+    @Test
+    void getChangesSince_NegativeSequence_ShouldThrowException() {
+        assertThrows(IllegalArgumentException.class, () -> shipChangeService.getChangesSince(-1, 10));
+    }
+
+    @Test
+    void publishPending_ShouldNumberPendingChangesAfterLastSequence() {
+        List<ShipChange> pending = pending(7, 9);
+        when(shipChangeRepository.lockLastSequence()).thenReturn(20L);
+        when(shipChangeRepository.findBySequenceIsNullOrderByCommitOrderAscIdAsc(Limit.of(3))).thenReturn(pending);
+
+        shipChangeService.publishPending();
+
+        assertEquals(List.of(21L, 22L), pending.stream().map(ShipChange::getSequence).toList());
+        verify(shipChangeRepository).saveAll(pending);
+        verify(shipChangeRepository).updateLastSequence(22);
+    }
+
+    @Test
+    void publishPending_FullBatch_ShouldPublishNextBatch() {
+        when(shipChangeRepository.lockLastSequence()).thenReturn(0L).thenReturn(3L);
+        when(shipChangeRepository.findBySequenceIsNullOrderByCommitOrderAscIdAsc(Limit.of(3)))
+                .thenReturn(pending(1, 2, 3))
+                .thenReturn(List.of());
+
+        shipChangeService.publishPending();
+
+        verify(shipChangeRepository, times(2)).lockLastSequence();
+        verify(shipChangeRepository).updateLastSequence(3);
+    }
+
+    @Test
+    void recordUpdated_WithoutTransaction_ShouldPublishImmediately() {
+        when(shipChangeRepository.findBySequenceIsNullOrderByCommitOrderAscIdAsc(Limit.of(3))).thenReturn(List.of());
+
+        shipChangeService.recordUpdated(new Ship());
+
+        verify(shipChangeRepository).nextCommitOrder();
+        verify(shipChangeRepository).saveAll(anyList());
+        verify(shipChangeRepository).lockLastSequence();
+        verify(shipChangeRepository, never()).updateLastSequence(anyLong());
+    }
+
+    @Test
+    void compact_ShouldDropClearedAndSupersededChanges() {
+        shipChangeService.compact();
+
+        verify(shipChangeRepository).deleteChangesBeforeLastClear();
+        verify(shipChangeRepository).deleteSupersededChanges();
+    }
+
+    private List<ShipChange> pending(long... ids) {
+        return LongStream.of(ids).mapToObj(id -> {
+            ShipChange change = new ShipChange(ShipChange.ChangeType.UPDATED, id, "Ship " + id, "Cruiser");
+            change.setId(id);
+            return change;
+        }).toList();
+    }
+
+    private List<ShipChange> changes(long... sequences) {
+        return LongStream.of(sequences).mapToObj(sequence -> {
+            ShipChange change = new ShipChange(ShipChange.ChangeType.UPDATED, sequence, "Ship " + sequence, "Cruiser");
+            change.setSequence(sequence);
+            return change;
+        }).toList();
+    }
+}
@@ -0,0 +1,109 @@
+package com.example.spaceship.application.service;
+
+import com.example.spaceship.domain.ports.ShipRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class ShipIdFilterTest {
+
+    @Mock
+    private ShipRepository shipRepository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @Spy
+    private MeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @InjectMocks
+    private ShipIdFilter shipIdFilter;
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(shipIdFilter, "properties",
+                new ShipIdFilterProperties(true, 1_000, 0.01, Duration.ofMinutes(10)));
+        shipIdFilter.init();
+    }
+
+    @Test
+    void mightContain_BeforeFirstBuild_ShouldLetEverythingThrough() {
+        assertTrue(shipIdFilter.mightContain(42L));
+    }
+
+    @Test
+    void rebuild_ShouldAnswerUnknownIdsWithoutTheDatabase() {
+        when(shipRepository.count()).thenReturn(2L);
+        when(shipRepository.streamAllIds()).thenReturn(Stream.of(1L, 2L));
+
+        shipIdFilter.rebuild();
+
+        assertTrue(shipIdFilter.mightContain(1L));
+        assertTrue(shipIdFilter.mightContain(2L));
+        assertFalse(shipIdFilter.mightContain(-5L));
+        assertEquals(1.0, meterRegistry.get("spaceship.id-filter.lookups").tag("outcome", "filtered").counter().count());
+    }
+
+    @Test
+    void addAfterCommit_ShouldOnlyAddOnceTheTransactionCommits() {
+        when(shipRepository.count()).thenReturn(0L);
+        when(shipRepository.streamAllIds()).thenReturn(Stream.empty());
+        shipIdFilter.rebuild();
+
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            shipIdFilter.addAfterCommit(List.of(7L));
+            assertFalse(shipIdFilter.mightContain(7L));
+
+            TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+            assertTrue(shipIdFilter.mightContain(7L));
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    void rebuild_ShouldKeepIdsCreatedWhileScanning() {
+        when(shipRepository.count()).thenReturn(1L);
+        when(shipRepository.streamAllIds()).thenAnswer(invocation -> {
+            // a ship committed after the scan's snapshot was taken
+            shipIdFilter.addAfterCommit(List.of(99L));
+            return Stream.of(1L);
+        });
+
+        shipIdFilter.rebuild();
+
+        assertTrue(shipIdFilter.mightContain(1L));
+        assertTrue(shipIdFilter.mightContain(99L));
+    }
+
+    @Test
+    void rebuild_Disabled_ShouldNeverFilter() {
+        ReflectionTestUtils.setField(shipIdFilter, "properties",
+                new ShipIdFilterProperties(false, 1_000, 0.01, Duration.ofMinutes(10)));
+
+        shipIdFilter.rebuild();
+
+        assertTrue(shipIdFilter.mightContain(12345L));
+    }
+}
@@ -0,0 +1,145 @@
+package com.example.spaceship.application.service;
+
+import com.example.spaceship.application.exceptions.ImportJobNotFoundException;
+import com.example.spaceship.domain.entities.Ship;
+import com.example.spaceship.infrastructure.importer.ImportCheckpoint;
+import com.example.spaceship.infrastructure.importer.ShipRecordParser;
+import com.example.spaceship.infrastructure.kakfa.KafkaProducer;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.validation.Validation;
+import jakarta.validation.Validator;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.anyList;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class ShipImportServiceImplTest {
+
+    @TempDir
+    Path importDirectory;
+
+    @Mock
+    private ShipService shipService;
+
+    @Mock
+    private KafkaProducer kafkaProducer;
+
+    @Spy
+    private ShipRecordParser recordParser = new ShipRecordParser(new ObjectMapper());
+
+    @Spy
+    private Validator validator = Validation.buildDefaultValidatorFactory().getValidator();
+
+    @Spy
+    private MeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @InjectMocks
+    private ShipImportServiceImpl shipImportService;
+
+    private final List<Ship> savedShips = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(shipImportService, "directory", importDirectory.toString());
+        ReflectionTestUtils.setField(shipImportService, "batchSize", 2);
+        ReflectionTestUtils.setField(shipImportService, "parallelism", 2);
+        ReflectionTestUtils.setField(shipImportService, "maxTrackedJobs", 2);
+        shipImportService.init();
+    }
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        shipImportService.shutdown();
+    }
+
+    @Test
+    void startImport_Csv_ShouldImportValidRowsAndCountRejected() throws Exception {
+        stubCreateShips();
+        Path file = Files.writeString(importDirectory.resolve("fleet.csv"),
+                "name,type\nEnterprise,Cruiser\n\"Falcon, Millennium\",Freighter\nX,Fighter\nVoyager,Explorer\n");
+
+        ShipImportStatus status = awaitCompletion(shipImportService.startImport("fleet.csv", null).id());
+
+        assertEquals(ShipImportJob.State.COMPLETED, status.state());
+        assertEquals(3, status.imported());
+        assertEquals(1, status.rejected());
+        assertEquals(List.of("Enterprise", "Falcon, Millennium", "Voyager"), savedShips.stream().map(Ship::getName).toList());
+        assertFalse(Files.exists(ImportCheckpoint.pathFor(file)));
+    }
+
+    @Test
+    void startImport_WithCheckpoint_ShouldResumeAfterLastCommittedBatch() throws Exception {
+        stubCreateShips();
+        String firstBatch = "{\"name\":\"Enterprise\",\"type\":\"Cruiser\"}\n{\"name\":\"Defiant\",\"type\":\"Escort\"}\n";
+        Path file = Files.writeString(importDirectory.resolve("fleet.ndjson"),
+                firstBatch + "{\"name\":\"Voyager\",\"type\":\"Explorer\"}\n");
+        new ImportCheckpoint(firstBatch.length(), 2, 2, 0).save(file);
+
+        ShipImportStatus status = awaitCompletion(shipImportService.startImport("fleet.ndjson", null).id());
+
+        assertEquals(ShipImportJob.State.COMPLETED, status.state());
+        assertEquals(3, status.imported());
+        assertEquals(List.of("Voyager"), savedShips.stream().map(Ship::getName).toList());
+    }
+
+    @Test
+    void startImport_ShouldForgetOldestFinishedJobsBeyondLimit() throws Exception {
+        stubCreateShips();
+        Files.writeString(importDirectory.resolve("fleet.csv"), "Enterprise,Cruiser\n");
+        List<String> jobIds = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            jobIds.add(awaitCompletion(shipImportService.startImport("fleet.csv", null).id()).id());
+        }
+
+        assertEquals(jobIds.subList(1, 3), shipImportService.getImports().stream().map(ShipImportStatus::id).toList());
+        assertThrows(ImportJobNotFoundException.class, () -> shipImportService.getImport(jobIds.get(0)));
+    }
+
+    @Test
+    void startImport_FileOutsideImportDirectory_ShouldThrowException() {
+        assertThrows(IllegalArgumentException.class, () -> shipImportService.startImport("../fleet.csv", null));
+    }
+
+    private void stubCreateShips() {
+        AtomicLong ids = new AtomicLong();
+        when(shipService.createShips(anyList())).thenAnswer(invocation -> {
+            List<Ship> ships = invocation.getArgument(0);
+            ships.forEach(ship -> ship.setId(ids.incrementAndGet()));
+            savedShips.addAll(ships);
+            return ships;
+        });
+    }
+
+    private ShipImportStatus awaitCompletion(String jobId) throws InterruptedException {
+        for (int i = 0; i < 100; i++) {
+            ShipImportStatus status = shipImportService.getImport(jobId);
+            if (status.state() != ShipImportJob.State.RUNNING) {
+                return status;
+            }
+            Thread.sleep(50);
+        }
+        throw new AssertionError("Import job did not finish in time");
+    }
+}
@@ -2,7 +2,9 @@ package com.example.spaceship.application.service;
 
 import com.example.spaceship.application.exceptions.ShipNotFoundException;
 import com.example.spaceship.domain.entities.Ship;
+import com.example.spaceship.domain.ports.ShipCriteria;
 import com.example.spaceship.domain.ports.ShipRepository;
+import com.example.spaceship.domain.views.ShipView;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -15,8 +17,10 @@ import org.springframework.data.domain.Pageable;
 
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertThrows;
@@ -24,9 +28,10 @@ import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
 import static org.mockito.Mockito.when;
 import static org.mockito.Mockito.any;
 import static org.mockito.Mockito.anyLong;
-import static org.mockito.Mockito.anyString;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.doNothing;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 
 @ExtendWith(MockitoExtension.class)
@@ -39,6 +44,12 @@ class ShipServiceImplTest {
     @Mock
     private ShipRepository shipRepository;
 
+    @Mock
+    private ShipChangeService shipChangeService;
+
+    @Mock
+    private ShipIdFilter shipIdFilter;
+
     @InjectMocks
     private ShipServiceImpl shipServiceImpl;
 
@@ -46,14 +57,15 @@ class ShipServiceImplTest {
     void setUp() {
         testShip = generateShip();
         pageable = Pageable.unpaged();
+        lenient().when(shipIdFilter.mightContain(anyLong())).thenReturn(true);
     }
 
     @Test
     void getAllShips_ShouldReturnPageOfShips() {
-        Page<Ship> shipPage = new PageImpl<>(List.of(testShip));
-        when(shipRepository.findAll(any(Pageable.class))).thenReturn(shipPage);
+        Page<ShipView> shipPage = new PageImpl<>(List.of(testView()));
+        when(shipRepository.findAllBy(pageable, ShipView.class)).thenReturn(shipPage);
 
-        Page<Ship> result = shipServiceImpl.getAllShips(pageable);
+        Page<ShipView> result = shipServiceImpl.getAllShips(pageable, ShipView.class);
 
         assertNotNull(result);
         assertFalse(result.isEmpty());
@@ -62,10 +74,10 @@ class ShipServiceImplTest {
 
     @Test
     void findShipsByName_ShouldReturnMatchingShips() {
-        Page<Ship> shipPage = new PageImpl<>(List.of(testShip));
-        when(shipRepository.findByNameContaining(anyString(), any(Pageable.class))).thenReturn(shipPage);
+        Page<ShipView> shipPage = new PageImpl<>(List.of(testView()));
+        when(shipRepository.findByNameContaining("Test", pageable, ShipView.class)).thenReturn(shipPage);
 
-        Page<Ship> result = shipServiceImpl.findShipsByName("Test", pageable);
+        Page<ShipView> result = shipServiceImpl.findShipsByName("Test", pageable, ShipView.class);
 
         assertNotNull(result);
         assertFalse(result.isEmpty());
@@ -73,20 +85,46 @@ class ShipServiceImplTest {
     }
 
     @Test
-    void getShipById_ShouldReturnShip() {
-        when(shipRepository.findById(anyLong())).thenReturn(Optional.of(testShip));
+    void findShipsByCriteria_ShouldReturnMatchingShips() {
+        ShipCriteria criteria = ShipCriteria.of("te", ShipCriteria.NameMatch.PREFIX, List.of("Cruiser"), null, null);
+        when(shipRepository.findByCriteria(criteria, pageable, ShipView.class)).thenReturn(new PageImpl<>(List.of(testView())));
 
-        Ship result = shipServiceImpl.getShipById(1L);
+        Page<ShipView> result = shipServiceImpl.findShipsByCriteria(criteria, pageable, ShipView.class);
 
-        assertNotNull(result);
-        assertEquals(testShip.getId(), result.getId());
+        assertEquals(1, result.getTotalElements());
     }
 
     @Test
-    void getShipById_ShouldThrowException_WhenShipNotFound() {
-        when(shipRepository.findById(anyLong())).thenReturn(Optional.empty());
+    void findShipsByCriteria_InvertedIdRange_ShouldThrowException() {
+        ShipCriteria criteria = ShipCriteria.of(null, null, null, 10L, 1L);
+
+        assertThrows(IllegalArgumentException.class, () -> shipServiceImpl.findShipsByCriteria(criteria, pageable, ShipView.class));
+    }
+
+    @Test
+    void findShipById_ShouldReturnShip() {
+        when(shipRepository.findById(1L, ShipView.class)).thenReturn(Optional.of(testView()));
+
+        Optional<ShipView> result = shipServiceImpl.findShipById(1L);
+
+        assertTrue(result.isPresent());
+        assertEquals(testShip.getId(), result.get().id());
+    }
+
+    @Test
+    void findShipById_ShouldReturnEmpty_WhenShipNotFound() {
+        when(shipRepository.findById(1L, ShipView.class)).thenReturn(Optional.empty());
 
-        assertThrows(ShipNotFoundException.class, () -> shipServiceImpl.getShipById(1L));
+        assertTrue(shipServiceImpl.findShipById(1L).isEmpty());
+        verify(shipIdFilter).recordFalsePositive();
+    }
+
+    @Test
+    void findShipById_ShouldSkipRepository_WhenIdFilterRulesItOut() {
+        when(shipIdFilter.mightContain(404L)).thenReturn(false);
+
+        assertTrue(shipServiceImpl.findShipById(404L).isEmpty());
+        verify(shipRepository, never()).findById(anyLong(), any());
     }
 
     @Test
@@ -101,6 +139,7 @@ class ShipServiceImplTest {
 
         assertNotNull(result);
         assertEquals(testShip.getId(), result.getId());
+        verify(shipIdFilter).addAfterCommit(List.of(testShip.getId()));
     }
 
     @Test
@@ -110,16 +149,18 @@ class ShipServiceImplTest {
         assertDoesNotThrow(() -> shipServiceImpl.deleteShip(1L));
 
         verify(shipRepository, times(1)).deleteById(1L);
+        verify(shipChangeService, times(1)).recordDeleted(1L);
     }
 
     @Test
-    void deleteAll_ShouldDeleteAllShips() {
-        when(shipRepository.count()).thenReturn(5L);
+    void deleteAll_ShouldDeleteAllShipsAndReturnTheirIds() {
+        when(shipRepository.streamAllIds()).thenReturn(Stream.of(1L, 2L, 3L));
         doNothing().when(shipRepository).deleteAll();
 
-        assertDoesNotThrow(() -> shipServiceImpl.deleteAll());
+        assertEquals(List.of(1L, 2L, 3L), shipServiceImpl.deleteAll());
 
         verify(shipRepository, times(1)).deleteAll();
+        verify(shipChangeService, times(1)).recordCleared();
     }
 
     @Test
@@ -153,4 +194,8 @@ class ShipServiceImplTest {
         ship.setType("Cruiser");
         return ship;
     }
+
+    private ShipView testView() {
+        return new ShipView(testShip.getId(), testShip.getName(), testShip.getType());
+    }
 }
\ No newline at end of file
@@ -0,0 +1,76 @@
+package com.example.spaceship.application.service;
+
+import com.example.spaceship.domain.entities.Ship;
+import com.example.spaceship.infrastructure.database.ParallelSearchProperties;
+import com.example.spaceship.infrastructure.database.ParallelShipSearch;
+import com.example.spaceship.infrastructure.database.ShipRepositoryImpl;
+import com.example.spaceship.infrastructure.kakfa.KafkaProducer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+/**
+ * Applies write-behind batches through the real ship service and repository, so that what a failed batch leaves
+ * behind on its entities is seen by the one-by-one retry.
+ */
+@DataJpaTest(properties = "ship.write-behind.enabled=true")
+@Import({ShipServiceImpl.class, ShipWriteBehindServiceImpl.class, ParallelShipSearch.class, SimpleMeterRegistry.class})
+@EnableConfigurationProperties({ShipWriteBehindProperties.class, ParallelSearchProperties.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class ShipWriteBehindBatchTest {
+
+    @Autowired
+    private ShipWriteBehindServiceImpl shipWriteBehindService;
+
+    @Autowired
+    private ShipRepositoryImpl shipRepository;
+
+    @MockBean
+    private ShipChangeService shipChangeService;
+
+    @MockBean
+    private ShipIdFilter shipIdFilter;
+
+    @MockBean
+    private KafkaProducer kafkaProducer;
+
+    @MockBean
+    private CacheManager cacheManager;
+
+    @AfterEach
+    void tearDown() {
+        shipRepository.deleteAll();
+    }
+
+    @Test
+    void apply_CreateBatchedWithFailingUpdate_ShouldStillCreateTheShip() {
+        Ship submitted = ship("Falcon");
+
+        shipWriteBehindService.apply(List.of(
+                new ShipWriteBehindServiceImpl.PendingWrite("create", ShipWriteStatus.Operation.CREATE, null, submitted),
+                new ShipWriteBehindServiceImpl.PendingWrite("update", ShipWriteStatus.Operation.UPDATE, 999L, ship("Ghost"))));
+
+        assertNull(submitted.getId());
+        assertEquals(List.of("Falcon"), shipRepository.findAll().stream().map(Ship::getName).toList());
+    }
+
+    private static Ship ship(String name) {
+        Ship ship = new Ship();
+        ship.setName(name);
+        ship.setType("Cruiser");
+        return ship;
+    }
+}
@@ -0,0 +1,175 @@
+package com.example.spaceship.application.service;
+
+import com.example.spaceship.application.exceptions.ShipNotFoundException;
+import com.example.spaceship.application.exceptions.ShipWriteNotFoundException;
+import com.example.spaceship.application.exceptions.ShipWriteRejectedException;
+import com.example.spaceship.domain.entities.Ship;
+import com.example.spaceship.domain.views.ShipView;
+import com.example.spaceship.infrastructure.kakfa.KafkaProducer;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.anyList;
+import static org.mockito.Mockito.eq;
+import static org.mockito.Mockito.any;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class ShipWriteBehindServiceImplTest {
+
+    @Mock
+    private ShipService shipService;
+
+    @Mock
+    private KafkaProducer kafkaProducer;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @Spy
+    private CacheManager cacheManager = new ConcurrentMapCacheManager("spaceships", "spaceship");
+
+    @Spy
+    private MeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @InjectMocks
+    private ShipWriteBehindServiceImpl shipWriteBehindService;
+
+    private final AtomicLong ids = new AtomicLong();
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(shipWriteBehindService, "properties",
+                new ShipWriteBehindProperties(true, 1, 100, 1000, Duration.ofSeconds(1), Duration.ofSeconds(5)));
+        shipWriteBehindService.init();
+    }
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        shipWriteBehindService.shutdown();
+    }
+
+    @Test
+    void apply_ShouldGroupConsecutiveCreatesAndKeepArrivalOrder() {
+        stubCreateShips();
+        when(shipService.updateShip(eq(7L), any(Ship.class))).thenReturn(ship(7L, "Updated"));
+
+        shipWriteBehindService.apply(List.of(
+                create("a"), create("b"),
+                new ShipWriteBehindServiceImpl.PendingWrite("u", ShipWriteStatus.Operation.UPDATE, 7L, ship(null, "Updated")),
+                create("c")));
+
+        var order = inOrder(shipService, transactionManager);
+        order.verify(transactionManager).getTransaction(any());
+        order.verify(shipService).createShips(List.of(ship(null, "a"), ship(null, "b")));
+        order.verify(shipService).updateShip(eq(7L), any(Ship.class));
+        order.verify(shipService).createShips(List.of(ship(null, "c")));
+        order.verify(transactionManager).commit(any());
+        verify(kafkaProducer).sendMessages(List.of(ship(1L, "a"), ship(2L, "b"), ship(7L, "Updated"), ship(3L, "c")));
+    }
+
+    @Test
+    void failedBatch_ShouldOnlyFailTheBadWrite() throws Exception {
+        stubCreateShips();
+        when(shipService.findShipById(99L)).thenReturn(Optional.of(new ShipView(99L, "b", "type")));
+        when(shipService.updateShip(eq(99L), any(Ship.class))).thenThrow(new ShipNotFoundException("Ship not found with id: 99"));
+
+        ShipWriteStatus created = shipWriteBehindService.submitCreate(ship(null, "a"));
+        awaitCompletion(created.id());
+        ShipWriteStatus updated = shipWriteBehindService.submitUpdate(99L, ship(null, "b"));
+
+        assertEquals(ShipWriteStatus.State.APPLIED, awaitCompletion(created.id()).state());
+        ShipWriteStatus failed = awaitCompletion(updated.id());
+        assertEquals(ShipWriteStatus.State.FAILED, failed.state());
+        assertEquals("Ship not found with id: 99", failed.error());
+    }
+
+    @Test
+    void fullQueue_ShouldRejectInsteadOfBlocking() throws Exception {
+        CountDownLatch writing = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        when(shipService.createShips(anyList())).thenAnswer(invocation -> {
+            writing.countDown();
+            release.await(5, TimeUnit.SECONDS);
+            List<Ship> ships = invocation.getArgument(0);
+            return ships.stream().map(s -> ship(ids.incrementAndGet(), s.getName())).toList();
+        });
+
+        shipWriteBehindService.submitCreate(ship(null, "a"));
+        assertTrue(writing.await(5, TimeUnit.SECONDS));
+        shipWriteBehindService.submitCreate(ship(null, "b"));
+
+        assertThrows(ShipWriteRejectedException.class, () -> shipWriteBehindService.submitCreate(ship(null, "c")));
+        release.countDown();
+    }
+
+    @Test
+    void submitCreate_WithId_ShouldBeRejected() {
+        assertThrows(IllegalArgumentException.class, () -> shipWriteBehindService.submitCreate(ship(1L, "a")));
+    }
+
+    @Test
+    void submitUpdate_UnknownShip_ShouldThrowBeforeQueueing() {
+        when(shipService.findShipById(42L)).thenReturn(Optional.empty());
+
+        assertThrows(ShipNotFoundException.class, () -> shipWriteBehindService.submitUpdate(42L, ship(null, "a")));
+    }
+
+    @Test
+    void getWrite_UnknownId_ShouldThrow() {
+        assertThrows(ShipWriteNotFoundException.class, () -> shipWriteBehindService.getWrite("missing"));
+    }
+
+    private void stubCreateShips() {
+        when(shipService.createShips(anyList())).thenAnswer(invocation -> {
+            List<Ship> ships = invocation.getArgument(0);
+            return ships.stream().map(s -> ship(ids.incrementAndGet(), s.getName())).toList();
+        });
+    }
+
+    private ShipWriteStatus awaitCompletion(String writeId) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        ShipWriteStatus status = shipWriteBehindService.getWrite(writeId);
+        while (status.state() == ShipWriteStatus.State.PENDING && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+            status = shipWriteBehindService.getWrite(writeId);
+        }
+        return status;
+    }
+
+    private ShipWriteBehindServiceImpl.PendingWrite create(String name) {
+        return new ShipWriteBehindServiceImpl.PendingWrite(name, ShipWriteStatus.Operation.CREATE, null, ship(null, name));
+    }
+
+    private static Ship ship(Long id, String name) {
+        Ship ship = new Ship();
+        ship.setId(id);
+        ship.setName(name);
+        ship.setType("Cruiser");
+        return ship;
+    }
+}
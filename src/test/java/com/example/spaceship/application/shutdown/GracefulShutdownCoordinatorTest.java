@@ -0,0 +1,126 @@
+package com.example.spaceship.application.shutdown;
+
+import com.example.spaceship.infrastructure.kakfa.KafkaProducer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.boot.availability.AvailabilityChangeEvent;
+import org.springframework.boot.availability.ReadinessState;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.kafka.config.KafkaListenerEndpointRegistry;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class GracefulShutdownCoordinatorTest {
+
+    private final ShutdownProperties properties = new ShutdownProperties(true, Duration.ZERO,
+            Duration.ofMillis(200), Duration.ofMillis(200));
+
+    private final DrainingFilter drainingFilter = new DrainingFilter();
+
+    private final KafkaProducer kafkaProducer = mock(KafkaProducer.class);
+
+    private final KafkaListenerEndpointRegistry listenerRegistry = mock(KafkaListenerEndpointRegistry.class);
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private final ApplicationEventPublisher eventPublisher = mock(ApplicationEventPublisher.class);
+
+    private final GracefulShutdownCoordinator coordinator = new GracefulShutdownCoordinator(properties, drainingFilter,
+            kafkaProducer, listenerRegistry, meterRegistry, eventPublisher, Duration.ofSeconds(30));
+
+    @Test
+    void stop_ShouldFlushProducerAndStopListeners() {
+        when(kafkaProducer.inFlight()).thenReturn(2, 1, 0);
+        doAnswer(invocation -> {
+            invocation.<Runnable>getArgument(0).run();
+            return null;
+        }).when(listenerRegistry).stop(any(Runnable.class));
+        coordinator.start();
+
+        coordinator.stop();
+
+        ArgumentCaptor<AvailabilityChangeEvent<?>> event = ArgumentCaptor.captor();
+        verify(eventPublisher).publishEvent(event.capture());
+        assertEquals(ReadinessState.REFUSING_TRAFFIC, event.getValue().getState());
+        verify(kafkaProducer, timeout(1000)).flush();
+        verify(listenerRegistry).stop(any(Runnable.class));
+        assertEquals(false, coordinator.isRunning());
+        assertEquals(0, dropped("kafka-record"));
+        assertEquals(0, dropped("kafka-consumer"));
+        assertEquals(1, meterRegistry.get(GracefulShutdownCoordinator.DRAIN_METRIC).tag("phase", "producer").timer().count());
+    }
+
+    @Test
+    void stopWithCallback_ShouldDrainOffTheClosingThread() throws Exception {
+        when(kafkaProducer.inFlight()).thenReturn(1, 0);
+        CountDownLatch stopped = new CountDownLatch(1);
+        Thread caller = Thread.currentThread();
+        AtomicReference<Thread> drainer = new AtomicReference<>();
+        doAnswer(invocation -> {
+            drainer.set(Thread.currentThread());
+            invocation.<Runnable>getArgument(0).run();
+            return null;
+        }).when(listenerRegistry).stop(any(Runnable.class));
+
+        coordinator.stop(stopped::countDown);
+
+        assertTrue(stopped.await(5, TimeUnit.SECONDS));
+        assertNotEquals(caller, drainer.get());
+        verify(kafkaProducer).flush();
+    }
+
+    @Test
+    void stop_ShouldCountWorkLeftAtTheDeadline() {
+        when(kafkaProducer.inFlight()).thenReturn(3);
+
+        coordinator.stop();
+
+        assertEquals(3, dropped("kafka-record"));
+        assertEquals(0, dropped("http-request"));
+    }
+
+    @Test
+    void constructor_ShouldRejectDeadlinesLongerThanTheShutdownPhase() {
+        ShutdownProperties defaults = new ShutdownProperties(true, Duration.ofSeconds(5), Duration.ofSeconds(20),
+                Duration.ofSeconds(10));
+
+        assertThrows(IllegalStateException.class, () -> new GracefulShutdownCoordinator(defaults, drainingFilter,
+                kafkaProducer, listenerRegistry, meterRegistry, eventPublisher, Duration.ofSeconds(30)));
+    }
+
+    @Test
+    void drainingFilter_ShouldCloseConnectionsOnceDraining() throws Exception {
+        MockHttpServletResponse before = new MockHttpServletResponse();
+        drainingFilter.doFilter(new MockHttpServletRequest(), before, new MockFilterChain());
+        drainingFilter.startDraining();
+        MockHttpServletResponse after = new MockHttpServletResponse();
+        drainingFilter.doFilter(new MockHttpServletRequest(), after, new MockFilterChain());
+
+        assertNull(before.getHeader("Connection"));
+        assertEquals("close", after.getHeader("Connection"));
+        assertEquals(0, drainingFilter.getInFlight());
+    }
+
+    private double dropped(String work) {
+        return meterRegistry.get(GracefulShutdownCoordinator.DROPPED_METRIC).tag("work", work).counter().count();
+    }
+}
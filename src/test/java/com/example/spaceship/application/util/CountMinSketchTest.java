@@ -0,0 +1,46 @@
+package com.example.spaceship.application.util;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class CountMinSketchTest {
+
+    @Test
+    void estimate_ShouldNeverUndercountAndStayCloseForHeavyKeys() {
+        CountMinSketch sketch = new CountMinSketch(1024, 4);
+        for (long key = 0; key < 10_000; key++) {
+            sketch.add(key);
+        }
+        for (int i = 0; i < 5_000; i++) {
+            sketch.add(-1);
+        }
+
+        long estimate = sketch.estimate(-1);
+        assertTrue(estimate >= 5_000, "undercount: " + estimate);
+        assertTrue(estimate <= 5_000 + 15_000 * Math.E / 1024, "overcount: " + estimate);
+        for (long key = 0; key < 100; key++) {
+            assertTrue(sketch.estimate(key) >= 1);
+        }
+    }
+
+    @Test
+    void halve_ShouldHalveEstimates() {
+        CountMinSketch sketch = new CountMinSketch(64, 3);
+        for (int i = 0; i < 10; i++) {
+            sketch.add(7);
+        }
+
+        sketch.halve();
+
+        assertEquals(5, sketch.estimate(7));
+        assertEquals(6, sketch.add(7));
+    }
+
+    @Test
+    void constructor_ShouldRejectEmptyGrid() {
+        assertThrows(IllegalArgumentException.class, () -> new CountMinSketch(0, 4));
+    }
+}
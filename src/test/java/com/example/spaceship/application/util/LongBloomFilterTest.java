@@ -0,0 +1,55 @@
+package com.example.spaceship.application.util;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class LongBloomFilterTest {
+
+    @Test
+    void mightContain_ShouldNeverMissAddedKeys() {
+        LongBloomFilter filter = new LongBloomFilter(10_000, 0.01);
+
+        for (long id = 1; id <= 10_000; id++) {
+            filter.put(id);
+        }
+
+        for (long id = 1; id <= 10_000; id++) {
+            assertTrue(filter.mightContain(id), "missing " + id);
+        }
+    }
+
+    @Test
+    void mightContain_SequentialIds_ShouldStayNearConfiguredFalsePositiveRate() {
+        LongBloomFilter filter = new LongBloomFilter(10_000, 0.01);
+        for (long id = 1; id <= 10_000; id++) {
+            filter.put(id);
+        }
+
+        int falsePositives = 0;
+        for (long id = 10_001; id <= 110_000; id++) {
+            if (filter.mightContain(id)) {
+                falsePositives++;
+            }
+        }
+
+        assertTrue(falsePositives < 2_000, "false positive rate too high: " + falsePositives + " of 100000");
+    }
+
+    @Test
+    void mightContain_EmptyFilter_ShouldRejectEverything() {
+        LongBloomFilter filter = new LongBloomFilter(100, 0.01);
+
+        assertFalse(filter.mightContain(0));
+        assertFalse(filter.mightContain(-1));
+        assertFalse(filter.mightContain(Long.MAX_VALUE));
+    }
+
+    @Test
+    void constructor_InvalidSizing_ShouldThrow() {
+        assertThrows(IllegalArgumentException.class, () -> new LongBloomFilter(0, 0.01));
+        assertThrows(IllegalArgumentException.class, () -> new LongBloomFilter(100, 1.0));
+    }
+}
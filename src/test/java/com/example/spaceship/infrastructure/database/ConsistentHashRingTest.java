@@ -0,0 +1,59 @@
+package com.example.spaceship.infrastructure.database;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.LongStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ConsistentHashRingTest {
+
+    private static final int IDS = 30_000;
+
+    @Test
+    void shardFor_ShouldSpreadSequentialIdsEvenly() {
+        ConsistentHashRing ring = new ConsistentHashRing(List.of("a", "b", "c"), 128);
+        Map<String, Integer> counts = new HashMap<>();
+
+        LongStream.rangeClosed(1, IDS).forEach(id -> counts.merge(ring.shardFor(id), 1, Integer::sum));
+
+        assertEquals(Set.of("a", "b", "c"), counts.keySet());
+        counts.values().forEach(count -> assertTrue(count > IDS / 3 * 0.8 && count < IDS / 3 * 1.2, counts.toString()));
+    }
+
+    @Test
+    void addingShard_ShouldOnlyMoveIdsToTheNewShard() {
+        ConsistentHashRing before = new ConsistentHashRing(List.of("a", "b", "c"), 128);
+        ConsistentHashRing after = new ConsistentHashRing(List.of("a", "b", "c", "d"), 128);
+        int moved = 0;
+
+        for (long id = 1; id <= IDS; id++) {
+            String owner = after.shardFor(id);
+            if (!owner.equals(before.shardFor(id))) {
+                assertEquals("d", owner);
+                moved++;
+            }
+        }
+
+        assertTrue(moved > IDS / 4 * 0.8 && moved < IDS / 4 * 1.2, "moved " + moved);
+    }
+
+    @Test
+    void shardFor_ShouldNotDependOnShardOrder() {
+        ConsistentHashRing ring = new ConsistentHashRing(List.of("a", "b", "c"), 16);
+        ConsistentHashRing reordered = new ConsistentHashRing(List.of("c", "a", "b"), 16);
+
+        LongStream.rangeClosed(1, 1_000).forEach(id -> assertEquals(ring.shardFor(id), reordered.shardFor(id)));
+    }
+
+    @Test
+    void constructor_ShouldRejectEmptyShardList() {
+        assertThrows(IllegalArgumentException.class, () -> new ConsistentHashRing(List.of(), 16));
+    }
+}
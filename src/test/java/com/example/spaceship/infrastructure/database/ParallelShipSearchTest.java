@@ -0,0 +1,121 @@
+package com.example.spaceship.infrastructure.database;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.test.autoconfigure.jdbc.JdbcTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Compares the merged range scans with the same search sorted in memory. The rows are committed, since the range
+ * queries run on their own connections.
+ */
+@JdbcTest(properties = {"ship.parallel-search.parallelism=3", "ship.parallel-search.min-range-size=10"})
+@Import(ParallelShipSearch.class)
+@EnableConfigurationProperties(ParallelSearchProperties.class)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class ParallelShipSearchTest {
+
+    private static final int SHIPS = 500;
+
+    @Autowired
+    private ParallelShipSearch parallelShipSearch;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @BeforeEach
+    void setUp() {
+        if (jdbcTemplate.queryForObject("SELECT COUNT(*) FROM ship", Long.class) > 0) {
+            return;
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO ship (id, name, type) VALUES (?, ?, ?)",
+                IntStream.rangeClosed(1, SHIPS)
+                        .mapToObj(id -> new Object[]{id, "Ship " + (id * 7919 % SHIPS), "Type " + (id % 7)})
+                        .toList());
+    }
+
+    @Test
+    void findByNameContaining_SortedByName_ShouldMatchSingleQuery() {
+        assertMatchesSortedSearch("1", PageRequest.of(3, 10, Sort.by("name")),
+                Comparator.comparing(ShipRow::name).thenComparing(ShipRow::id));
+    }
+
+    @Test
+    void findByNameContaining_SortedByTypeDescending_ShouldMatchSingleQuery() {
+        assertMatchesSortedSearch("2", PageRequest.of(1, 25, Sort.by(Sort.Order.desc("type"), Sort.Order.asc("name"))),
+                Comparator.comparing(ShipRow::type).reversed().thenComparing(ShipRow::name).thenComparing(ShipRow::id));
+    }
+
+    @Test
+    void findByNameContaining_SortedById_ShouldStopAfterLeadingRanges() {
+        assertMatchesSortedSearch("Ship", PageRequest.of(0, 5, Sort.by("id")), Comparator.comparing(ShipRow::id));
+        assertMatchesSortedSearch("Ship", PageRequest.of(2, 5, Sort.by(Sort.Direction.DESC, "id")),
+                Comparator.comparing(ShipRow::id).reversed());
+    }
+
+    @Test
+    void findByNameContaining_LastPartialPage_ShouldReportTotal() {
+        assertMatchesSortedSearch("3", PageRequest.of(0, 1_000, Sort.by("name")),
+                Comparator.comparing(ShipRow::name).thenComparing(ShipRow::id));
+    }
+
+    @Test
+    void findByNameContaining_Disabled_ShouldRunSingleQuery() {
+        ParallelSearchProperties properties = new ParallelSearchProperties(false, 3, 10);
+        ParallelSearchProperties original = (ParallelSearchProperties) ReflectionTestUtils.getField(parallelShipSearch, "properties");
+        ReflectionTestUtils.setField(parallelShipSearch, "properties", properties);
+        try {
+            assertMatchesSortedSearch("4", PageRequest.of(1, 10, Sort.by("name")),
+                    Comparator.comparing(ShipRow::name).thenComparing(ShipRow::id));
+        } finally {
+            ReflectionTestUtils.setField(parallelShipSearch, "properties", original);
+        }
+    }
+
+    @Test
+    void findByNameContaining_InsideTransaction_ShouldRunSingleQueryOnCallersConnection() {
+        ThreadPoolExecutor executor = (ThreadPoolExecutor) ReflectionTestUtils.getField(parallelShipSearch, "executor");
+        long tasks = executor.getTaskCount();
+
+        new TransactionTemplate(transactionManager).executeWithoutResult(status ->
+                assertMatchesSortedSearch("5", PageRequest.of(1, 10, Sort.by("name")),
+                        Comparator.comparing(ShipRow::name).thenComparing(ShipRow::id)));
+
+        assertEquals(tasks, executor.getTaskCount());
+    }
+
+    private void assertMatchesSortedSearch(String name, Pageable pageable, Comparator<ShipRow> order) {
+        List<ShipRow> matches = jdbcTemplate.query("SELECT " + ShipRow.COLUMNS + " FROM ship", ShipRow.MAPPER).stream()
+                .filter(row -> row.name().contains(name))
+                .sorted(order)
+                .toList();
+        List<ShipRow> expected = matches.stream().skip(pageable.getOffset()).limit(pageable.getPageSize()).toList();
+
+        Page<ShipRow> page = parallelShipSearch.findByNameContaining(name, pageable);
+
+        assertEquals(expected, page.getContent());
+        assertEquals(matches.size(), page.getTotalElements());
+    }
+}
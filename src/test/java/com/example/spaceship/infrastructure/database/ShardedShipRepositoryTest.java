@@ -0,0 +1,218 @@
+package com.example.spaceship.infrastructure.database;
+
+import com.example.spaceship.domain.entities.Ship;
+import com.example.spaceship.domain.ports.ShipCriteria;
+import com.example.spaceship.domain.views.ShipNameView;
+import com.example.spaceship.domain.views.ShipView;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.JdbcTest;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Runs the sharded adapter against separate in-memory H2 databases, one per shard, with ids drawn from the main
+ * test database.
+ */
+@JdbcTest
+class ShardedShipRepositoryTest {
+
+    private static final int SHIPS = 60;
+
+    @Autowired
+    private DataSource dataSource;
+
+    private final String prefix = UUID.randomUUID().toString();
+
+    private final List<ShardedShipRepository> repositories = new ArrayList<>();
+
+    @AfterEach
+    void tearDown() {
+        repositories.forEach(ShardedShipRepository::close);
+    }
+
+    @Test
+    void save_ShouldStoreEachShipOnItsOwnerOnly() {
+        ShardedShipRepository repository = repository(3);
+        List<Ship> saved = repository.saveAll(ships());
+
+        Map<String, Long> counts = repository.countByShard();
+
+        assertEquals(SHIPS, counts.values().stream().mapToLong(Long::longValue).sum());
+        assertTrue(counts.values().stream().allMatch(count -> count > 0), counts.toString());
+        saved.forEach(ship -> assertEquals(ship.getName(), repository.findById(ship.getId()).orElseThrow().getName()));
+        assertEquals(SHIPS, repository.count());
+        assertEquals(SHIPS, repository.streamAllIds().distinct().count());
+    }
+
+    @Test
+    void findAllBy_ShouldMergeShardsInRequestedOrder() {
+        ShardedShipRepository repository = repository(3);
+        List<Ship> saved = repository.saveAll(ships());
+        List<Long> expected = saved.stream()
+                .sorted(Comparator.comparing(Ship::getType).reversed().thenComparing(Ship::getName))
+                .map(Ship::getId)
+                .toList();
+
+        Page<ShipView> page = repository.findAllBy(PageRequest.of(2, 7, Sort.by(Sort.Order.desc("type"), Sort.Order.asc("name"))),
+                ShipView.class);
+
+        assertEquals(expected.subList(14, 21), page.getContent().stream().map(ShipView::id).toList());
+        assertEquals(SHIPS, page.getTotalElements());
+    }
+
+    @Test
+    void findByCriteria_ShouldFilterOnEveryShardAndProjectView() {
+        ShardedShipRepository repository = repository(3);
+        repository.saveAll(ships());
+        ShipCriteria criteria = ShipCriteria.of("ship 1", ShipCriteria.NameMatch.PREFIX, List.of("Type 1", "Type 2"), null, null);
+
+        Page<ShipNameView> page = repository.findByCriteria(criteria, PageRequest.of(1, 3, Sort.by("name")), ShipNameView.class);
+
+        assertEquals(List.of("Ship 16", "Ship 17"),
+                page.getContent().stream().map(ShipNameView::name).toList());
+        assertEquals(5, page.getTotalElements());
+    }
+
+    @Test
+    void findByNameContaining_ShouldTreatWildcardsLiterally() {
+        ShardedShipRepository repository = repository(2);
+        repository.saveAll(ships());
+        repository.save(ship("100% Ship", "Type 0"));
+
+        Page<ShipView> page = repository.findByNameContaining("0%", PageRequest.of(0, 10), ShipView.class);
+
+        assertEquals(List.of("100% Ship"), page.getContent().stream().map(ShipView::name).toList());
+    }
+
+    @Test
+    void rebalance_ShouldMoveShipsToAddedShard() {
+        ShardedShipRepository twoShards = repository(2);
+        List<Ship> saved = twoShards.saveAll(ships());
+        twoShards.close();
+        repositories.remove(twoShards);
+        ShardedShipRepository threeShards = repository(3);
+
+        long moved = threeShards.rebalance();
+
+        assertTrue(moved > 0 && moved < SHIPS, "moved " + moved);
+        assertTrue(threeShards.countByShard().values().stream().allMatch(count -> count > 0));
+        saved.forEach(ship -> assertTrue(threeShards.findById(ship.getId()).isPresent()));
+        assertEquals(SHIPS, threeShards.count());
+        assertEquals(0, threeShards.rebalance());
+    }
+
+    @Test
+    void rebalance_ShouldNotRestoreShipDeletedWhileItIsMoved() throws Exception {
+        ShardedShipRepository twoShards = repository(2);
+        List<Ship> saved = twoShards.saveAll(ships());
+        twoShards.close();
+        repositories.remove(twoShards);
+        ShardedShipRepository threeShards = repository(3);
+        Long id = saved.stream()
+                .map(Ship::getId)
+                .filter(shipId -> threeShards.findById(shipId).isEmpty())
+                .findFirst()
+                .orElseThrow();
+
+        try (Connection source = shardHolding(id, 2)) {
+            source.setAutoCommit(false);
+            try (PreparedStatement lock = source.prepareStatement("SELECT id FROM ship WHERE id = ? FOR UPDATE")) {
+                lock.setLong(1, id);
+                lock.executeQuery().close();
+            }
+            CompletableFuture<Long> rebalance = CompletableFuture.supplyAsync(threeShards::rebalance);
+            Thread.sleep(200);
+            try (PreparedStatement delete = source.prepareStatement("DELETE FROM ship WHERE id = ?")) {
+                delete.setLong(1, id);
+                delete.executeUpdate();
+            }
+            source.commit();
+            rebalance.get(10, TimeUnit.SECONDS);
+        }
+
+        assertTrue(threeShards.findById(id).isEmpty());
+        assertEquals(SHIPS - 1, threeShards.count());
+    }
+
+    @Test
+    void deleteById_ShouldRemoveShipFromItsOwner() {
+        ShardedShipRepository repository = repository(3);
+        Ship ship = repository.save(ship("Enterprise", "Cruiser"));
+
+        repository.deleteById(ship.getId());
+
+        assertTrue(repository.findById(ship.getId()).isEmpty());
+        assertEquals(0, repository.count());
+    }
+
+    @Test
+    void findAllBy_ShouldRejectUnknownSortProperty() {
+        ShardedShipRepository repository = repository(2);
+
+        assertThrows(IllegalArgumentException.class,
+                () -> repository.findAllBy(PageRequest.of(0, 5, Sort.by("crew")), ShipView.class));
+    }
+
+    private ShardedShipRepository repository(int shardCount) {
+        List<ShardingProperties.Shard> shards = IntStream.range(0, shardCount)
+                .mapToObj(i -> new ShardingProperties.Shard("shard-" + i,
+                        "jdbc:h2:mem:" + prefix + "-" + i + ";DB_CLOSE_DELAY=-1", "sa", ""))
+                .toList();
+        ShardedShipRepository repository = new ShardedShipRepository(new ShardingProperties(true, 64, false, 7, shards), dataSource);
+        repository.init();
+        repositories.add(repository);
+        return repository;
+    }
+
+    private Connection shardHolding(Long id, int shardCount) throws SQLException {
+        for (int i = 0; i < shardCount; i++) {
+            Connection connection = DriverManager.getConnection("jdbc:h2:mem:" + prefix + "-" + i, "sa", "");
+            try (PreparedStatement find = connection.prepareStatement("SELECT id FROM ship WHERE id = ?")) {
+                find.setLong(1, id);
+                try (ResultSet rs = find.executeQuery()) {
+                    if (rs.next()) {
+                        return connection;
+                    }
+                }
+            }
+            connection.close();
+        }
+        throw new IllegalStateException("Ship " + id + " is on no shard");
+    }
+
+    private static List<Ship> ships() {
+        return IntStream.rangeClosed(1, SHIPS)
+                .mapToObj(i -> ship("Ship " + i, "Type " + (i % 5)))
+                .toList();
+    }
+
+    private static Ship ship(String name, String type) {
+        Ship ship = new Ship();
+        ship.setName(name);
+        ship.setType(type);
+        return ship;
+    }
+}
@@ -0,0 +1,200 @@
+package com.example.spaceship.infrastructure.database;
+
+import com.example.spaceship.domain.ports.ShipCriteria;
+import com.example.spaceship.domain.views.ShipNameView;
+import com.example.spaceship.domain.views.ShipTypeView;
+import com.example.spaceship.domain.views.ShipView;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Runs the hot repository queries against the Flyway schema and checks the H2 execution plan of the SQL that
+ * Hibernate actually generated, or that {@link ParallelShipSearch} sends for its id ranges, so that a changed query
+ * or a dropped index shows up as a failing test rather than as a table scan in production.
+ */
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.session_factory.statement_inspector="
+        + "com.example.spaceship.infrastructure.database.ShipRepositoryQueryPlanTest$CapturingStatementInspector")
+@Import(ParallelShipSearch.class)
+@EnableConfigurationProperties(ParallelSearchProperties.class)
+class ShipRepositoryQueryPlanTest {
+
+    private static final int SHIPS = 2_000;
+    private static final Pageable FIRST_PAGE_BY_NAME = PageRequest.of(0, 10, Sort.by(Sort.Direction.ASC, "name"));
+
+    @Autowired
+    private ShipRepositoryImpl shipRepository;
+
+    @Autowired
+    private ShipChangeRepositoryImpl shipChangeRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void setUp() {
+        CapturingStatementInspector.STATEMENTS.clear();
+        // ANALYZE commits, so the rows outlive the test transaction and are only inserted once per context
+        if (shipRepository.count() > 0) {
+            return;
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO ship (id, name, type) VALUES (?, ?, ?)",
+                IntStream.rangeClosed(1, SHIPS)
+                        .mapToObj(id -> new Object[]{id, "Ship " + id, "Type " + (id % 20)})
+                        .toList());
+        jdbcTemplate.batchUpdate("INSERT INTO ship_change (id, sequence, ship_id, change_type) VALUES (?, ?, ?, 'CREATED')",
+                IntStream.rangeClosed(1, SHIPS)
+                        .mapToObj(id -> new Object[]{id, id, id})
+                        .toList());
+        jdbcTemplate.execute("ANALYZE");
+    }
+
+    @Test
+    void findAllBy_SortedByName_ShouldReadNameIndexInOrder() {
+        shipRepository.findAllBy(FIRST_PAGE_BY_NAME, ShipView.class);
+
+        String plan = explain(lastSelect("order by"), 10);
+        assertUsesIndex(plan, "IDX_SHIP_NAME");
+        assertTrue(plan.contains("index sorted"), plan);
+    }
+
+    @Test
+    void findById_View_ShouldUsePrimaryKey() {
+        Optional<ShipView> ship = shipRepository.findById(42L, ShipView.class);
+
+        assertUsesIndex(explain(lastSelect("where"), 42L), "PRIMARY_KEY");
+        assertEquals(Optional.of(new ShipView(42L, "Ship 42", "Type 2")), ship);
+    }
+
+    @Test
+    void parallelSearch_RangeScan_ShouldUsePrimaryKeyRange() {
+        ShipWhere where = ShipWhere.nameContaining("Ship 1");
+
+        String plan = explain(ParallelShipSearch.rangeScanSql(where, FIRST_PAGE_BY_NAME), "%Ship 1%", 501L, 1_000L);
+        assertUsesIndex(plan, "PRIMARY_KEY");
+    }
+
+    @Test
+    void parallelSearch_RangeCount_ShouldUsePrimaryKeyRange() {
+        ShipWhere where = ShipWhere.nameContaining("Ship 1");
+
+        assertUsesIndex(explain(ParallelShipSearch.rangeCountSql(where), "%Ship 1%", 501L, 1_000L), "PRIMARY_KEY");
+    }
+
+    @Test
+    void findByCriteria_SingleType_ShouldUseTypeIndex() {
+        ShipCriteria criteria = ShipCriteria.of(null, null, List.of("Type 7"), null, null);
+        shipRepository.findByCriteria(criteria, FIRST_PAGE_BY_NAME, ShipView.class);
+
+        assertUsesIndex(explain(lastSelect("order by"), "Type 7", 10), "IDX_SHIP_TYPE");
+    }
+
+    @Test
+    void findByCriteria_TypeList_ShouldUseTypeIndex() {
+        ShipCriteria criteria = ShipCriteria.of(null, null, List.of("Type 3", "Type 7"), null, null);
+        shipRepository.findByCriteria(criteria, FIRST_PAGE_BY_NAME, ShipView.class);
+
+        assertUsesIndex(explain(lastSelect("order by"), "Type 3", "Type 7", 10), "IDX_SHIP_TYPE");
+    }
+
+    @Test
+    void findByCriteria_NamePrefix_ShouldUseLowercaseNameIndex() {
+        ShipCriteria criteria = ShipCriteria.of("Ship 1_", ShipCriteria.NameMatch.PREFIX, null, null, null);
+        shipRepository.findByCriteria(criteria, FIRST_PAGE_BY_NAME, ShipView.class);
+
+        assertUsesIndex(explain(lastSelect("order by"), "ship 1\\_%", 10), "IDX_SHIP_NAME_LOWER");
+    }
+
+    @Test
+    void findByCriteria_IdRange_ShouldUsePrimaryKey() {
+        ShipCriteria criteria = ShipCriteria.of(null, null, null, 100L, 200L);
+        shipRepository.findByCriteria(criteria, FIRST_PAGE_BY_NAME, ShipView.class);
+
+        assertUsesIndex(explain(lastSelect("order by"), 100L, 200L, 10), "PRIMARY_KEY");
+    }
+
+    @Test
+    void findAllBy_NameView_ShouldSelectOnlyProjectedColumns() {
+        Page<ShipNameView> page = shipRepository.findAllBy(FIRST_PAGE_BY_NAME, ShipNameView.class);
+
+        String sql = lastSelect("order by");
+        assertFalse(selectClause(sql).contains("type"), sql);
+        assertUsesIndex(explain(sql, 10), "IDX_SHIP_NAME");
+        assertEquals(new ShipNameView(1L, "Ship 1"), page.getContent().get(0));
+        assertEquals(SHIPS, page.getTotalElements());
+    }
+
+    @Test
+    void findByCriteria_TypeView_ShouldSelectOnlyProjectedColumns() {
+        ShipCriteria criteria = ShipCriteria.of(null, null, List.of("Type 3"), null, null);
+        Page<ShipTypeView> page = shipRepository.findByCriteria(criteria, FIRST_PAGE_BY_NAME, ShipTypeView.class);
+
+        String sql = lastSelect("order by");
+        assertFalse(selectClause(sql).contains("name"), sql);
+        assertUsesIndex(explain(sql, "Type 3", 10), "IDX_SHIP_TYPE");
+        assertEquals(SHIPS / 20, page.getTotalElements());
+        assertEquals("Type 3", page.getContent().get(0).type());
+    }
+
+    @Test
+    void findChangesSince_ShouldUseSequenceIndex() {
+        shipChangeRepository.findBySequenceGreaterThanOrderBySequenceAsc(1_500L, Limit.of(100));
+
+        String plan = explain(lastSelect("from ship_change"), 1_500L, 100);
+        assertUsesIndex(plan, "IDX_SHIP_CHANGE_SEQUENCE");
+    }
+
+    private String explain(String sql, Object... parameters) {
+        return jdbcTemplate.queryForObject("EXPLAIN " + sql, String.class, parameters);
+    }
+
+    private static String lastSelect(String marker) {
+        List<String> statements = CapturingStatementInspector.STATEMENTS;
+        for (int i = statements.size() - 1; i >= 0; i--) {
+            String sql = statements.get(i);
+            if (sql.startsWith("select") && sql.contains(marker) && !sql.contains("count(")) {
+                return sql;
+            }
+        }
+        throw new AssertionError("No select containing '" + marker + "' among " + statements);
+    }
+
+    private static String selectClause(String sql) {
+        return sql.substring(0, sql.indexOf(" from "));
+    }
+
+    private static void assertUsesIndex(String plan, String index) {
+        assertFalse(plan.contains("tableScan"), plan);
+        assertTrue(plan.toUpperCase().contains(index), plan);
+    }
+
+    public static class CapturingStatementInspector implements StatementInspector {
+
+        static final List<String> STATEMENTS = new CopyOnWriteArrayList<>();
+
+        @Override
+        public String inspect(String sql) {
+            STATEMENTS.add(sql);
+            return sql;
+        }
+    }
+}
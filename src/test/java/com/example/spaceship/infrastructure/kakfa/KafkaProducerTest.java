@@ -0,0 +1,87 @@
+package com.example.spaceship.infrastructure.kakfa;
+
+import com.example.spaceship.domain.entities.Ship;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.support.SendResult;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class KafkaProducerTest {
+
+    @Mock
+    private KafkaTemplate<String, Ship> kafkaTemplate;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private final CompletableFuture<SendResult<String, Ship>> first = new CompletableFuture<>();
+
+    private final CompletableFuture<SendResult<String, Ship>> second = new CompletableFuture<>();
+
+    private KafkaProducer producer;
+
+    @BeforeEach
+    void setUp() {
+        lenient().when(kafkaTemplate.send(eq("ships"), any(), any())).thenReturn(first).thenReturn(second);
+        producer = new KafkaProducer(kafkaTemplate, meterRegistry);
+        ReflectionTestUtils.setField(producer, "topic", "ships");
+    }
+
+    @Test
+    void sends_ShouldBeKeyedByShipId() {
+        producer.sendMessages(List.of(ship(7L), ship(8L)));
+
+        verify(kafkaTemplate).send(eq("ships"), eq("7"), any());
+        verify(kafkaTemplate).send(eq("ships"), eq("8"), any());
+        verify(kafkaTemplate).flush();
+    }
+
+    @Test
+    void completions_ShouldBeRecordedByOutcome() {
+        producer.sendMessage(ship(1L));
+        producer.sendDeletion(2L);
+        assertEquals(2, producer.inFlight());
+
+        first.complete(null);
+        second.completeExceptionally(new IllegalStateException("broker unavailable"));
+
+        assertEquals(0, producer.inFlight());
+        assertEquals(1, meterRegistry.get("spaceship.kafka.producer.send").tag("outcome", "success").timer().count());
+        assertEquals(1, meterRegistry.get("spaceship.kafka.producer.send").tag("outcome", "failure").timer().count());
+        assertEquals(0, meterRegistry.get("spaceship.kafka.producer.in-flight").gauge().value());
+    }
+
+    @Test
+    void immediateSendFailure_ShouldBeRecordedAndRethrown() {
+        when(kafkaTemplate.send(eq("ships"), eq("3"), any())).thenThrow(new IllegalStateException("no metadata"));
+
+        assertThrows(IllegalStateException.class, () -> producer.sendMessage(ship(3L)));
+
+        assertEquals(0, producer.inFlight());
+        assertEquals(1, meterRegistry.get("spaceship.kafka.producer.send").tag("outcome", "failure").timer().count());
+    }
+
+    private static Ship ship(long id) {
+        Ship ship = new Ship();
+        ship.setId(id);
+        ship.setName("Ship " + id);
+        ship.setType("Cruiser");
+        return ship;
+    }
+}
@@ -0,0 +1,52 @@
+package com.example.spaceship.infrastructure.kakfa;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class LongObjectMapTest {
+
+    @Test
+    void randomOperations_ShouldMatchHashMap() {
+        LongObjectMap<String> map = new LongObjectMap<>(4);
+        Map<Long, String> expected = new HashMap<>();
+        SplittableRandom random = new SplittableRandom(42);
+
+        for (int i = 0; i < 100_000; i++) {
+            long key = random.nextLong(-500, 2_000);
+            switch (random.nextInt(3)) {
+                case 0, 1 -> assertEquals(expected.put(key, "v" + i), map.put(key, "v" + i));
+                default -> assertEquals(expected.remove(key), map.remove(key));
+            }
+        }
+
+        assertEquals(expected.size(), map.size());
+        for (long key = -500; key < 2_000; key++) {
+            assertEquals(expected.get(key), map.get(key));
+        }
+    }
+
+    @Test
+    void clear_ShouldRemoveEverything() {
+        LongObjectMap<String> map = new LongObjectMap<>();
+        map.put(0L, "zero");
+        map.put(Long.MIN_VALUE, "min");
+
+        map.clear();
+
+        assertEquals(0, map.size());
+        assertNull(map.get(0L));
+        assertNull(map.get(Long.MIN_VALUE));
+    }
+
+    @Test
+    void nullValue_ShouldBeRejected() {
+        assertThrows(IllegalArgumentException.class, () -> new LongObjectMap<String>().put(1L, null));
+    }
+}
@@ -0,0 +1,107 @@
+package com.example.spaceship.infrastructure.kakfa;
+
+import com.example.spaceship.domain.views.ShipView;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ShipKafkaViewTest {
+
+    private final ShipKafkaView view = new ShipKafkaView();
+
+    private long offset;
+
+    @Test
+    void repeatedEvents_ShouldKeepLatestStatePerId() {
+        view.apply(1L, new ShipView(1L, "Enterprise", "Cruiser"), 0, offset++);
+        view.apply(1L, new ShipView(1L, "Enterprise-A", "Cruiser"), 0, offset++);
+
+        assertEquals(1, view.size());
+        assertEquals("Enterprise-A", view.get(1L).name());
+    }
+
+    @Test
+    void typeChange_ShouldMoveShipBetweenTypeIndexes() {
+        view.apply(1L, new ShipView(1L, "Enterprise", "Cruiser"), 0, offset++);
+        view.apply(1L, new ShipView(1L, "Enterprise", "Explorer"), 0, offset++);
+
+        assertEquals(0, view.findByType("cruiser", PageRequest.of(0, 10)).getTotalElements());
+        assertEquals(List.of(view.get(1L)), view.findByType("EXPLORER", PageRequest.of(0, 10)).getContent());
+    }
+
+    @Test
+    void tombstone_ShouldRemoveShipFromAllIndexes() {
+        view.apply(1L, new ShipView(1L, "Enterprise", "Cruiser"), 0, offset++);
+        view.apply(1L, null, 0, offset++);
+
+        assertNull(view.get(1L));
+        assertEquals(0, view.findAll(PageRequest.of(0, 10)).getTotalElements());
+        assertEquals(0, view.findByType("Cruiser", PageRequest.of(0, 10)).getTotalElements());
+    }
+
+    @Test
+    void pages_ShouldBeOrderedByIdAndReflectLaterChanges() {
+        for (long id = 10; id >= 1; id--) {
+            view.apply(id, new ShipView(id, "Ship " + id, "Cruiser"), 0, offset++);
+        }
+        Page<ShipView> second = view.findAll(PageRequest.of(1, 3));
+        view.apply(5L, null, 0, offset++);
+        Page<ShipView> afterDelete = view.findAll(PageRequest.of(1, 3));
+
+        assertEquals(List.of(4L, 5L, 6L), second.getContent().stream().map(ShipView::id).toList());
+        assertEquals(List.of(4L, 6L, 7L), afterDelete.getContent().stream().map(ShipView::id).toList());
+        assertEquals(9, afterDelete.getTotalElements());
+    }
+
+    @Test
+    void lateRetriedEvent_ShouldNotOverwriteNewerState() {
+        view.apply(1L, new ShipView(1L, "Enterprise-B", "Cruiser"), 0, 7);
+        view.apply(2L, null, 0, 9);
+
+        assertFalse(view.apply(1L, new ShipView(1L, "Enterprise", "Cruiser"), 0, 3));
+        assertFalse(view.apply(2L, new ShipView(2L, "Defiant", "Escort"), 0, 8));
+        assertEquals("Enterprise-B", view.get(1L).name());
+        assertNull(view.get(2L));
+        assertEquals(1, view.size());
+    }
+
+    @Test
+    void shipOnTwoPartitions_ShouldCompareOffsetsOnlyWithinPartition() {
+        view.apply(1L, new ShipView(1L, "Enterprise", "Cruiser"), 0, 100);
+
+        assertTrue(view.apply(1L, new ShipView(1L, "Enterprise-A", "Cruiser"), 2, 5));
+        assertFalse(view.apply(1L, new ShipView(1L, "Enterprise", "Cruiser"), 2, 3));
+        assertEquals("Enterprise-A", view.get(1L).name());
+        assertEquals(1, view.size());
+    }
+
+    @Test
+    void removePartitions_ShouldDropShipsAndTombstonesOfThosePartitions() {
+        view.apply(1L, new ShipView(1L, "Enterprise", "Cruiser"), 0, 1);
+        view.apply(2L, new ShipView(2L, "Defiant", "Escort"), 1, 1);
+        view.apply(3L, null, 1, 2);
+
+        view.removePartitions(Set.of(1));
+
+        assertEquals(List.of(view.get(1L)), view.findAll(PageRequest.of(0, 10)).getContent());
+        assertEquals(0, view.findByType("Escort", PageRequest.of(0, 10)).getTotalElements());
+        assertTrue(view.apply(3L, new ShipView(3L, "Voyager", "Explorer"), 1, 0));
+        assertEquals(2, view.size());
+    }
+
+    @Test
+    void findByNameContaining_ShouldBeCaseInsensitive() {
+        view.apply(1L, new ShipView(1L, "USS Enterprise", "Cruiser"), 0, offset++);
+        view.apply(2L, new ShipView(2L, "Voyager", "Explorer"), 0, offset++);
+
+        assertEquals(List.of(view.get(1L)), view.findByNameContaining("enter", PageRequest.of(0, 10)).getContent());
+    }
+}
@@ -0,0 +1,98 @@
+package com.example.spaceship.load;
+
+import com.example.spaceship.domain.entities.Ship;
+import com.example.spaceship.infrastructure.kakfa.ProducerMode;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.clients.producer.ProducerConfig;
+import org.apache.kafka.common.serialization.StringSerializer;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.kafka.core.DefaultKafkaProducerFactory;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.support.SendResult;
+import org.springframework.kafka.support.serializer.JsonSerializer;
+import org.springframework.kafka.test.EmbeddedKafkaBroker;
+import org.springframework.kafka.test.context.EmbeddedKafka;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Publishes the same stream of ships through each {@link ProducerMode} to an embedded single-node broker with three
+ * partitions and reports records per second to {@code target/load-test/kafka-producer.txt}. The broker has no
+ * replicas, so the numbers show the cost of batching, compression and idempotence but not of waiting for followers.
+ * The record count defaults to 100000 and can be changed with {@code -Dload.kafka.records}.
+ */
+@Tag("load")
+@Slf4j
+@EmbeddedKafka(partitions = 3, topics = KafkaProducerBenchmarkTest.TOPIC)
+class KafkaProducerBenchmarkTest {
+
+    static final String TOPIC = "spaceship-benchmark";
+
+    private static final Path REPORT = Path.of("target", "load-test", "kafka-producer.txt");
+
+    private static final int RECORDS = Integer.getInteger("load.kafka.records", 100_000);
+
+    private static final int WARMUP_RECORDS = RECORDS / 10;
+
+    @Test
+    void producerModes_ShouldPublishEveryRecord(EmbeddedKafkaBroker broker) throws Exception {
+        StringBuilder report = new StringBuilder();
+        for (ProducerMode mode : ProducerMode.values()) {
+            DefaultKafkaProducerFactory<String, Ship> factory = new DefaultKafkaProducerFactory<>(settings(broker, mode));
+            try {
+                KafkaTemplate<String, Ship> template = new KafkaTemplate<>(factory);
+                publish(template, WARMUP_RECORDS);
+
+                long start = System.nanoTime();
+                int failures = publish(template, RECORDS);
+                double seconds = (System.nanoTime() - start) / 1e9;
+
+                assertEquals(0, failures, mode + " failed to publish " + failures + " records");
+                report.append(String.format("%-10s records=%d time=%.2fs throughput=%.0f records/s%n",
+                        mode, RECORDS, seconds, RECORDS / seconds));
+            } finally {
+                factory.destroy();
+            }
+        }
+        Files.createDirectories(REPORT.getParent());
+        Files.writeString(REPORT, report);
+        log.info("Kafka producer benchmark{}{}", System.lineSeparator(), report);
+    }
+
+    private static Map<String, Object> settings(EmbeddedKafkaBroker broker, ProducerMode mode) {
+        Map<String, Object> settings = new HashMap<>(mode.settings());
+        settings.put(ProducerConfig.BOOTSTRAP_SERVERS_CONFIG, broker.getBrokersAsString());
+        settings.put(ProducerConfig.KEY_SERIALIZER_CLASS_CONFIG, StringSerializer.class);
+        settings.put(ProducerConfig.VALUE_SERIALIZER_CLASS_CONFIG, JsonSerializer.class);
+        return settings;
+    }
+
+    private static int publish(KafkaTemplate<String, Ship> template, int records) throws Exception {
+        AtomicInteger failures = new AtomicInteger();
+        CompletableFuture<?>[] sends = new CompletableFuture<?>[records];
+        for (int i = 0; i < records; i++) {
+            Ship ship = new Ship();
+            ship.setId((long) i);
+            ship.setName("Ship " + i);
+            ship.setType("Type " + i % 20);
+            CompletableFuture<SendResult<String, Ship>> send = template.send(TOPIC, ship.getId().toString(), ship);
+            sends[i] = send.whenComplete((result, exception) -> {
+                if (exception != null) {
+                    failures.incrementAndGet();
+                }
+            });
+        }
+        template.flush();
+        CompletableFuture.allOf(sends).exceptionally(exception -> null).get(5, TimeUnit.MINUTES);
+        return failures.get();
+    }
+}
@@ -0,0 +1,30 @@
+package com.example.spaceship.load;
+
+import java.net.http.HttpRequest;
+import java.time.Duration;
+import java.util.function.IntPredicate;
+import java.util.function.LongFunction;
+
+/**
+ * One stream of requests in a mixed workload. Arrivals follow an open model: {@code ratePerSecond} requests per
+ * second on average, released in groups of {@code burstSize} at the same instant, independent of how fast the
+ * application answers. The request factory receives the arrival index so runs are reproducible. Responses whose
+ * status fails {@code expectedStatus} count as errors.
+ */
+record LoadScenario(String name, double ratePerSecond, int burstSize, LongFunction<HttpRequest> request,
+                    IntPredicate expectedStatus) {
+
+    LoadScenario {
+        if (ratePerSecond <= 0 || burstSize < 1) {
+            throw new IllegalArgumentException("Scenario " + name + " needs a positive rate and burst size");
+        }
+    }
+
+    /**
+     * Intended start of the given arrival, relative to the start of the run.
+     */
+    long arrivalOffsetNanos(long index) {
+        long burst = index / burstSize;
+        return (long) (burst * burstSize * Duration.ofSeconds(1).toNanos() / ratePerSecond);
+    }
+}
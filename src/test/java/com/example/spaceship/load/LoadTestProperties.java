@@ -0,0 +1,29 @@
+package com.example.spaceship.load;
+
+import java.time.Duration;
+import java.util.Map;
+
+/**
+ * Bound from {@code load.*} in {@code application-load.yaml}; any value can be overridden with a system property,
+ * e.g. {@code -Dload.duration=PT2M}.
+ */
+record LoadTestProperties(
+        Duration warmup,
+        Duration duration,
+        int seedShips,
+        long seed,
+        double maxErrorRate,
+        Map<String, Scenario> scenarios
+) {
+
+    record Scenario(double rate, int burstSize, Duration p99, Duration p999) {
+    }
+
+    Scenario scenario(String name) {
+        Scenario scenario = scenarios.get(name);
+        if (scenario == null) {
+            throw new IllegalStateException("No settings for load scenario " + name);
+        }
+        return scenario;
+    }
+}
@@ -0,0 +1,94 @@
+package com.example.spaceship.load;
+
+import org.HdrHistogram.Recorder;
+
+import java.net.http.HttpClient;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Releases every scenario's arrivals on schedule and sends each request on its own virtual thread, so a slow
+ * response never delays the requests behind it.
+ */
+class OpenModelLoadGenerator {
+
+    private static final long MAX_LATENCY_MICROS = TimeUnit.MINUTES.toMicros(1);
+
+    private final HttpClient client;
+
+    OpenModelLoadGenerator(HttpClient client) {
+        this.client = client;
+    }
+
+    List<ScenarioResult> run(List<LoadScenario> scenarios, Duration duration) throws InterruptedException {
+        long start = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(50);
+        long end = start + duration.toNanos();
+        List<Recorder> recorders = new ArrayList<>();
+        List<Map<String, LongAdder>> errors = new ArrayList<>();
+        List<Thread> schedulers = new ArrayList<>();
+
+        try (ExecutorService requests = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (LoadScenario scenario : scenarios) {
+                Recorder recorder = new Recorder(MAX_LATENCY_MICROS, 3);
+                Map<String, LongAdder> scenarioErrors = new ConcurrentHashMap<>();
+                recorders.add(recorder);
+                errors.add(scenarioErrors);
+                schedulers.add(Thread.ofPlatform().name("load-" + scenario.name()).start(
+                        () -> schedule(scenario, start, end, requests, recorder, scenarioErrors)));
+            }
+            for (Thread scheduler : schedulers) {
+                scheduler.join();
+            }
+        }
+
+        List<ScenarioResult> results = new ArrayList<>();
+        for (int i = 0; i < scenarios.size(); i++) {
+            Map<String, Long> scenarioErrors = new TreeMap<>();
+            errors.get(i).forEach((reason, count) -> scenarioErrors.put(reason, count.sum()));
+            results.add(new ScenarioResult(scenarios.get(i).name(), recorders.get(i).getIntervalHistogram(),
+                    scenarioErrors, duration));
+        }
+        return results;
+    }
+
+    private void schedule(LoadScenario scenario, long start, long end, ExecutorService requests,
+                          Recorder recorder, Map<String, LongAdder> errors) {
+        for (long index = 0; ; index++) {
+            long intendedStart = start + scenario.arrivalOffsetNanos(index);
+            if (intendedStart >= end) {
+                return;
+            }
+            long wait = intendedStart - System.nanoTime();
+            if (wait > 0) {
+                LockSupport.parkNanos(wait);
+            }
+            long arrival = index;
+            requests.execute(() -> send(scenario, arrival, intendedStart, recorder, errors));
+        }
+    }
+
+    private void send(LoadScenario scenario, long index, long intendedStart, Recorder recorder,
+                      Map<String, LongAdder> errors) {
+        try {
+            HttpResponse<Void> response = client.send(scenario.request().apply(index), HttpResponse.BodyHandlers.discarding());
+            if (!scenario.expectedStatus().test(response.statusCode())) {
+                errors.computeIfAbsent(String.valueOf(response.statusCode()), reason -> new LongAdder()).increment();
+            }
+        } catch (Exception e) {
+            errors.computeIfAbsent(e.getClass().getSimpleName(), reason -> new LongAdder()).increment();
+        } finally {
+            long latencyMicros = TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - intendedStart);
+            recorder.recordValue(Math.min(latencyMicros, MAX_LATENCY_MICROS));
+        }
+    }
+}
@@ -0,0 +1,46 @@
+package com.example.spaceship.load;
+
+import org.HdrHistogram.Histogram;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Outcome of one scenario: latencies in microseconds, measured from the intended start of each request so that
+ * queueing behind a slow response is included (no coordinated omission), and failed requests by status code or
+ * exception.
+ */
+record ScenarioResult(String name, Histogram latencies, Map<String, Long> errors, Duration duration) {
+
+    long errorCount() {
+        return errors.values().stream().mapToLong(Long::longValue).sum();
+    }
+
+    long requests() {
+        return latencies.getTotalCount();
+    }
+
+    double throughputPerSecond() {
+        return requests() / (duration.toNanos() / (double) TimeUnit.SECONDS.toNanos(1));
+    }
+
+    double errorRate() {
+        return requests() == 0 ? 0 : errorCount() / (double) requests();
+    }
+
+    Duration percentile(double percentile) {
+        return Duration.ofNanos(TimeUnit.MICROSECONDS.toNanos(latencies.getValueAtPercentile(percentile)));
+    }
+
+    String summary() {
+        return String.format("%-12s requests=%-7d throughput=%8.1f/s p50=%6.1fms p99=%7.1fms p999=%7.1fms max=%7.1fms errors=%d %s",
+                name, requests(), throughputPerSecond(),
+                millis(percentile(50)), millis(percentile(99)), millis(percentile(99.9)),
+                latencies.getMaxValue() / 1000.0, errorCount(), errors.isEmpty() ? "" : errors);
+    }
+
+    private static double millis(Duration duration) {
+        return duration.toNanos() / 1_000_000.0;
+    }
+}
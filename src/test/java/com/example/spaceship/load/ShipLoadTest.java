@@ -0,0 +1,154 @@
+package com.example.spaceship.load;
+
+import com.example.spaceship.application.service.ShipService;
+import com.example.spaceship.domain.entities.Ship;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.function.Executable;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.core.env.Environment;
+import org.springframework.kafka.test.context.EmbeddedKafka;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.function.Function;
+import java.util.function.IntPredicate;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertAll;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Boots the application on a random port with an embedded Kafka broker and drives a mixed workload over HTTP:
+ * read-heavy paging, name search, bursts of creates, Kafka polling and lookups of ids that do not exist. Latency
+ * histograms are written to {@code target/load-test}; the test fails when a scenario misses its configured p99/p999
+ * or the error budget.
+ * Run with {@code mvn verify -Pload-test}.
+ */
+@Tag("load")
+@Slf4j
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@ActiveProfiles({"kafka", "load"})
+@EmbeddedKafka(partitions = 1, topics = "spaceship-topic", bootstrapServersProperty = "spring.kafka.bootstrap-servers")
+class ShipLoadTest {
+
+    private static final Path REPORT_DIRECTORY = Path.of("target", "load-test");
+    private static final String AUTHORIZATION = "Basic "
+            + Base64.getEncoder().encodeToString("user:pass".getBytes(StandardCharsets.UTF_8));
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private ShipService shipService;
+
+    @Autowired
+    private Environment environment;
+
+    @Test
+    void mixedWorkload_ShouldMeetLatencySlos() throws Exception {
+        LoadTestProperties properties = Binder.get(environment).bind("load", LoadTestProperties.class).get();
+        seed(properties.seedShips());
+
+        List<LoadScenario> scenarios = List.of(
+                scenario(properties, "paging", random -> get("/api/spaceships?size=20&page="
+                        + random.nextInt(Math.max(1, properties.seedShips() / 20)))),
+                scenario(properties, "search", random -> get("/api/spaceships/search?size=20&name=Ship%20"
+                        + random.nextInt(100))),
+                scenario(properties, "create", random -> post("/api/spaceships",
+                        "{\"name\":\"Load " + random.nextInt(1_000_000) + "\",\"type\":\"Type " + random.nextInt(20) + "\"}")),
+                scenario(properties, "kafka-poll", random -> get("/api/spaceships/kafka")),
+                scenario(properties, "not-found", random -> get("/api/spaceships/"
+                        + (properties.seedShips() + 1_000_000 + random.nextInt(1_000_000))), status -> status == 404)
+        );
+
+        OpenModelLoadGenerator generator = new OpenModelLoadGenerator(HttpClient.newBuilder()
+                .connectTimeout(Duration.ofSeconds(5))
+                .build());
+        generator.run(scenarios, properties.warmup());
+        List<ScenarioResult> results = generator.run(scenarios, properties.duration());
+
+        writeReports(results);
+        List<Executable> checks = new ArrayList<>();
+        for (ScenarioResult result : results) {
+            LoadTestProperties.Scenario slo = properties.scenario(result.name());
+            checks.add(() -> assertTrue(result.percentile(99).compareTo(slo.p99()) <= 0,
+                    result.name() + " p99 above " + slo.p99() + ": " + result.summary()));
+            checks.add(() -> assertTrue(result.percentile(99.9).compareTo(slo.p999()) <= 0,
+                    result.name() + " p999 above " + slo.p999() + ": " + result.summary()));
+            checks.add(() -> assertTrue(result.errorRate() <= properties.maxErrorRate(),
+                    result.name() + " error rate above " + properties.maxErrorRate() + ": " + result.summary()));
+        }
+        assertAll(checks);
+    }
+
+    private LoadScenario scenario(LoadTestProperties properties, String name, Function<SplittableRandom, HttpRequest> request) {
+        return scenario(properties, name, request, status -> status < 400);
+    }
+
+    private LoadScenario scenario(LoadTestProperties properties, String name, Function<SplittableRandom, HttpRequest> request,
+                                  IntPredicate expectedStatus) {
+        LoadTestProperties.Scenario settings = properties.scenario(name);
+        long seed = properties.seed() ^ name.hashCode();
+        return new LoadScenario(name, settings.rate(), Math.max(1, settings.burstSize()),
+                index -> request.apply(new SplittableRandom(seed + index)), expectedStatus);
+    }
+
+    private HttpRequest get(String path) {
+        return request(path).GET().build();
+    }
+
+    private HttpRequest post(String path, String json) {
+        return request(path)
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(json))
+                .build();
+    }
+
+    private HttpRequest.Builder request(String path) {
+        return HttpRequest.newBuilder(URI.create("http://localhost:" + port + path))
+                .timeout(Duration.ofSeconds(30))
+                .header("Authorization", AUTHORIZATION);
+    }
+
+    private void seed(int ships) {
+        List<Ship> batch = IntStream.range(0, ships)
+                .mapToObj(i -> {
+                    Ship ship = new Ship();
+                    ship.setName("Ship " + i);
+                    ship.setType("Type " + i % 20);
+                    return ship;
+                })
+                .toList();
+        shipService.createShips(batch);
+    }
+
+    private static void writeReports(List<ScenarioResult> results) throws IOException {
+        Files.createDirectories(REPORT_DIRECTORY);
+        StringBuilder summary = new StringBuilder();
+        for (ScenarioResult result : results) {
+            try (PrintStream out = new PrintStream(Files.newOutputStream(REPORT_DIRECTORY.resolve(result.name() + ".hgrm")))) {
+                result.latencies().outputPercentileDistribution(out, 1000.0);
+            }
+            summary.append(result.summary()).append(System.lineSeparator());
+        }
+        Files.writeString(REPORT_DIRECTORY.resolve("summary.txt"), summary);
+        log.info("Load test results{}{}", System.lineSeparator(), summary);
+    }
+}